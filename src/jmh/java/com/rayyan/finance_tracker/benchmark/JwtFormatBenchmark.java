@@ -0,0 +1,34 @@
+package com.rayyan.finance_tracker.benchmark;
+
+import com.rayyan.finance_tracker.config.JwtAuthenticationFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The format check the JWT filter runs on every Authorization header before verifying anything.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFormatBenchmark {
+
+    // a real HS256 token is about this long
+    private static final String VALID_TOKEN = "eyJhbGciOiJIUzI1NiJ9"
+            + ".eyJzdWIiOiJiZW5jaG1hcmtVc2VyIiwiaWF0IjoxNzYwMDAwMDAwLCJleHAiOjE3NjAwODY0MDB9"
+            + ".Yx0j2m4wH9pQmV0lQ1kQ2bH3v1Yk2e2o0k8rX4mJt3E";
+    private static final String MALFORMED_TOKEN = "not-a-jwt-token-just-some-random-header-value";
+
+    @Benchmark
+    public boolean validToken() {
+        return JwtAuthenticationFilter.isValidJwtFormat(VALID_TOKEN);
+    }
+
+    @Benchmark
+    public boolean malformedToken() {
+        return JwtAuthenticationFilter.isValidJwtFormat(MALFORMED_TOKEN);
+    }
+}
@@ -0,0 +1,79 @@
+package com.rayyan.finance_tracker.benchmark;
+
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.jwt.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Tokens signed and verified per second on the authentication hot path.
+ *
+ * verifyLegacy reproduces the old filter path: the token was parsed three times
+ * (subject in the filter, subject and expiry in isTokenValid) and each parse decoded
+ * the key and built a new parser. verifyParseOnce is the current path.
+ * generateToken and isTokenValid are the login and the string based check.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "NzIzY2JiM2YtM2YyZi00NjJjLTg2YzYtYjJkYmE0NTU5ZjAx";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY);
+        user = User.builder()
+                .username("benchmarkUser")
+                .email("benchmark@example.com")
+                .password("benchmarkPassword")
+                .role(User.Role.USER)
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean verifyLegacy() {
+        String username = legacyClaims().getSubject();
+        return username.equals(user.getUsername())
+                && legacyClaims().getSubject().equals(user.getUsername())
+                && !legacyClaims().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean verifyParseOnce() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
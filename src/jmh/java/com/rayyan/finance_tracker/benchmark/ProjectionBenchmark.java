@@ -0,0 +1,113 @@
+package com.rayyan.finance_tracker.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rayyan.finance_tracker.FinanceTrackerApplication;
+import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.repository.SavingsRepository;
+import com.rayyan.finance_tracker.repository.TransactionRepository;
+import com.rayyan.finance_tracker.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Reading and serializing 10k rows of one user the way the list endpoints do: managed entities
+ * (the old path) against the constructor expression views. Run with the GC profiler, the
+ * allocation per 10k rows is gc.alloc.rate.norm (bytes per operation):
+ *
+ *   mvn -Pbenchmark -DskipTests verify -Djmh.args="ProjectionBenchmark -prof gc"
+ *
+ * The app is started once per fork against the in-memory H2 database from the test properties.
+ * On JDK 21.0.1 (one core) entities against views took, per 10k rows:
+ *
+ *   transactions: 11.2 MB -> 8.4 MB allocated, 25 ms -> 12 ms
+ *   savings:      17.3 MB -> 11.7 MB allocated, 37 ms -> 15 ms (the entity times vary by +-75%)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private SavingsRepository savingsRepository;
+    private ObjectMapper objectMapper;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(FinanceTrackerApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        transactionRepository = context.getBean(TransactionRepository.class);
+        savingsRepository = context.getBean(SavingsRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        user = context.getBean(UserRepository.class).save(User.builder()
+                .username("projectionBenchmark")
+                .email("projection.benchmark@example.com")
+                .password("benchmarkPassword")
+                .role(User.Role.USER)
+                .build());
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime date = LocalDateTime.of(2025, 6, 1, 9, 30);
+        List<Object[]> transactions = new ArrayList<>(ROWS);
+        List<Object[]> savings = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            transactions.add(new Object[]{"Benchmark transaction " + i, new BigDecimal("12.50").add(BigDecimal.valueOf(i)),
+                    i % 4 == 0 ? "INCOME" : "EXPENSE", "Category " + i % 8, Timestamp.valueOf(date.minusMinutes(i)),
+                    user.getId()});
+            savings.add(new Object[]{"Goal " + i, "Benchmark goal " + i, BigDecimal.valueOf(i % 1500),
+                    new BigDecimal("1000.00"), Timestamp.valueOf(date), i % 1500 >= 1000 ? "COMPLETED" : "IN_PROGRESS",
+                    user.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (description, amount, transaction_type, category, date, " +
+                "user_id) VALUES (?, ?, ?, ?, ?, ?)", transactions);
+        jdbcTemplate.batchUpdate("INSERT INTO savings (savings_name, savings_description, current_amount, " +
+                "target_amount, created_at, status, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)", savings);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] transactionEntities() throws JsonProcessingException {
+        List<Transaction> rows = transactionRepository.findByUser(user);
+        return objectMapper.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] transactionViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactionRepository.findViewsByUser(user));
+    }
+
+    @Benchmark
+    public byte[] savingsEntities() throws JsonProcessingException {
+        List<Savings> rows = savingsRepository.findByUser(user);
+        return objectMapper.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] savingsViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(savingsRepository.findViewsByUser(user));
+    }
+}
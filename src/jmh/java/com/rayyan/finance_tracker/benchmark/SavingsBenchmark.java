@@ -0,0 +1,44 @@
+package com.rayyan.finance_tracker.benchmark;
+
+import com.rayyan.finance_tracker.entity.Savings;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Savings.getCompletion runs for every goal each time savings are serialized.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SavingsBenchmark {
+
+    private Savings inProgress;
+    private Savings exceeded;
+
+    @Setup
+    public void setUp() {
+        inProgress = Savings.builder()
+                .currentAmount(new BigDecimal("250.00"))
+                .targetAmount(new BigDecimal("1000.00"))
+                .build();
+        exceeded = Savings.builder()
+                .currentAmount(new BigDecimal("1240.00"))
+                .targetAmount(new BigDecimal("1000.00"))
+                .build();
+    }
+
+    @Benchmark
+    public String completionInProgress() {
+        return inProgress.getCompletion();
+    }
+
+    @Benchmark
+    public String completionExceeded() {
+        return exceeded.getCompletion();
+    }
+}
@@ -0,0 +1,55 @@
+package com.rayyan.finance_tracker.benchmark;
+
+import com.rayyan.finance_tracker.service.search.SearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Search latency over one user's index of 1M transactions, for the first page of 50 hits:
+ *
+ *   mvn -Pbenchmark -DskipTests verify -Djmh.args="TransactionSearchBenchmark"
+ *
+ * Descriptions are a merchant (2000 of them, a few much more common than the rest), a word for what was
+ * bought and a reference number, categories are one of twelve. The queries are a rare merchant, a common
+ * merchant, a whole category (a twelfth of the index), a prefix and two words.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TransactionSearchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final String[] CATEGORIES = {"Food", "Rent", "Bills", "Travel", "Shopping", "Health",
+            "Salary", "Transport", "Entertainment", "Education", "Gifts", "Other"};
+    private static final String[] ITEMS = {"order", "payment", "refund", "subscription", "groceries", "ticket",
+            "coffee", "lunch", "dinner", "fuel", "invoice", "transfer"};
+
+    @Param({"merchant1999", "amazon", "entertainment", "merch", "amazon refund"})
+    public String query;
+
+    private SearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new SearchIndex();
+        for (int id = 1; id <= ROWS; id++) {
+            // squaring skews the draw towards the first merchants
+            int merchant = (int) (Math.pow(random.nextDouble(), 2) * 2000);
+            String name = merchant == 0 ? "Amazon" : "Merchant" + merchant;
+            index.load(id, name + " " + ITEMS[random.nextInt(ITEMS.length)] + " #" + random.nextInt(100_000),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        }
+        index.loaded();
+    }
+
+    @Benchmark
+    public SearchIndex.Hits search() {
+        return index.search(query, 0, 50);
+    }
+}
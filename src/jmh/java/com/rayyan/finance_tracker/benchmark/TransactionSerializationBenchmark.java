@@ -0,0 +1,82 @@
+package com.rayyan.finance_tracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rayyan.finance_tracker.config.JacksonConfig;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Jackson serialization of a list of transaction rows, the payload of the list and page endpoints.
+ *
+ * profile=pretty is the old output (indent_output=true, the JavaTimeModule date formatter),
+ * profile=compact is the current one (JacksonConfig). serializeGzip adds the gzip Tomcat does for
+ * clients that accept it. The bytes on the wire of each setup are printed once per trial:
+ *
+ *   mvn -Pbenchmark -DskipTests verify -Djmh.args="TransactionSerializationBenchmark -p size=10000"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionSerializationBenchmark {
+
+    @Param({"50", "500", "10000"})
+    private int size;
+
+    @Param({"pretty", "compact"})
+    private String profile;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionView> transactions;
+
+    @Setup
+    public void setUp() throws IOException {
+        // built like Spring Boot builds the application's mapper
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        if (profile.equals("compact"))
+            new JacksonConfig().compactJson().customize(builder);
+        else
+            builder.featuresToEnable(SerializationFeature.INDENT_OUTPUT);
+        objectMapper = builder.build();
+
+        transactions = new ArrayList<>(size);
+        LocalDateTime date = LocalDateTime.of(2025, 6, 1, 9, 30);
+        for (int i = 0; i < size; i++) {
+            transactions.add(new TransactionView((long) i, "Benchmark transaction " + i,
+                    new BigDecimal("12.50").add(BigDecimal.valueOf(i)),
+                    i % 4 == 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                    "Category " + i % 8, date.minusDays(i)));
+        }
+
+        System.out.printf("%n%s, %d rows: %d bytes, %d bytes gzipped%n",
+                profile, size, serialize().length, serializeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, transactions);
+        }
+        return bytes.toByteArray();
+    }
+}
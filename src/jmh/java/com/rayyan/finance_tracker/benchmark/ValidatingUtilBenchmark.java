@@ -0,0 +1,48 @@
+package com.rayyan.finance_tracker.benchmark;
+
+import com.rayyan.finance_tracker.utils.ValidatingUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Validation done on every registration. Run with -Djmh.args="ValidatingUtilBenchmark -prof gc":
+ * gc.alloc.rate.norm of the valid* benchmarks should be ~0 B/op, errors are only allocated on failure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatingUtilBenchmark {
+
+    private static final String VALID_EMAIL = "benchmark.user+tag@example.co.uk";
+    private static final String INVALID_EMAIL = "benchmark.user@example";
+    private static final String USERNAME = "benchmarkUser";
+    private static final String PASSWORD = "benchmarkPassword1";
+
+    @Benchmark
+    public List<String> checkValidEmail() {
+        return ValidatingUtil.checkEmailFormat(VALID_EMAIL, "Email", null);
+    }
+
+    @Benchmark
+    public List<String> checkInvalidEmail() {
+        return ValidatingUtil.checkEmailFormat(INVALID_EMAIL, "Email", null);
+    }
+
+    @Benchmark
+    public List<String> validRegistration() {
+        List<String> errors = null;
+        errors = ValidatingUtil.checkIsEmpty(USERNAME, "Username", errors);
+        errors = ValidatingUtil.checkIsEmpty(PASSWORD, "Password", errors);
+        errors = ValidatingUtil.checkIsEmpty(VALID_EMAIL, "Email", errors);
+        errors = ValidatingUtil.checkMinLength(USERNAME, "Username", 4, errors);
+        errors = ValidatingUtil.checkMaxLength(USERNAME, "Username", 20, errors);
+        errors = ValidatingUtil.checkMinLength(PASSWORD, "Password", 8, errors);
+        errors = ValidatingUtil.checkMaxLength(PASSWORD, "Password", 50, errors);
+        return ValidatingUtil.checkEmailFormat(VALID_EMAIL, "Email", errors);
+    }
+}
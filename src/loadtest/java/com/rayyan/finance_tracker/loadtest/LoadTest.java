@@ -0,0 +1,223 @@
+package com.rayyan.finance_tracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Closed loop load test against a running app: every simulated user sends one request, waits for the
+ * answer and sends the next. Concurrency is stepped up (--levels) until p99 latency goes over --slo-ms or
+ * more than 1% of requests fail, the last level that passed is reported as the max concurrent users.
+ *
+ * Compare the two thread modes by starting the app once with the default profile and once with
+ * --spring.profiles.active=virtual-threads, and running against each with a different --label:
+ *
+ *   mvn -Ploadtest -DskipTests verify -Dloadtest.args="--label=platform"
+ *   mvn -Ploadtest -DskipTests verify -Dloadtest.args="--label=virtual"
+ *
+ * Each run writes target/loadtest/<label>.json.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final String baseUrl;
+    private String token;
+
+    private LoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        String label = options.getOrDefault("label", "run");
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "50,100,200,400,800,1600").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        long sloMillis = Long.parseLong(options.getOrDefault("slo-ms", "500"));
+        int seedRows = Integer.parseInt(options.getOrDefault("seed-rows", "500"));
+
+        LoadTest loadTest = new LoadTest(baseUrl);
+        loadTest.signUp(seedRows);
+
+        List<LevelResult> results = new ArrayList<>();
+        int maxConcurrentUsers = 0;
+        for (int users : levels) {
+            LevelResult result = loadTest.runLevel(users, duration);
+            results.add(result);
+            System.out.printf("%-10s users=%-6d requests=%-8d rps=%-9.1f p50=%-7.1fms p99=%-7.1fms errors=%.2f%%%n",
+                    label, users, result.requests(), result.throughput(), result.p50Millis(), result.p99Millis(),
+                    result.errorRate() * 100);
+            if (result.p99Millis() > sloMillis || result.errorRate() > MAX_ERROR_RATE)
+                break;
+            maxConcurrentUsers = users;
+        }
+        System.out.printf("%s: max concurrent users within p99 <= %dms: %d%n", label, sloMillis, maxConcurrentUsers);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("baseUrl", baseUrl);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("sloMillis", sloMillis);
+        report.put("maxConcurrentUsers", maxConcurrentUsers);
+        report.put("levels", results);
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest/" + label + ".json"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        MAPPER.writeValue(out.toFile(), report);
+        System.out.println("Results written to " + out);
+    }
+
+    // Registers a fresh user, logs in and imports some transactions so the read endpoints have work to do
+    private void signUp(int seedRows) throws IOException, InterruptedException {
+        String username = "load" + Long.toString(System.currentTimeMillis(), 36);
+        Map<String, String> credentials = Map.of("username", username, "password", "loadtestPassword1",
+                "email", username + "@loadtest.local");
+        send(post("/api/auth/register", credentials), 200);
+        String login = send(post("/api/auth/login", Map.of("username", username, "password", "loadtestPassword1")), 200);
+        token = MAPPER.readTree(login).get("jwtToken").asText();
+
+        List<Map<String, Object>> rows = new ArrayList<>(seedRows);
+        LocalDate day = LocalDate.now();
+        for (int i = 0; i < seedRows; i++) {
+            rows.add(Map.of("description", "load row " + i, "amount", 1 + i % 90,
+                    "transactionType", i % 5 == 0 ? "INCOME" : "EXPENSE",
+                    "category", "Category " + i % 8, "date", day.minusDays(i % 365).atStartOfDay().toString()));
+        }
+        send(post("/api/transaction/import", rows), 200);
+    }
+
+    // Runs one concurrency level, every user alternates between a transaction page and the dashboard summary
+    private LevelResult runLevel(int users, Duration duration) throws Exception {
+        HttpRequest page = get("/api/transaction/page?size=50");
+        HttpRequest summary = get("/api/transaction/summary");
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<UserResult>> futures = new ArrayList<>(users);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                futures.add(executor.submit(() -> {
+                    UserResult result = new UserResult();
+                    boolean pageNext = true;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(pageNext ? page : summary,
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200)
+                                result.errors++;
+                        } catch (IOException e) {
+                            result.errors++;
+                        }
+                        result.add(System.nanoTime() - start);
+                        pageNext = !pageNext;
+                    }
+                    return result;
+                }));
+            }
+        }
+
+        long requests = 0;
+        long errors = 0;
+        for (Future<UserResult> future : futures) {
+            requests += future.get().count;
+            errors += future.get().errors;
+        }
+        long[] latencies = new long[(int) requests];
+        int offset = 0;
+        for (Future<UserResult> future : futures) {
+            UserResult result = future.get();
+            System.arraycopy(result.latencies, 0, latencies, offset, result.count);
+            offset += result.count;
+        }
+        Arrays.sort(latencies);
+
+        return new LevelResult(users, requests, errors,
+                requests / (double) duration.toSeconds(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1_000_000.0,
+                requests == 0 ? 1 : errors / (double) requests);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0)
+            return 0;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private String send(HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus)
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        return response.body();
+    }
+
+    // --name=value arguments
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    // Latencies of one simulated user, in nanoseconds
+    private static final class UserResult {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private void add(long nanos) {
+            if (count == latencies.length)
+                latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+        }
+    }
+
+    public record LevelResult(int users, long requests, long errors, double throughput,
+                              double p50Millis, double p99Millis, double maxMillis, double errorRate) {
+    }
+}
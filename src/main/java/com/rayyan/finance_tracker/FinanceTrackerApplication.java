@@ -2,9 +2,11 @@ package com.rayyan.finance_tracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 // main application that runs
 @SpringBootApplication
+@EnableScheduling // runs the rollup verification job
 public class FinanceTrackerApplication {
 
 	public static void main(String[] args) {
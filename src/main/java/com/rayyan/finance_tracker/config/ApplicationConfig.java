@@ -1,6 +1,10 @@
 package com.rayyan.finance_tracker.config;
 
+import com.rayyan.finance_tracker.service.authentication.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +15,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,6 +25,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -27,20 +33,27 @@ import java.util.List;
 public class ApplicationConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final IdempotencyFilter idempotencyFilter;
     private final UserDetailsService userDetailsService;
 
     @Autowired
-    public ApplicationConfig(JwtAuthenticationFilter jwtAuthFilter, UserDetailsService userDetailsService) {
+    public ApplicationConfig(JwtAuthenticationFilter jwtAuthFilter, IdempotencyFilter idempotencyFilter,
+                             UserDetailsService userDetailsService) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.idempotencyFilter = idempotencyFilter;
         this.userDetailsService = userDetailsService;
     }
 
     @Bean
-public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
     http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(authRequest -> authRequest
+                    // the dispatch that finishes an event stream runs without the JWT filter, the stream was
+                    // already authorized when it was opened. Must come first, the first matching rule wins
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                     // Public endpoints
                     .requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/login.html", "/register.html", "/insights.html", "/css/**", "/js/**", "/dashboard.html").permitAll()
@@ -49,13 +62,16 @@ public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Excepti
                     // Protected API endpoints
                     .requestMatchers("/api/transaction/**").authenticated()
                     .requestMatchers("/api/user/**").authenticated()
+                    .requestMatchers("/api/events/**").authenticated()
                     
                     // Any other request
                     .anyRequest().permitAll()) // Changed from authenticated() to permitAll() for static resources
             .sessionManagement(session -> session
                     .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .authenticationProvider(authenticationProvider)
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            // needs the authenticated user, keys are scoped per user
+            .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
     return http.build();
 }
 
@@ -74,10 +90,13 @@ public CorsConfigurationSource corsConfigurationSource() {
     return source;
 }
 
+    // the password service rehashes a password on login when its stored BCrypt cost is below the current one
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder,
+                                                         UserDetailsPasswordService passwordUpgradeService) {
         DaoAuthenticationProvider daoAuthProvider = new DaoAuthenticationProvider(userDetailsService);
-        daoAuthProvider.setPasswordEncoder(passwordEncoder());
+        daoAuthProvider.setPasswordEncoder(passwordEncoder);
+        daoAuthProvider.setUserDetailsPasswordService(passwordUpgradeService);
         return daoAuthProvider;
     }
 
@@ -86,8 +105,20 @@ public CorsConfigurationSource corsConfigurationSource() {
         return config.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /*
+     * BCrypt with a fixed strength, or one calibrated at startup to the target hash time when none is set.
+     * Hashing runs on its own bounded pool (0 threads means one per core), requests beyond
+     * threads + queue get a 429 instead of waiting on a request thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${application.security.password.strength:}") Integer strength,
+                                           @Value("${application.security.password.target-hash-time:250ms}") Duration targetHashTime,
+                                           @Value("${application.security.password.hashing-threads:0}") int threads,
+                                           @Value("${application.security.password.hashing-queue:64}") int queueCapacity) {
+        int bcryptStrength = strength != null ? strength : BoundedPasswordEncoder.calibrate(targetHashTime);
+        int hashingThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), hashingThreads, queueCapacity,
+                meterRegistry);
     }
 }
@@ -0,0 +1,248 @@
+package com.rayyan.finance_tracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rayyan.finance_tracker.service.idempotency.IdempotencyStore;
+import com.rayyan.finance_tracker.service.idempotency.IdempotentResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Makes the money moving endpoints safe to retry. A POST carrying an Idempotency-Key header runs once,
+ * a repeat of it within the TTL gets the stored response back (with Idempotent-Replayed: true)
+ * without reaching the controller. The same key with a different request is rejected with 422,
+ * and a repeat that arrives while the first is still running gets 409.
+ * Runs in the security chain after the JWT filter, keys are scoped per user.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final List<PathPattern> paths;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore,
+                             ObjectMapper objectMapper,
+                             @Value("${application.idempotency.paths:/api/savings/*/deposit,/api/savings/*/withdraw,/api/transaction/create}")
+                             List<String> paths) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null)
+            return true;
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return paths.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // nothing to scope the key to, the endpoint itself will turn the request away
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String username = authentication.getName();
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        byte[] requestHash = hash(request, body);
+
+        IdempotentResponse stored = idempotencyStore.find(username, key);
+        if (stored == null) {
+            if (!idempotencyStore.begin(username, key)) {
+                writeError(response, HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY_HEADER +
+                        " is still being processed");
+                return;
+            }
+            // a request with this key can complete between the lookup and the claim, it stores its response
+            // before letting go of the key, so looking again once the key is ours sees it
+            stored = idempotencyStore.find(username, key);
+            if (stored != null)
+                idempotencyStore.release(username, key);
+        }
+        if (stored != null) {
+            if (!stored.matches(requestHash)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+                return;
+            }
+            replay(response, stored);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+            if (isFinal(responseWrapper.getStatus())) {
+                idempotencyStore.complete(username, key, new IdempotentResponse(requestHash, responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray(), LocalDateTime.now()));
+                completed = true;
+            }
+        } finally {
+            if (!completed)
+                idempotencyStore.release(username, key);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    // 5xx, 409 and 429 are worth retrying, so they are not stored and the key stays usable
+    private boolean isFinal(int status) {
+        return status < 500 && status != HttpStatus.CONFLICT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void replay(HttpServletResponse response, IdempotentResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null)
+            response.setContentType(stored.contentType());
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    // same body as the GlobalExceptionHandler responses
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", message);
+        body.put("StatusCode", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("timestamp", LocalDateTime.now().toString());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static byte[] hash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null)
+                digest.update(("?" + request.getQueryString()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // the body was read for the hash, the controller reads this copy
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // the whole body is already in memory, so it is available straight away
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished())
+                            readListener.onDataAvailable();
+                        if (isFinished())
+                            readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
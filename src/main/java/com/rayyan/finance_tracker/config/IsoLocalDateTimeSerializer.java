@@ -0,0 +1,69 @@
+package com.rayyan.finance_tracker.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/*
+ * Writes a LocalDateTime exactly like the JavaTimeModule default (DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+ * EG: 2025-06-01T09:30:00 or 2025-06-01T09:30:00.25) but with the digits put straight into a char buffer.
+ * The formatter resolves every field through the TemporalAccessor interface and builds a String per value,
+ * at 10k rows per list that is most of the serialization time. Years outside 0..9999 use the formatter.
+ */
+public class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+    public static final IsoLocalDateTimeSerializer INSTANCE = new IsoLocalDateTimeSerializer();
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final int MAX_LENGTH = 29;
+
+    private IsoLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+
+        char[] buffer = new char[MAX_LENGTH];
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, value.getSecond(), 2);
+
+        int length = 19;
+        int nano = value.getNano();
+        if (nano != 0) {
+            // the formatter prints the fraction without trailing zeros
+            buffer[19] = '.';
+            writeDigits(buffer, 20, nano, 9);
+            length = MAX_LENGTH;
+            while (buffer[length - 1] == '0')
+                length--;
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    // value as exactly width digits, zero padded on the left
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
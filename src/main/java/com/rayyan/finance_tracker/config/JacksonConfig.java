@@ -0,0 +1,24 @@
+package com.rayyan.finance_tracker.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+
+/*
+ * Additions to the ObjectMapper Spring Boot builds from the spring.jackson.* properties, used by every JSON response:
+ * BigDecimal amounts are written as they are stored (EG: 12.50, never 1.25E+1, and never re-scaled)
+ * and LocalDateTime by IsoLocalDateTimeSerializer.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer compactJson() {
+        return builder -> builder
+                .featuresToEnable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+                .serializerByType(LocalDateTime.class, IsoLocalDateTimeSerializer.INSTANCE);
+    }
+}
@@ -1,7 +1,9 @@
 package com.rayyan.finance_tracker.config;
 
-import com.rayyan.finance_tracker.service.UserDetailService;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.cache.PrincipalCache;
 import com.rayyan.finance_tracker.service.jwt.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,12 +21,12 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final UserDetailService userDetails;
+    private final PrincipalCache principalCache;
     private final JwtService jwtService;
 
     @Autowired
-    public JwtAuthenticationFilter(UserDetailService userDetails, JwtService jwtService) {
-        this.userDetails = userDetails;
+    public JwtAuthenticationFilter(PrincipalCache principalCache, JwtService jwtService) {
+        this.principalCache = principalCache;
         this.jwtService = jwtService;
     }
 
@@ -69,23 +70,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        final String username;
+        // the signature is verified once here, the claims are reused for validation below
+        final Claims claims;
         try {
-            username = jwtService.extractUsername(jwt);
+            claims = jwtService.extractAllClaims(jwt);
         } catch (Exception e) {
             // Invalid JWT, skip authentication
             filterChain.doFilter(request, response);
             return;
         }
+        final String username = claims.getSubject();
 
         // Step 4: Validate token and set authentication
+        // the resolved User becomes the principal, so controllers can reuse it without another query
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetails.loadUserByUsername(username);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            User user = principalCache.getUser(username);
+            if (jwtService.isTokenValid(claims, user)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        user,
                         null,
-                        userDetails.getAuthorities()
+                        user.getAuthorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -95,11 +99,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Checking for a valid token
+     * Checking for a valid token (public so the JMH benchmarks can call it)
      * @param token  the JWT token
      * @return true if valid
      */
-    private boolean isValidJwtFormat(String token) {
+    public static boolean isValidJwtFormat(String token) {
         // JWT must contain exactly two periods
         if (token == null) return false;
         int periodCount = 0;
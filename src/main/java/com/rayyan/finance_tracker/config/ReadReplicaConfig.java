@@ -0,0 +1,78 @@
+package com.rayyan.finance_tracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Sends read only transactions to read replicas, on when application.datasource.replica.urls is set
+ * (comma separated JDBC URLs). Without it Spring Boot builds the usual single DataSource.
+ *
+ * The primary comes from spring.datasource.*, the replicas use the same credentials unless
+ * application.datasource.replica.username/password are set. Every pool takes the
+ * spring.datasource.hikari.* settings. A replica that is down at startup does not stop the app,
+ * its reads fall back to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.replica", name = "urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${application.datasource.replica.sticky-window:5s}") Duration stickyWindow,
+            @Value("${application.datasource.replica.sticky-max-users:100000}") long maxUsers) {
+        return new ReadYourWritesTracker(stickyWindow, maxUsers);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaDataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry,
+            @Value("${application.datasource.replica.urls}") List<String> replicaUrls,
+            @Value("${application.datasource.replica.username:}") String replicaUsername,
+            @Value("${application.datasource.replica.password:}") String replicaPassword) {
+        HikariDataSource primary = pool(properties, environment, properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword());
+        if (primary.getPoolName() == null)
+            primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>(replicaUrls.size());
+        for (String url : replicaUrls) {
+            HikariDataSource replica = pool(properties, environment, url.trim(),
+                    replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername,
+                    replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword);
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replica.setInitializationFailTimeout(-1); // start even when the replica is down
+            replica.setMetricRegistry(meterRegistry); // Spring Boot only instruments the primary
+            replicas.add(replica);
+        }
+        return new ReadReplicaDataSource(primary, replicas, readYourWritesTracker, meterRegistry);
+    }
+
+    // a Hikari pool like the one Spring Boot builds, with spring.datasource.hikari.* applied
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         String url, String username, String password) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        return pool;
+    }
+}
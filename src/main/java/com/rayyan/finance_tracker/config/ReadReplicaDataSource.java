@@ -0,0 +1,95 @@
+package com.rayyan.finance_tracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * The application DataSource when read replicas are configured.
+ *
+ * Connections are lazy: the physical connection is only taken when the first statement runs, after
+ * Spring has marked it read only for a @Transactional(readOnly = true) call. Read only connections
+ * come from the replicas in turn, everything else from the primary. A read only connection still
+ * goes to the primary when the current user wrote recently (ReadYourWritesTracker) or when the
+ * replica can't hand out a connection.
+ *
+ * Reads are counted as "datasource.reads" tagged with target=replica, sticky or fallback.
+ */
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReadReplicaDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                 ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        super(primary);
+        if (replicas.isEmpty())
+            throw new IllegalArgumentException("At least one replica is required");
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.stickyReads = readCounter(meterRegistry, "sticky");
+        this.fallbackReads = readCounter(meterRegistry, "fallback");
+        setReadOnlyDataSource(new ReadOnlyRouter());
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.reads")
+                .description("Read only connections handed out, by where they came from")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    // where read only connections come from
+    private final class ReadOnlyRouter extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (readYourWrites.currentUserRecentlyWrote()) {
+                stickyReads.increment();
+                return primary.getConnection();
+            }
+            HikariDataSource replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Replica {} unavailable, reading from the primary: {}", replica.getPoolName(), e.getMessage());
+                fallbackReads.increment();
+                return primary.getConnection();
+            }
+        }
+
+        // like the Hikari pools behind it, connections always use the configured credentials
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.rayyan.finance_tracker.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+/*
+ * Remembers which users committed a write in the last window (application.datasource.replica.sticky-window).
+ * Their read only transactions go to the primary, so a user always sees their own write even while
+ * the replicas lag behind. Registered as a TransactionExecutionListener, Spring Boot applies it to the
+ * transaction manager and every committed read write transaction marks the current user.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly())
+            markWrite(currentUsername());
+    }
+
+    /**
+     * Starts (or restarts) the window for a user
+     *
+     * @param username the user who wrote, ignored when null
+     */
+    public void markWrite(String username) {
+        if (username != null)
+            recentWriters.put(username, Boolean.TRUE);
+    }
+
+    /**
+     * @return true if the user of the current request wrote within the window
+     */
+    public boolean currentUserRecentlyWrote() {
+        String username = currentUsername();
+        return username != null && recentWriters.getIfPresent(username) != null;
+    }
+
+    // null for background work (EG: the scheduled jobs) and anonymous requests
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken)
+            return null;
+        return authentication.getName();
+    }
+}
@@ -1,5 +1,7 @@
 package com.rayyan.finance_tracker.constants;
 
+import java.time.LocalDateTime;
+
 public class Constants {
 
     /* constant values for Password and Username Check */
@@ -13,6 +15,26 @@ public class Constants {
     public static final int MIN_EMAIL_LENGTH = 5;
     public static final int MAX_EMAIL_LENGTH = 50;
 
+    // Transaction listing page sizes
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Most categories one transaction filter can ask for
+    public static final int MAX_FILTER_CATEGORIES = 32;
+
+    // Longest transaction search query, as long as a description can be
+    public static final int MAX_SEARCH_QUERY_LENGTH = 255;
+
+    // Largest JSON array accepted by the bulk import endpoint
+    public static final int MAX_IMPORT_ROWS = 50_000;
+
+    // A RUNNING import job that has not committed a chunk for this long is treated as dead and can be resumed
+    public static final int IMPORT_JOB_STALE_MINUTES = 10;
+
+    // Bounds used by the transaction summary when no date range is given
+    public static final LocalDateTime SUMMARY_MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    public static final LocalDateTime SUMMARY_MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     // prevention instantiation
     private Constants() {
         throw new AssertionError("Cannot instantiate constants class");
@@ -0,0 +1,49 @@
+package com.rayyan.finance_tracker.controllers;
+
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.UserDetailService;
+import com.rayyan.finance_tracker.service.events.ChangeEventStream;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/events")
+public class EventController {
+
+    private final ChangeEventStream changeEventStream;
+    private final UserDetailService userDetailService;
+
+    /**
+     * Get the current authenticated user from the security context (Helper Method)
+     *
+     * @return User object of the currently authenticated user
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // the JWT filter already resolved the User, reuse it instead of querying again
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        String username = authentication.getName();
+        return userDetailService.getUserByUsername(username);
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of the user's changes.
+     * Sends "connected" first, then a "transaction" or "savings" event (a ChangeEvent as JSON) for every
+     * committed change, and a comment line as a heartbeat. The request thread is released straight away
+     *
+     * @return the stream, kept open until it times out or the client goes away
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return changeEventStream.subscribe(getCurrentUser());
+    }
+}
@@ -2,14 +2,18 @@ package com.rayyan.finance_tracker.controllers;
 
 import com.rayyan.finance_tracker.entity.AmountRequest;
 import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.SavingsView;
 import com.rayyan.finance_tracker.entity.User;
 import com.rayyan.finance_tracker.exceptions.ValidationException;
 import com.rayyan.finance_tracker.service.SavingsService;
 import com.rayyan.finance_tracker.service.UserDetailService;
+import com.rayyan.finance_tracker.service.cache.CollectionVersions;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,6 +25,7 @@ public class SavingsController {
 
     private final SavingsService savingsService;
     private final UserDetailService userDetailService;
+    private final CollectionVersions collectionVersions;
 
     /**
      * Get the current authenticated user from the security context (Helper Method)
@@ -29,6 +34,10 @@ public class SavingsController {
      */
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // the JWT filter already resolved the User, reuse it instead of querying again
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
         String username = authentication.getName();
         return userDetailService.getUserByUsername(username);
     }
@@ -46,12 +55,17 @@ public class SavingsController {
     }
 
     /**
-     * gets a list of savings
-     * @return a List of savings for a user
+     * gets a list of savings.
+     * Tagged with the collection's ETag, a matching If-None-Match gets a 304 without querying
+     * @param request the current request, for the conditional GET
+     * @return a List of savings for a user, null when not modified
      */
     @GetMapping("/my-savings")
-    public List<Savings> getAllSavings() {
-        return savingsService.findAllSavings(getCurrentUser());
+    public List<SavingsView> getAllSavings(ServletWebRequest request) {
+        User user = getCurrentUser();
+        if (collectionVersions.checkNotModified(user, ChangeEvent.Resource.SAVINGS, request))
+            return null;
+        return savingsService.findAllSavings(user);
     }
 
     /**
@@ -114,30 +128,44 @@ public class SavingsController {
     }
 
     /**
-     * gets the total amount of all savings
-     * @return the savings that user have
+     * gets the total amount of all savings (conditional on the savings ETag)
+     * @param request the current request, for the conditional GET
+     * @return the savings that user have, null when not modified
      */
     @GetMapping("/total-savings")
-    public BigDecimal totalSavings() {
-        return savingsService.getTotalSavings(getCurrentUser());
+    public BigDecimal totalSavings(ServletWebRequest request) {
+        User user = getCurrentUser();
+        if (collectionVersions.checkNotModified(user, ChangeEvent.Resource.SAVINGS, request))
+            return null;
+        return savingsService.getTotalSavings(user);
     }
 
     /**
      * gets goals based on status
-     * @return List oif goals based on status -> In Progress
+     * (conditional on the savings ETag)
+     * @param request the current request, for the conditional GET
+     * @return List oif goals based on status -> In Progress, null when not modified
      */
     @GetMapping("/in-progress")
-    public List<Savings> getInProgressSavings() {
-        return savingsService.getSavingsInProgress(getCurrentUser());
+    public List<SavingsView> getInProgressSavings(ServletWebRequest request) {
+        User user = getCurrentUser();
+        if (collectionVersions.checkNotModified(user, ChangeEvent.Resource.SAVINGS, request))
+            return null;
+        return savingsService.getSavingsInProgress(user);
     }
 
     /**
      * gets goals based on status
-     * @return List oif goals based on status -> Completed
+     * (conditional on the savings ETag)
+     * @param request the current request, for the conditional GET
+     * @return List oif goals based on status -> Completed, null when not modified
      */
     @GetMapping("/completed")
-    public List<Savings> getCompletedSavings() {
-        return savingsService.getSavingsCompleted(getCurrentUser());
+    public List<SavingsView> getCompletedSavings(ServletWebRequest request) {
+        User user = getCurrentUser();
+        if (collectionVersions.checkNotModified(user, ChangeEvent.Resource.SAVINGS, request))
+            return null;
+        return savingsService.getSavingsCompleted(user);
     }
 
 }
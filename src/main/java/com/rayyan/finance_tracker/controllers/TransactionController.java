@@ -1,16 +1,42 @@
 package com.rayyan.finance_tracker.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rayyan.finance_tracker.entity.ImportJob;
+import com.rayyan.finance_tracker.entity.ImportResult;
 import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionFilter;
+import com.rayyan.finance_tracker.entity.TransactionPage;
+import com.rayyan.finance_tracker.entity.TransactionSearchResult;
+import com.rayyan.finance_tracker.entity.TransactionSummary;
+import com.rayyan.finance_tracker.entity.TransactionView;
 import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ImportJobNotFoundException;
 import com.rayyan.finance_tracker.exceptions.TransactionNotFoundException;
 import com.rayyan.finance_tracker.exceptions.ValidationException;
 import com.rayyan.finance_tracker.service.TransactionService;
 import com.rayyan.finance_tracker.service.UserDetailService;
+import com.rayyan.finance_tracker.service.cache.CollectionVersions;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import com.rayyan.finance_tracker.service.importer.ImportJobService;
+import com.rayyan.finance_tracker.service.importer.TransactionImportService;
+import com.rayyan.finance_tracker.service.search.TransactionSearchService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @AllArgsConstructor
@@ -20,6 +46,11 @@ public class TransactionController {
 
     private final TransactionService transactionService;
     private final UserDetailService userDetailService;
+    private final ObjectMapper objectMapper;
+    private final TransactionImportService importService;
+    private final ImportJobService importJobService;
+    private final CollectionVersions collectionVersions;
+    private final TransactionSearchService searchService;
 
     /**
      * Get the current authenticated user from the security context (Helper Method)
@@ -28,6 +59,10 @@ public class TransactionController {
      */
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // the JWT filter already resolved the User, reuse it instead of querying again
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
         String username = authentication.getName();
         return userDetailService.getUserByUsername(username);
     }
@@ -48,16 +83,213 @@ public class TransactionController {
         return "Transaction Successfully created";
     }
 
+    /**
+     * Import many transactions at once for the current user.
+     * Rows that fail validation are skipped and reported, the rest are imported.
+     *
+     * @param transactions the transactions to import
+     * @return how many rows were received and imported, with an error per rejected row
+     * @throws ValidationException if the list is empty or too large
+     */
+    @PostMapping("/import")
+    public ImportResult importTransactions(@RequestBody List<Transaction> transactions) {
+        return importService.importTransactions(getCurrentUser(), transactions);
+    }
+
+    /**
+     * Import a CSV bank statement for the current user.
+     * Header columns: date, description, amount, type, category
+     *
+     * @param file the uploaded CSV file
+     * @return how many rows were received and imported, with an error per rejected line
+     * @throws ValidationException if the header is invalid or the file cannot be read
+     * @throws IOException if the upload cannot be opened
+     */
+    @PostMapping(value = "/import/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportResult importCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        return importService.importCsv(getCurrentUser(), file.getInputStream());
+    }
+
+    /**
+     * Import a large CSV or OFX statement for the current user as an import job.
+     * Rows are committed in chunks as the file is read, progress can be polled on /import/jobs/{id}
+     *
+     * @param file the uploaded statement
+     * @param format CSV or OFX, optional (guessed from the file extension)
+     * @return the finished job, FAILED jobs can be resumed with the same file
+     * @throws ValidationException if the format is not supported
+     * @throws IOException if the upload cannot be opened
+     */
+    @PostMapping(value = "/import/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportJob startImportJob(@RequestParam("file") MultipartFile file,
+                                    @RequestParam(required = false) String format) throws IOException {
+        return importJobService.start(getCurrentUser(), file.getOriginalFilename(), format, file.getInputStream());
+    }
+
+    /**
+     * Resume a failed import job, rows up to its committed position are skipped
+     *
+     * @param id import job ID
+     * @param file the same statement the job was started with
+     * @return the finished job
+     * @throws ImportJobNotFoundException if the job does not exist for the current user
+     * @throws ValidationException if the job is not failed
+     * @throws IOException if the upload cannot be opened
+     */
+    @PostMapping(value = "/import/jobs/{id}/resume", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportJob resumeImportJob(@PathVariable Long id, @RequestParam("file") MultipartFile file)
+            throws IOException {
+        return importJobService.resume(getCurrentUser(), id, file.getInputStream());
+    }
+
+    /**
+     * Fetch the most recent import jobs of the current user, newest first
+     *
+     * @return List of ImportJob objects
+     */
+    @GetMapping("/import/jobs")
+    public List<ImportJob> getImportJobs() {
+        return importJobService.getJobs(getCurrentUser());
+    }
+
+    /**
+     * Fetch the progress of an import job
+     *
+     * @param id import job ID
+     * @return the job with its status and counters
+     * @throws ImportJobNotFoundException if the job does not exist for the current user
+     */
+    @GetMapping("/import/jobs/{id}")
+    public ImportJob getImportJob(@PathVariable Long id) {
+        return importJobService.getJob(getCurrentUser(), id);
+    }
+
     /** 
-     * Fetch all transactions for the current user
+     * Fetch all transactions for the current user.
+     * Tagged with the collection's ETag, a matching If-None-Match gets a 304 without querying
      * 
-     * @return List of Transaction objects
+     * @param request the current request, for the conditional GET
+     * @return List of read only transaction rows, null when not modified
      * @throws TransactionNotFoundException if no transactions found
      */
     @GetMapping("/fetchAll")
-    public List<Transaction> getAllTransactions() {
+    public List<TransactionView> getAllTransactions(ServletWebRequest request) {
+        User user = getCurrentUser();
+        if (collectionVersions.checkNotModified(user, ChangeEvent.Resource.TRANSACTION, request))
+            return null;
         // Get only transactions for current user
-        return transactionService.findTransactionsByUser(getCurrentUser());
+        return transactionService.findTransactionsByUser(user);
+    }
+
+    /**
+     * Fetch one page of transactions for the current user, newest first
+     *
+     * @param cursor continuation token from the previous page (omit for the first page)
+     * @param size number of transactions per page
+     * @return a page of transactions with the cursor to the next page
+     * @throws ValidationException if the cursor or page size is invalid
+     */
+    @GetMapping("/page")
+    public TransactionPage getTransactionPage(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size) {
+        return transactionService.findTransactionPage(getCurrentUser(), cursor, size);
+    }
+
+    /**
+     * Fetch one page of the current user's transactions matching every given filter, newest first
+     *
+     * @param from first day to include (yyyy-MM-dd), optional
+     * @param to last day to include (yyyy-MM-dd), optional
+     * @param type INCOME or EXPENSE, optional
+     * @param category categories to include, can be repeated, optional
+     * @param minAmount smallest amount to include, optional
+     * @param maxAmount largest amount to include, optional
+     * @param description text the description starts with, optional
+     * @param cursor continuation token from the previous page of the same filters (omit for the first page)
+     * @param size number of transactions per page
+     * @return a page of matching transactions with the cursor to the next page
+     * @throws ValidationException if a filter, the cursor or the page size is invalid
+     */
+    @GetMapping("/filter")
+    public TransactionPage getFilteredTransactions(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                   @RequestParam(required = false) Transaction.TransactionType type,
+                                                   @RequestParam(required = false) List<String> category,
+                                                   @RequestParam(required = false) BigDecimal minAmount,
+                                                   @RequestParam(required = false) BigDecimal maxAmount,
+                                                   @RequestParam(required = false) String description,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size) {
+        TransactionFilter filter = TransactionFilter.builder()
+                .from(from)
+                .to(to)
+                .type(type)
+                .categories(category)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .descriptionPrefix(description)
+                .build();
+        return transactionService.findFilteredPage(getCurrentUser(), filter, cursor, size);
+    }
+
+    /**
+     * Full text search over the current user's transaction descriptions and categories
+     *
+     * @param q the words to look for, every one must match (a word also matches the start of a longer one)
+     * @param page page number from 0 (omit for the first page)
+     * @param size number of hits per page
+     * @return the IDs of one page of hits, best match first, with the total number of hits
+     * @throws ValidationException if the query is blank or too long, or the page or size is invalid
+     */
+    @GetMapping("/search")
+    public TransactionSearchResult searchTransactions(@RequestParam(required = false) String q,
+                                                      @RequestParam(required = false) Integer page,
+                                                      @RequestParam(required = false) Integer size) {
+        return searchService.search(getCurrentUser(), q, page, size);
+    }
+
+    /**
+     * Dashboard totals for the current user, aggregated in the database
+     *
+     * @param from first day to include (yyyy-MM-dd), optional
+     * @param to last day to include (yyyy-MM-dd), optional
+     * @return income/expense totals, balance and per category totals
+     * @throws ValidationException if from is after to
+     */
+    @GetMapping("/summary")
+    public TransactionSummary getSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return transactionService.getSummary(getCurrentUser(), from, to);
+    }
+
+    /**
+     * Export all transactions for the current user as newline delimited JSON.
+     * Rows are written as they are read from the database, so the export never
+     * holds the full list in memory.
+     *
+     * @param response the servlet response to stream into
+     * @throws IOException if writing to the client fails
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public void exportTransactions(HttpServletResponse response) throws IOException {
+        User user = getCurrentUser();
+        response.setContentType("application/x-ndjson");
+
+        // one JSON document per line, never pretty printed, flushed only when the buffer fills
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            transactionService.streamTransactionsByUser(user, transaction -> {
+                try {
+                    writer.writeValue(generator, transaction);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     /**
@@ -0,0 +1,85 @@
+package com.rayyan.finance_tracker.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked statement import. The counters and committedPosition are only moved forward
+ * in the same database transaction that inserts a chunk, so they always describe what has been committed.
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "import_jobs", indexes = {
+        @Index(name = "idx_import_jobs_user_id", columnList = "user_id, id")
+})
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    private String fileName;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Format format;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    // rows read, imported and rejected up to committedPosition
+    @Column(nullable = false)
+    private long rowsRead;
+
+    @Column(nullable = false)
+    private long rowsImported;
+
+    @Column(nullable = false)
+    private long rowsRejected;
+
+    // position (CSV line, OFX transaction number) of the last row in the last committed chunk, a resume skips up to it
+    @Column(nullable = false)
+    private long committedPosition;
+
+    // the first rejected row and its position, EG: "row 4: Invalid amount: abc"
+    @Column(length = 500)
+    private String firstRejection;
+
+    // why the job failed, set when the status is FAILED
+    @Column(length = 500)
+    private String errorMessage;
+
+    @Column(nullable = false, columnDefinition = "datetime")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, columnDefinition = "datetime")
+    private LocalDateTime updatedAt;
+
+    public enum Format {
+        CSV, OFX
+    }
+
+    /**
+     * RUNNING   -> chunks are being committed
+     * COMPLETED -> the whole file was read
+     * FAILED    -> a chunk or the file could not be read/written, can be resumed with the same file
+     */
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,22 @@
+package com.rayyan.finance_tracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk transaction import.
+ * Valid rows are imported even when other rows fail, errors lists every rejected row.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResult {
+    private int received;
+    private int imported;
+    private List<ImportRowError> errors;
+}
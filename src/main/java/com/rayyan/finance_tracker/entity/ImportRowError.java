@@ -0,0 +1,18 @@
+package com.rayyan.finance_tracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rejected import row, row is 1 based (for CSV it is the line number in the file)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowError {
+    private long row;
+    private String message;
+}
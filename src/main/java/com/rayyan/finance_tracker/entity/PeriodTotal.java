@@ -0,0 +1,23 @@
+package com.rayyan.finance_tracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated amount and row count of a user's transactions for one month, category and type
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PeriodTotal {
+    private Integer period;
+    private String category;
+    private Transaction.TransactionType transactionType;
+    private BigDecimal total;
+    private Long count;
+}
@@ -1,8 +1,6 @@
 package com.rayyan.finance_tracker.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.rayyan.finance_tracker.exceptions.InsufficientFundsException;
-import com.rayyan.finance_tracker.exceptions.InvalidAmountException;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +16,9 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "savings")
+@Table(name = "savings", indexes = {
+        @Index(name = "idx_savings_user_status", columnList = "user_id, status")
+})
 public class Savings {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -51,6 +51,13 @@ public class Savings {
     @JsonIgnore
     private User user;
 
+    // optimistic lock, an update of a row someone else changed since it was read fails instead of overwriting it.
+    // primitive so a detached goal with an id is still merged, not persisted as new
+    @Version
+    @Column(nullable = false)
+    @JsonIgnore
+    private long version;
+
     /**
      * Status codes for goals:
      * IN_PROGRESS -> the goal has not yet reached its target value
@@ -92,42 +99,8 @@ public class Savings {
     }
 
     /**
-     * Adds funds to the goal.
-     *
-     * @param amountToAdd amount to add
-     * @throws InvalidAmountException if the amount is <= 0
-     */
-    public void addToSavings(BigDecimal amountToAdd) {
-        if (amountToAdd == null || amountToAdd.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new InvalidAmountException("Amount must be greater than zero");
-        }
-        this.currentAmount = currentAmount.add(amountToAdd);
-        this.updatedAt = LocalDateTime.now();
-        updateStatus();
-    }
-
-    /**
-     * Withdraws funds from the goal.
-     *
-     * @param amountToWithdraw amount to withdraw
-     * @throws InvalidAmountException     if amount <= 0
-     * @throws InsufficientFundsException if withdrawal > current balance
-     */
-    public void withdrawFromSaving(BigDecimal amountToWithdraw) {
-        if (amountToWithdraw == null || amountToWithdraw.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new InvalidAmountException("Amount must be greater than zero");
-        }
-        if (this.currentAmount.compareTo(amountToWithdraw) < 0) {
-            throw new InsufficientFundsException("Withdrawal amount exceeds current savings amount");
-        }
-
-        this.currentAmount = currentAmount.subtract(amountToWithdraw);
-        this.updatedAt = LocalDateTime.now();
-        updateStatus();
-    }
-
-    /**
-     * Updates the goal status based on progress.
+     * Updates the goal status based on progress. Deposits and withdrawals change the balance in
+     * SavingsRepository.deposit/withdraw and set the status there with the same rule.
      */
     private void updateStatus() {
         if (currentAmount.compareTo(targetAmount) >= 0) {
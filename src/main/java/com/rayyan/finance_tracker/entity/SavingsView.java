@@ -0,0 +1,29 @@
+package com.rayyan.finance_tracker.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read only savings goal returned by the list endpoints.
+ * Selected with a JPQL constructor expression like TransactionView. The completion text of
+ * Savings is left out, it is derived from currentAmount and targetAmount by the client
+ */
+public record SavingsView(Long id,
+                          String savingsName,
+                          String savingsDescription,
+                          BigDecimal currentAmount,
+                          BigDecimal targetAmount,
+                          LocalDateTime createdAt,
+                          LocalDateTime updatedAt,
+                          Savings.SavingsStatus status) {
+
+    /**
+     * @param savings a goal that was just saved
+     * @return the same values as the list endpoints return them
+     */
+    public static SavingsView of(Savings savings) {
+        return new SavingsView(savings.getId(), savings.getSavingsName(), savings.getSavingsDescription(),
+                savings.getCurrentAmount(), savings.getTargetAmount(), savings.getCreatedAt(),
+                savings.getUpdatedAt(), savings.getStatus());
+    }
+}
@@ -13,7 +13,11 @@ import java.time.LocalDateTime;
 @Data               // Lombok annotation -> gets all getters, setters and toString methods
 @NoArgsConstructor  // makes constructor with nor arguments
 @AllArgsConstructor // makes a constructor with arguments
-@Table(name = "transactions") // table name
+@Table(name = "transactions", indexes = { // table name, indexes are created by the V2 and V7 migrations
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date, id"),
+        @Index(name = "idx_transactions_user_category_date", columnList = "user_id, category, date, id"),
+        @Index(name = "idx_transactions_user_type_date", columnList = "user_id, transaction_type, date, id")
+})
 public class Transaction {
 
     @Id
@@ -44,6 +48,12 @@ public class Transaction {
     @JsonIgnore
     private User user;
 
+    // optimistic lock, an update of a row someone else changed since it was read fails instead of overwriting it
+    @Version
+    @Column(nullable = false)
+    @JsonIgnore
+    private long version;
+
     // What type of transaction
     // this can be done in Enum class
     public enum TransactionType{
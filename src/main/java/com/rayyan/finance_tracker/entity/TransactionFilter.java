@@ -0,0 +1,28 @@
+package com.rayyan.finance_tracker.entity;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filters of the transaction filter endpoint, every one is optional and they are combined with AND.
+ *
+ * @param from first day to include
+ * @param to last day to include
+ * @param type only income or only expenses
+ * @param categories any of these categories
+ * @param minAmount smallest amount to include
+ * @param maxAmount largest amount to include
+ * @param descriptionPrefix descriptions starting with this text (case as stored)
+ */
+@Builder
+public record TransactionFilter(LocalDate from,
+                                LocalDate to,
+                                Transaction.TransactionType type,
+                                List<String> categories,
+                                BigDecimal minAmount,
+                                BigDecimal maxAmount,
+                                String descriptionPrefix) {
+}
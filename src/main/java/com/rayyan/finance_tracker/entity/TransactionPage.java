@@ -0,0 +1,22 @@
+package com.rayyan.finance_tracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset paginated transaction listing.
+ * nextCursor is null when there are no more rows to fetch.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionPage {
+    private List<TransactionView> transactions;
+    private String nextCursor;
+    private boolean hasMore;
+}
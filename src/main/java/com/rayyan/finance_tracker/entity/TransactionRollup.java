@@ -0,0 +1,68 @@
+package com.rayyan.finance_tracker.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running total and count of a user's transactions for one month, category and type.
+ * Rows are only written through TransactionRollupRepository, never through save().
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "transaction_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollups_user_period_category_type",
+                columnNames = {"user_id", "period", "category", "transaction_type"})
+})
+public class TransactionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    // year * 100 + month, EG: 202506
+    @Column(nullable = false)
+    private Integer period;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType transactionType;
+
+    @Column(name = "total_amount", nullable = false, precision = 38, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long count;
+
+    /**
+     * Gets the rollup period a point in time falls in
+     *
+     * @param date the transaction date
+     * @return year * 100 + month
+     */
+    public static int periodOf(LocalDateTime date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    public static int periodOf(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+}
@@ -0,0 +1,23 @@
+package com.rayyan.finance_tracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of full text search hits over the transaction descriptions and categories.
+ * ids are ranked best match first, total counts the hits on every page.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionSearchResult {
+    private List<Long> ids;
+    private int total;
+    private int page;
+    private boolean hasMore;
+}
@@ -0,0 +1,28 @@
+package com.rayyan.finance_tracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Dashboard totals for a user, computed in the database.
+ * from/to echo the requested range and are null when the range is open.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionSummary {
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpenses;
+    private BigDecimal balance;
+    private long transactionCount;
+    private List<CategoryTotal> categories;
+}
@@ -0,0 +1,26 @@
+package com.rayyan.finance_tracker.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read only transaction row returned by the list, page and export endpoints.
+ * Selected with a JPQL constructor expression, so Hibernate keeps no managed entity
+ * (and no dirty checking snapshot) for it and the lazy user is never proxied
+ */
+public record TransactionView(Long id,
+                              String description,
+                              BigDecimal amount,
+                              Transaction.TransactionType transactionType,
+                              String category,
+                              LocalDateTime date) {
+
+    /**
+     * @param transaction a transaction that was just saved
+     * @return the same values as the list endpoints return them
+     */
+    public static TransactionView of(Transaction transaction) {
+        return new TransactionView(transaction.getId(), transaction.getDescription(), transaction.getAmount(),
+                transaction.getTransactionType(), transaction.getCategory(), transaction.getDate());
+    }
+}
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -41,8 +43,11 @@ public class User implements UserDetails {
     // A user can have many transactions.
     // When a user is deleted, all their transactions should also be deleted (CascadeType.ALL).
     // FetchType.LAZY means transactions are not loaded from the database until we explicitly ask for them.
+    // Excluded from toString/equals so a cached (detached) user never triggers a lazy load.
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference  // prevents from infinite loop
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Transaction> transactions;
 
     // These methods are required by Spring Security to manage the user's account status.
@@ -0,0 +1,17 @@
+package com.rayyan.finance_tracker.exceptions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+    This Exception class handles edits that kept losing to concurrent edits of the same row
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentUpdateException.class);
+
+    public ConcurrentUpdateException(String message) {
+        super(message);
+        logger.warn("Error: {}", message);
+    }
+}
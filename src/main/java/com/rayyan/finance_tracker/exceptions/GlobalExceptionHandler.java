@@ -1,5 +1,6 @@
 package com.rayyan.finance_tracker.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -58,6 +59,18 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(response, HttpStatus.CONFLICT);
   }
 
+  // the row kept changing underneath the edit, the client should reload it and try again
+  @ExceptionHandler(ConcurrentUpdateException.class)
+  public ResponseEntity<Map<String, Object>> handleConcurrentUpdateException(ConcurrentUpdateException e) {
+    Map<String, Object> response = new HashMap<>();
+    response.put("message", e.getMessage());
+    response.put("StatusCode", HttpStatus.CONFLICT.value());
+    response.put("error", "Concurrent Update");
+    response.put("timestamp", LocalDateTime.now().toString());
+
+    return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+  }
+
   // Handles Transaction not found Exception
   @ExceptionHandler(TransactionNotFoundException.class)
   public ResponseEntity<Map<String, Object>> handleTransactionNotFoundException(TransactionNotFoundException e) {
@@ -71,6 +84,33 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(ImportJobNotFoundException.class)
+  public ResponseEntity<Map<String, Object>> handleImportJobNotFoundException(ImportJobNotFoundException e) {
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("message", e.getMessage());
+    response.put("StatusCode", HttpStatus.NOT_FOUND.value());
+    response.put("error", "Import job not found");
+    response.put("timestamp", LocalDateTime.now().toString());
+
+    return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+  }
+
+  // the client may retry after a second, the work was never started
+  @ExceptionHandler(ServerBusyException.class)
+  public ResponseEntity<Map<String, Object>> handleServerBusyException(ServerBusyException e) {
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("message", e.getMessage());
+    response.put("StatusCode", HttpStatus.TOO_MANY_REQUESTS.value());
+    response.put("error", "Too many requests");
+    response.put("timestamp", LocalDateTime.now().toString());
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(response);
+  }
+
   @ExceptionHandler(ValidationException.class)
   public ResponseEntity<Map<String, Object>> handelValidationException(ValidationException e) {
 
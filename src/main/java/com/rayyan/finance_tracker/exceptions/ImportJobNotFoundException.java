@@ -0,0 +1,20 @@
+package com.rayyan.finance_tracker.exceptions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/*
+    This Exception class handles import jobs that are NOT FOUND (or belong to another user)
+ */
+@ResponseStatus(value = HttpStatus.NOT_FOUND)
+public class ImportJobNotFoundException extends RuntimeException {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobNotFoundException.class);
+
+    public ImportJobNotFoundException(String message) {
+        super(message);
+        logger.warn("Error: {}", message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.rayyan.finance_tracker.exceptions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/*
+    This Exception class handles requests shed because a bounded worker pool (EG: password hashing) is full
+ */
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
+public class ServerBusyException extends RuntimeException {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerBusyException.class);
+
+    public ServerBusyException(String message) {
+        super(message);
+        logger.warn("Error: {}", message);
+    }
+}
@@ -0,0 +1,46 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.ImportJob;
+import com.rayyan.finance_tracker.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    // Find a job by ID and User (users can only see their own imports)
+    Optional<ImportJob> findByIdAndUser(Long id, User user);
+
+    // The most recent imports of a user, newest first
+    List<ImportJob> findTop20ByUserOrderByIdDesc(User user);
+
+    // Moves the committed offset and counters forward, run in the same transaction as the chunk insert.
+    // Only from the position the caller last committed, 0 rows means another run of the job moved it meanwhile.
+    // The updates clear the persistence context so a later find reads the new values
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.committedPosition = :position, j.rowsRead = j.rowsRead + :read, " +
+            "j.rowsImported = j.rowsImported + :imported, j.rowsRejected = j.rowsRejected + :rejected, " +
+            "j.firstRejection = COALESCE(j.firstRejection, :firstRejection), j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.committedPosition = :expected")
+    int recordProgress(Long id, long expected, long position, long read, long imported, long rejected,
+                       String firstRejection, LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.status = :status, j.errorMessage = :errorMessage, j.updatedAt = :now " +
+            "WHERE j.id = :id")
+    int finish(Long id, ImportJob.Status status, String errorMessage, LocalDateTime now);
+
+    // Claims a failed job (or a running one that stopped moving, EG: the server restarted) for a resume.
+    // A single conditional update so two resumes of the same job cannot both run
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.status = :running, j.errorMessage = NULL, j.updatedAt = :now " +
+            "WHERE j.id = :id AND (j.status = :failed OR (j.status = :running AND j.updatedAt < :staleBefore))")
+    int claimForResume(Long id, ImportJob.Status running, ImportJob.Status failed,
+                       LocalDateTime staleBefore, LocalDateTime now);
+}
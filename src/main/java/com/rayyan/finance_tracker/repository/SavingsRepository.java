@@ -1,10 +1,15 @@
 package com.rayyan.finance_tracker.repository;
 
 import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.SavingsView;
 import com.rayyan.finance_tracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,12 +17,53 @@ import java.util.Optional;
 public interface SavingsRepository extends JpaRepository<Savings, Long> {
     // JPA Repositories does the queries
 
+    // Read endpoints select SavingsView rows instead of entities, nothing is managed or snapshotted
+    String SAVINGS_VIEW = "SELECT new com.rayyan.finance_tracker.entity.SavingsView(" +
+            "s.id, s.savingsName, s.savingsDescription, s.currentAmount, s.targetAmount, " +
+            "s.createdAt, s.updatedAt, s.status) FROM Savings s ";
+
     // finds savings by username
     List<Savings> findByUser(User user);
 
     // finds Savings by email
     Optional<Savings> findByIdAndUser (Long id, User user);
 
-    // gets the goals of the given transaction status
-    List<Savings> findByUserAndStatus(User user, Savings.SavingsStatus status);
+    // all goals of a user as read only rows
+    @Query(SAVINGS_VIEW + "WHERE s.user = :user")
+    List<SavingsView> findViewsByUser(User user);
+
+    // gets the goals of the given status as read only rows
+    @Query(SAVINGS_VIEW + "WHERE s.user = :user AND s.status = :status")
+    List<SavingsView> findViewsByUserAndStatus(User user, Savings.SavingsStatus status);
+
+    // total saved across all goals of a user, zero when there are none
+    @Query("SELECT COALESCE(SUM(s.currentAmount), 0) FROM Savings s WHERE s.user = :user")
+    BigDecimal sumCurrentAmountByUser(User user);
+
+    boolean existsByIdAndUser(Long id, User user);
+
+    // Adds to the balance in one statement, so concurrent deposits can't overwrite each other.
+    // The version is bumped so an edit that read the goal before the deposit fails instead of undoing it.
+    // status is assigned before currentAmount: MySQL evaluates SET left to right with the already updated
+    // values, H2 with the old ones, putting it first makes both compare the old balance plus the amount
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Savings s SET " +
+            "s.status = CASE WHEN s.currentAmount + :amount >= s.targetAmount THEN :completed ELSE :inProgress END, " +
+            "s.currentAmount = s.currentAmount + :amount, s.updatedAt = :now, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.user = :user")
+    int deposit(Long id, User user, BigDecimal amount, Savings.SavingsStatus completed,
+                Savings.SavingsStatus inProgress, LocalDateTime now);
+
+    // Takes from the balance in one statement, the guard leaves the row untouched when it would go negative
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Savings s SET " +
+            "s.status = CASE WHEN s.currentAmount - :amount >= s.targetAmount THEN :completed ELSE :inProgress END, " +
+            "s.currentAmount = s.currentAmount - :amount, s.updatedAt = :now, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.user = :user AND s.currentAmount >= :amount")
+    int withdraw(Long id, User user, BigDecimal amount, Savings.SavingsStatus completed,
+                 Savings.SavingsStatus inProgress, LocalDateTime now);
+
+    // the balance after a deposit or withdrawal, read in the same transaction so it sees that update
+    @Query("SELECT s.currentAmount FROM Savings s WHERE s.id = :id")
+    BigDecimal findCurrentAmountById(Long id);
 }
@@ -0,0 +1,28 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.TransactionFilter;
+import com.rayyan.finance_tracker.entity.TransactionView;
+import com.rayyan.finance_tracker.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filtered transaction listing, implemented by TransactionFilterRepositoryImpl
+ * and part of TransactionRepository.
+ */
+public interface TransactionFilterRepository {
+
+    /**
+     * A keyset page of a user's transactions matching every given filter, newest first
+     *
+     * @param user the owner
+     * @param filter the filters, absent ones are left out of the query
+     * @param afterDate date of the last row of the previous page, null for the first page
+     * @param afterId id of the last row of the previous page, null for the first page
+     * @param limit the most rows to return
+     * @return the matching rows
+     */
+    List<TransactionView> findFiltered(User user, TransactionFilter filter,
+                                       LocalDateTime afterDate, Long afterId, int limit);
+}
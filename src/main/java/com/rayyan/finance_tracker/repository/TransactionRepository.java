@@ -1,19 +1,37 @@
 package com.rayyan.finance_tracker.repository;
 
+import com.rayyan.finance_tracker.entity.CategoryTotal;
+import com.rayyan.finance_tracker.entity.PeriodTotal;
 import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionView;
 import com.rayyan.finance_tracker.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionFilterRepository {
+
+    // Read endpoints select TransactionView rows instead of entities, nothing is managed or snapshotted
+    String TRANSACTION_VIEW = "SELECT new com.rayyan.finance_tracker.entity.TransactionView(" +
+            "t.Id, t.description, t.amount, t.transactionType, t.category, t.date) FROM Transaction t ";
 
     // Find all transactions for a specific user
     List<Transaction> findByUser(User user);
 
+    // All transactions of a user as read only rows
+    @Query(TRANSACTION_VIEW + "WHERE t.user = :user")
+    List<TransactionView> findViewsByUser(User user);
+
     // Find transaction by ID and User (for security - users can only access their own transactions)
     Optional<Transaction> findByIdAndUser(Long id, User user);
 
@@ -22,4 +40,34 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     // Find transactions by category for a specific user
     List<Transaction> findByCategoryAndUser(String category, User user);
-}
\ No newline at end of file
+
+    // First page of a user's transactions, newest first (Pageable only carries the page size)
+    @Query(TRANSACTION_VIEW + "WHERE t.user = :user ORDER BY t.date DESC, t.Id DESC")
+    List<TransactionView> findFirstPage(User user, Pageable limit);
+
+    // Keyset page: rows strictly after the (date, id) position of the previous page
+    @Query(TRANSACTION_VIEW + "WHERE t.user = :user " +
+            "AND (t.date < :date OR (t.date = :date AND t.Id < :id)) " +
+            "ORDER BY t.date DESC, t.Id DESC")
+    List<TransactionView> findPageAfter(User user, LocalDateTime date, Long id, Pageable limit);
+
+    // Totals per (category, type) for a user within [from, to), the per type totals are folded from these rows
+    @Query("SELECT new com.rayyan.finance_tracker.entity.CategoryTotal(" +
+            "t.category, t.transactionType, SUM(t.amount), COUNT(t)) " +
+            "FROM Transaction t WHERE t.user = :user AND t.date >= :from AND t.date < :to " +
+            "GROUP BY t.category, t.transactionType")
+    List<CategoryTotal> sumByCategoryAndType(User user, LocalDateTime from, LocalDateTime to);
+
+    // Totals per (month, category, type) for a user straight from the raw rows, used to verify the rollup table
+    @Query("SELECT new com.rayyan.finance_tracker.entity.PeriodTotal(" +
+            "YEAR(t.date) * 100 + MONTH(t.date), t.category, t.transactionType, SUM(t.amount), COUNT(t)) " +
+            "FROM Transaction t WHERE t.user = :user " +
+            "GROUP BY YEAR(t.date) * 100 + MONTH(t.date), t.category, t.transactionType")
+    List<PeriodTotal> sumByPeriodCategoryAndType(User user);
+
+    // Streams every transaction of a user off a JDBC cursor, must be consumed inside a transaction.
+    // The rows are not entities, so the persistence context stays empty however many are read
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TRANSACTION_VIEW + "WHERE t.user = :user ORDER BY t.date DESC, t.Id DESC")
+    Stream<TransactionView> streamByUser(User user);
+}
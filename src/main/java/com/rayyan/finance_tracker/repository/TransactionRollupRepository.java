@@ -0,0 +1,52 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.CategoryTotal;
+import com.rayyan.finance_tracker.entity.PeriodTotal;
+import com.rayyan.finance_tracker.entity.TransactionRollup;
+import com.rayyan.finance_tracker.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+
+    // Adds a delta to one rollup row, creating it on first use. A single upsert so concurrent writers never race
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO transaction_rollups " +
+            "(user_id, period, category, transaction_type, total_amount, transaction_count) " +
+            "VALUES (:userId, :period, :category, :transactionType, :amount, :count) " +
+            "ON DUPLICATE KEY UPDATE total_amount = total_amount + :amount, " +
+            "transaction_count = transaction_count + :count")
+    int applyDelta(Long userId, int period, String category, String transactionType, BigDecimal amount, long count);
+
+    // Totals per (category, type) for a user over an inclusive range of periods
+    @Query("SELECT new com.rayyan.finance_tracker.entity.CategoryTotal(" +
+            "r.category, r.transactionType, SUM(r.total), SUM(r.count)) " +
+            "FROM TransactionRollup r WHERE r.user = :user AND r.period >= :fromPeriod AND r.period <= :toPeriod " +
+            "GROUP BY r.category, r.transactionType HAVING SUM(r.count) > 0")
+    List<CategoryTotal> sumByCategoryAndType(User user, int fromPeriod, int toPeriod);
+
+    // Every non empty rollup row of a user, used to verify against the raw transactions
+    @Query("SELECT new com.rayyan.finance_tracker.entity.PeriodTotal(" +
+            "r.period, r.category, r.transactionType, r.total, r.count) " +
+            "FROM TransactionRollup r WHERE r.user = :user AND r.count > 0")
+    List<PeriodTotal> findPeriodTotals(User user);
+
+    @Modifying
+    @Query("DELETE FROM TransactionRollup r WHERE r.user = :user")
+    int deleteByUser(User user);
+
+    // Recomputes every rollup row of a user from the transactions table (run after deleteByUser)
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO transaction_rollups " +
+            "(user_id, period, category, transaction_type, total_amount, transaction_count) " +
+            "SELECT user_id, YEAR(date) * 100 + MONTH(date), category, transaction_type, SUM(amount), COUNT(*) " +
+            "FROM transactions WHERE user_id = :userId " +
+            "GROUP BY user_id, YEAR(date) * 100 + MONTH(date), category, transaction_type")
+    int rebuildForUser(Long userId);
+}
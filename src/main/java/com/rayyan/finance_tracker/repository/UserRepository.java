@@ -2,8 +2,11 @@ package com.rayyan.finance_tracker.repository;
 
 import com.rayyan.finance_tracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +19,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     Optional<User> findUserById(Long userId);
+
+    // Accounts whose username or email is the login identifier, in one round trip.
+    // A UNION so each branch uses its own unique index, an OR across the two columns can fall back to a scan.
+    // At most two rows: one user's username can be another user's email
+    @Query(value = "SELECT * FROM users WHERE username = :login " +
+            "UNION ALL SELECT * FROM users WHERE email = :login AND username <> :login", nativeQuery = true)
+    List<User> findAllByLogin(String login);
+
+    // The account for a login identifier (username or email), a username match wins over an email match
+    default Optional<User> findByLogin(String login) {
+        List<User> users = findAllByLogin(login);
+        for (User user : users) {
+            if (user.getUsername().equals(login))
+                return Optional.of(user);
+        }
+        return users.stream().findFirst();
+    }
+
+    // Replaces the stored hash only, used to rehash a password with a higher BCrypt cost on login
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(String username, String password);
 }
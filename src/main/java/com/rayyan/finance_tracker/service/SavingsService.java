@@ -1,22 +1,27 @@
 package com.rayyan.finance_tracker.service;
 
 import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.SavingsView;
 import com.rayyan.finance_tracker.entity.User;
-import com.rayyan.finance_tracker.exceptions.InsufficientFundsException;
-import com.rayyan.finance_tracker.exceptions.InvalidAmountException;
+import com.rayyan.finance_tracker.exceptions.ConcurrentUpdateException;
 import com.rayyan.finance_tracker.exceptions.SavingsException;
 import com.rayyan.finance_tracker.exceptions.ValidationException;
 import com.rayyan.finance_tracker.repository.SavingsRepository;
 import com.rayyan.finance_tracker.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import com.rayyan.finance_tracker.utils.ValidatingUtil;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -26,15 +31,18 @@ public class SavingsService {
     private static final Logger log = LoggerFactory.getLogger(SavingsService.class);
 
     private final SavingsRepository savingsRepository;
+    private final OptimisticRetry optimisticRetry;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Finds all savings for a user
      * @param user The user for savings retrieval
-     * @return a Success Message if savings was created
+     * @return the user's savings as read only rows
      */
-    public List<Savings> findAllSavings(User user) {
+    @Transactional(readOnly = true)
+    public List<SavingsView> findAllSavings(User user) {
         log.info("Finding all savings for user: {}", user.getUsername());
-        return savingsRepository.findByUser(user);
+        return savingsRepository.findViewsByUser(user);
     }
 
     /**
@@ -44,6 +52,7 @@ public class SavingsService {
      * @return Savings for the user
      * @throws SavingsException if the Savings not found for user
      */
+    @Transactional(readOnly = true)
     public Savings findSavingsByIdAndUser(Long id, User user) {
         log.info("Finding savings for user: {}", user.getUsername());
         return savingsRepository.findByIdAndUser(id, user)
@@ -60,22 +69,28 @@ public class SavingsService {
         log.info("Creating a new savings {}", savings);
         validateSavings(savings);
         savingsRepository.save(savings);
+        publish(savings.getUser(), ChangeEvent.Action.CREATED, savings.getId(), SavingsView.of(savings));
         log.info("Savings created with Idr: {}", savings.getId());
         return "Savings created successfully!";
     }
 
     /**
-     * Updates the existing saving goal
+     * Updates the existing saving goal.
+     * Retried on a version conflict, so a concurrent deposit or edit is never overwritten
      *
      * @param Id the goal id to get updated
      * @param updatingSavings the new saving goal updates
      * @param user the user who owns it
      * @return a Success Message if Updated
+     * @throws ConcurrentUpdateException if the goal kept changing on every attempt
      */
-    @Transactional
     public String updateSavings(Long Id, Savings updatingSavings, User user) {
         log.info("Updating savings {}", updatingSavings);
+        return optimisticRetry.run("updateSavings", () -> applySavingsUpdate(Id, updatingSavings, user));
+    }
 
+    // one attempt of updateSavings, reads the current goal and applies the provided fields to it
+    private String applySavingsUpdate(Long Id, Savings updatingSavings, User user) {
         Savings goalToUpdate = findSavingsByIdAndUser(Id, user);
         log.info("Savings to update with Id: {}", goalToUpdate.getId());
 
@@ -114,56 +129,68 @@ public class SavingsService {
             throw new ValidationException("No fields provided to update");
         }
 
-        savingsRepository.save(goalToUpdate);
+        savingsRepository.saveAndFlush(goalToUpdate); // flushed so the pushed view has the new updatedAt
+        publish(user, ChangeEvent.Action.UPDATED, goalToUpdate.getId(), SavingsView.of(goalToUpdate));
         log.info("Savings updated with Id: {}", goalToUpdate.getId());
         return "Savings updated successfully!";
     }
 
     /**
-     * (If needed by user) Withdraw specific amount from a goal
+     * (If needed by user) Withdraw specific amount from a goal.
+     * A single guarded UPDATE, the balance can't go negative even with concurrent withdrawals
      *
      * @param Id the goal ID to make the withdrawal
      * @param amount teh amount to withdrawal
      * @param user the user who owns the saving goal
-     * @return a Success Message if Success to Withdrawal
+     * @return a Success Message with the new balance if Success to Withdrawal
+     * @throws ValidationException if the amount is not positive or more than the balance
+     * @throws SavingsException if the goal is not found for the user
      */
     @Transactional
     public String withdrawFromSavings(Long Id, BigDecimal amount, User user) {
         log.info("Withdrawing amount '{}' from saving goal Id {}", amount, Id);
-
-        Savings savingsToWithdrawFrom = findSavingsByIdAndUser(Id, user);
-        try {
-            savingsToWithdrawFrom.withdrawFromSaving(amount);
-        } catch (InvalidAmountException | InsufficientFundsException e) {
-            throw new ValidationException(e.getMessage());
+        ValidatingUtil.requirePositive(amount, "Amount must be greater than zero");
+
+        int updated = savingsRepository.withdraw(Id, user, amount,
+                Savings.SavingsStatus.COMPLETED, Savings.SavingsStatus.IN_PROGRESS, LocalDateTime.now());
+        if (updated == 0) {
+            // nothing matched, either the goal isn't there or the guard stopped it
+            if (!savingsRepository.existsByIdAndUser(Id, user))
+                throw new SavingsException("Savings not found for user: " + user.getUsername());
+            throw new ValidationException("Withdrawal amount exceeds current savings amount");
         }
 
-        savingsRepository.save(savingsToWithdrawFrom);
-        log.info("Withdrawal amount '{}' from saving goal Id {}", amount, Id);
-        return "Withdrawal from a Saving!";
+        BigDecimal balance = savingsRepository.findCurrentAmountById(Id);
+        publish(user, ChangeEvent.Action.WITHDRAW, Id, balance);
+        log.info("Withdrawal amount '{}' from saving goal Id {}, new balance {}", amount, Id, balance);
+        return "Withdrawal from a Saving! New balance: " + balance;
     }
 
     /**
-     * adds money to the goal
+     * adds money to the goal.
+     * A single UPDATE adding to the stored balance, concurrent deposits all count
+     *
      * @param Id the goal id to add amount into
      * @param amount the amount needed to add
      * @param user the user who owns it
-     * @return Success Message if amount gets deposited
+     * @return Success Message with the new balance if amount gets deposited
+     * @throws ValidationException if the amount is not positive
+     * @throws SavingsException if the goal is not found for the user
      */
     @Transactional
     public String depositToSavings(Long Id, BigDecimal amount, User user) {
         log.info("Depositing amount '{}' from saving goal Id {}", amount, Id);
+        ValidatingUtil.requirePositive(amount, "Amount must be greater than zero");
 
-        Savings goalToDeposit = findSavingsByIdAndUser(Id, user);
-        try {
-            goalToDeposit.addToSavings(amount);
-        } catch (InvalidAmountException e) {
-            throw new ValidationException(e.getMessage());
-        }
+        int updated = savingsRepository.deposit(Id, user, amount,
+                Savings.SavingsStatus.COMPLETED, Savings.SavingsStatus.IN_PROGRESS, LocalDateTime.now());
+        if (updated == 0)
+            throw new SavingsException("Savings not found for user: " + user.getUsername());
 
-        savingsRepository.save(goalToDeposit);
-        log.info("Depositing amount '{}' from saving goal Id {}", amount, Id);
-        return "Deposited amount to Saving";
+        BigDecimal balance = savingsRepository.findCurrentAmountById(Id);
+        publish(user, ChangeEvent.Action.DEPOSIT, Id, balance);
+        log.info("Depositing amount '{}' from saving goal Id {}, new balance {}", amount, Id, balance);
+        return "Deposited amount to Saving. New balance: " + balance;
     }
 
     /**
@@ -179,6 +206,7 @@ public class SavingsService {
 
         Savings goalToDelete = findSavingsByIdAndUser(Id, user);
         savingsRepository.delete(goalToDelete);
+        publish(user, ChangeEvent.Action.DELETED, Id, null);
 
         log.info("Savings goal deleted successfully! {}", goalToDelete);
         return "Savings deleted successfully!";
@@ -189,14 +217,11 @@ public class SavingsService {
      * @param user the user to fetch the savings
      * @return BigDecimal value, Total savings for a user
      */
+    @Transactional(readOnly = true)
     public BigDecimal getTotalSavings(User user) {
         log.info("Getting all savings for user: {}", user.getUsername());
 
-        List<Savings> goals = savingsRepository.findByUser(user);
-
-        return goals.stream()
-                .map(Savings::getCurrentAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return savingsRepository.sumCurrentAmountByUser(user);
     }
 
     /**
@@ -204,9 +229,10 @@ public class SavingsService {
      * @param user the user who wants to find the goals by status
      * @return List of savings goal with status In-Progress
      */
-    public List<Savings> getSavingsInProgress(User user) {
+    @Transactional(readOnly = true)
+    public List<SavingsView> getSavingsInProgress(User user) {
         log.info("Getting all savings for user: {} with status '{}'", user.getUsername(), Savings.SavingsStatus.IN_PROGRESS);
-        List<Savings> savings = savingsRepository.findByUserAndStatus(user,  Savings.SavingsStatus.IN_PROGRESS);
+        List<SavingsView> savings = savingsRepository.findViewsByUserAndStatus(user, Savings.SavingsStatus.IN_PROGRESS);
         if (savings.isEmpty())
             throw new SavingsException("No savings found for user: " + user.getUsername());
 
@@ -219,15 +245,21 @@ public class SavingsService {
      * @param user the user who wants to find the goals by status
      * @return List of savings goal with status Completed
      */
-    public List<Savings> getSavingsCompleted(User user) {
+    @Transactional(readOnly = true)
+    public List<SavingsView> getSavingsCompleted(User user) {
         log.info("Getting all savings for user: {} with status '{}'", user.getUsername(),  Savings.SavingsStatus.COMPLETED);
-        List<Savings> savings = savingsRepository.findByUserAndStatus(user,  Savings.SavingsStatus.COMPLETED);
+        List<SavingsView> savings = savingsRepository.findViewsByUserAndStatus(user, Savings.SavingsStatus.COMPLETED);
         if (savings.isEmpty())
             throw new SavingsException("No savings found for user: " + user.getUsername());
 
         return savings; // if not empty return the list
     }
 
+    // sent to the user's event streams once the transaction commits
+    private void publish(User user, ChangeEvent.Action action, Long id, Object data) {
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), ChangeEvent.Resource.SAVINGS, action, id, data));
+    }
+
     /**
      * Validates the Savings goals
      *
@@ -235,14 +267,10 @@ public class SavingsService {
      * @Throws ValidationException if the saving goal is not a valid request
      */
     private void validateSavings(Savings savings) {
-        if (savings.getSavingsName() == null || savings.getSavingsName().trim().isEmpty())
-            throw new ValidationException("Goal name is cannot be empty");
-        if (savings.getSavingsDescription() == null || savings.getSavingsDescription().trim().isEmpty())
-            throw new ValidationException("Goal description is cannot be empty");
-        if (savings.getTargetAmount() == null || savings.getTargetAmount().compareTo(BigDecimal.ZERO) <= 0)
-            throw new ValidationException("Target must be a positive digit");
+        ValidatingUtil.requireNotBlank(savings.getSavingsName(), "Goal name is cannot be empty");
+        ValidatingUtil.requireNotBlank(savings.getSavingsDescription(), "Goal description is cannot be empty");
+        ValidatingUtil.requirePositive(savings.getTargetAmount(), "Target must be a positive digit");
         // current amount can be set if user wants to
-        if (savings.getCurrentAmount() == null || savings.getCurrentAmount().compareTo(BigDecimal.ZERO) <0)
-            throw new ValidationException("Current amount cannot be negative OR Empty");
+        ValidatingUtil.requireNotNegative(savings.getCurrentAmount(), "Current amount cannot be negative OR Empty");
     }
 }
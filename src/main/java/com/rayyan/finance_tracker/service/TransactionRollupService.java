@@ -0,0 +1,116 @@
+package com.rayyan.finance_tracker.service;
+
+import com.rayyan.finance_tracker.entity.CategoryTotal;
+import com.rayyan.finance_tracker.entity.PeriodTotal;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionRollup;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.repository.TransactionRepository;
+import com.rayyan.finance_tracker.repository.TransactionRollupRepository;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Keeps the per user (month, category, type) rollup table in step with the transactions table.
+ * add/remove must run inside the transaction that writes the raw row, so both commit or neither does.
+ */
+@Service
+@AllArgsConstructor
+public class TransactionRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRollupService.class);
+    private final TransactionRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Counts a transaction into its rollup row
+     *
+     * @param transaction the transaction that was just created or updated
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Transaction transaction) {
+        applyDelta(transaction, transaction.getAmount(), 1);
+    }
+
+    /**
+     * Takes a transaction out of its rollup row
+     *
+     * @param transaction the transaction as it was before an update or delete
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Transaction transaction) {
+        applyDelta(transaction, transaction.getAmount().negate(), -1);
+    }
+
+    /**
+     * Gets totals per (category, type) for an inclusive range of months
+     *
+     * @param user the user who owns the transactions
+     * @param fromPeriod first month to include as year * 100 + month
+     * @param toPeriod last month to include as year * 100 + month
+     * @return one row per category and type that has transactions in the range
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryTotal> getCategoryTotals(User user, int fromPeriod, int toPeriod) {
+        return rollupRepository.sumByCategoryAndType(user, fromPeriod, toPeriod);
+    }
+
+    /**
+     * Throws away a user's rollup rows and recomputes them from the raw transactions
+     *
+     * @param user the user to rebuild
+     * @return the number of rollup rows written
+     */
+    @Transactional
+    public int rebuild(User user) {
+        rollupRepository.deleteByUser(user);
+        int rows = rollupRepository.rebuildForUser(user.getId());
+        logger.info("Rebuilt {} rollup rows for user: {}", rows, user.getUsername());
+        return rows;
+    }
+
+    /**
+     * Checks a user's rollup rows against totals computed from the raw transactions
+     *
+     * @param user the user to verify
+     * @return true if every (month, category, type) total and count matches
+     */
+    @Transactional(readOnly = true)
+    public boolean verify(User user) {
+        Map<String, PeriodTotal> expected = new HashMap<>();
+        for (PeriodTotal row : transactionRepository.sumByPeriodCategoryAndType(user))
+            expected.put(key(row), row);
+
+        List<PeriodTotal> actual = rollupRepository.findPeriodTotals(user);
+        boolean matches = actual.size() == expected.size();
+        for (PeriodTotal row : actual) {
+            PeriodTotal raw = expected.get(key(row));
+            if (raw == null || raw.getTotal().compareTo(row.getTotal()) != 0 || !raw.getCount().equals(row.getCount())) {
+                logger.warn("Rollup mismatch for user: {} at {}: rollup {}, raw {}", user.getUsername(), key(row), row, raw);
+                matches = false;
+            }
+        }
+        return matches;
+    }
+
+    private void applyDelta(Transaction transaction, BigDecimal amount, long count) {
+        rollupRepository.applyDelta(transaction.getUser().getId(),
+                TransactionRollup.periodOf(transaction.getDate()),
+                transaction.getCategory(),
+                transaction.getTransactionType().name(),
+                amount, count);
+    }
+
+    private static String key(PeriodTotal row) {
+        return row.getPeriod() + "|" + row.getCategory() + "|" + row.getTransactionType();
+    }
+}
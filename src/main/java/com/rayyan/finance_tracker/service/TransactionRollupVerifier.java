@@ -0,0 +1,54 @@
+package com.rayyan.finance_tracker.service;
+
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Background job that checks every user's rollup rows against the raw transactions
+ * and rebuilds the ones that drifted. Disabled unless application.rollup.verify-cron is set.
+ */
+@Component
+@AllArgsConstructor
+public class TransactionRollupVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRollupVerifier.class);
+    private static final int USER_BATCH_SIZE = 100;
+
+    private final TransactionRollupService rollupService;
+    private final UserRepository userRepository;
+
+    /**
+     * Verifies every user and rebuilds the ones that do not match
+     *
+     * @return the number of users whose rollup was rebuilt
+     */
+    @Scheduled(cron = "${application.rollup.verify-cron:-}")
+    public int verifyAndRepairAll() {
+        logger.info("Verifying transaction rollups");
+        int repaired = 0;
+        Pageable pageable = PageRequest.of(0, USER_BATCH_SIZE, Sort.by("id"));
+        Page<User> users;
+        do {
+            users = userRepository.findAll(pageable);
+            for (User user : users) {
+                if (!rollupService.verify(user)) {
+                    rollupService.rebuild(user);
+                    repaired++;
+                }
+            }
+            pageable = users.nextPageable();
+        } while (users.hasNext());
+
+        logger.info("Rollup verification done, {} users rebuilt", repaired);
+        return repaired;
+    }
+}
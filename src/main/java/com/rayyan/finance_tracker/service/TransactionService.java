@@ -1,17 +1,42 @@
 package com.rayyan.finance_tracker.service;
 
+import com.rayyan.finance_tracker.entity.CategoryTotal;
 import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionFilter;
+import com.rayyan.finance_tracker.entity.TransactionPage;
+import com.rayyan.finance_tracker.entity.TransactionRollup;
+import com.rayyan.finance_tracker.entity.TransactionSummary;
+import com.rayyan.finance_tracker.entity.TransactionView;
 import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ConcurrentUpdateException;
 import com.rayyan.finance_tracker.exceptions.TransactionNotFoundException;
 import com.rayyan.finance_tracker.exceptions.ValidationException;
 import com.rayyan.finance_tracker.repository.TransactionRepository;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import com.rayyan.finance_tracker.utils.CursorUtil;
+import com.rayyan.finance_tracker.utils.ValidatingUtil;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.rayyan.finance_tracker.constants.Constants.DEFAULT_PAGE_SIZE;
+import static com.rayyan.finance_tracker.constants.Constants.MAX_FILTER_CATEGORIES;
+import static com.rayyan.finance_tracker.constants.Constants.MAX_PAGE_SIZE;
+import static com.rayyan.finance_tracker.constants.Constants.SUMMARY_MAX_DATE;
+import static com.rayyan.finance_tracker.constants.Constants.SUMMARY_MIN_DATE;
 
 @Service
 @AllArgsConstructor
@@ -19,28 +44,173 @@ public class TransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
     private final TransactionRepository transactionRepository;
+    private final TransactionRollupService rollupService;
+    private final OptimisticRetry optimisticRetry;
+    private final ApplicationEventPublisher eventPublisher;
 
 
+    @Transactional
     public void createTransaction(Transaction transaction) {
         validateTransaction(transaction);
         transactionRepository.save(transaction);
+        rollupService.add(transaction);
+        publish(transaction.getUser(), ChangeEvent.Action.CREATED, transaction.getId(), TransactionView.of(transaction));
         logger.info("Transaction created for user: {}", transaction.getUser().getUsername());
     }
 
-    public List<Transaction> findTransactionsByUser(User user) {
+    // Reads run in read only transactions: Hibernate skips the flush (FlushMode.MANUAL) and the
+    // dirty checking snapshots, and the JDBC connection is marked read only
+    @Transactional(readOnly = true)
+    public List<TransactionView> findTransactionsByUser(User user) {
         logger.info("Getting all transactions for user: {}", user.getUsername());
-        return transactionRepository.findByUser(user);
+        return transactionRepository.findViewsByUser(user);
+    }
+
+    /**
+     * Fetches one page of a user's transactions, newest first.
+     * Uses keyset pagination on (date, id) so every page costs the same no matter how deep it is.
+     *
+     * @param user the user who owns the transactions
+     * @param cursor the continuation token from the previous page, null for the first page
+     * @param size the requested page size, null for the default
+     * @return the page with a cursor to the next one (null if this was the last page)
+     * @throws ValidationException if the cursor or size is invalid
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage findTransactionPage(User user, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        logger.info("Getting a page of {} transactions for user: {}", pageSize, user.getUsername());
+
+        // fetch one extra row to know if there is another page
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<TransactionView> rows = (cursor == null || cursor.isBlank())
+                ? transactionRepository.findFirstPage(user, limit)
+                : transactionRepository.findPageAfter(user,
+                        CursorUtil.decodeDate(cursor), CursorUtil.decodeId(cursor), limit);
+
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Fetches one page of a user's transactions matching every given filter, newest first.
+     * One indexed query with keyset pagination like findTransactionPage, the cursor of a page is only
+     * meaningful with the same filters
+     *
+     * @param user the user who owns the transactions
+     * @param filter the filters, any of them can be left out
+     * @param cursor the continuation token from the previous page, null for the first page
+     * @param size the requested page size, null for the default
+     * @return the page with a cursor to the next one (null if this was the last page)
+     * @throws ValidationException if a filter, the cursor or the size is invalid
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage findFilteredPage(User user, TransactionFilter filter, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        TransactionFilter checked = validateFilter(filter);
+        logger.info("Getting a filtered page of {} transactions for user: {}", pageSize, user.getUsername());
+
+        boolean firstPage = cursor == null || cursor.isBlank();
+        List<TransactionView> rows = transactionRepository.findFiltered(user, checked,
+                firstPage ? null : CursorUtil.decodeDate(cursor),
+                firstPage ? null : CursorUtil.decodeId(cursor),
+                pageSize + 1);
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Builds the dashboard summary for a user with a single grouped query.
+     * Ranges made of whole months (or no range) are read from the rollup table,
+     * any other range is aggregated from the raw rows.
+     * Income/expense totals are folded from the per category rows, so the
+     * database is only read once.
+     *
+     * @param user the user who owns the transactions
+     * @param from first day to include, null for no lower bound
+     * @param to last day to include, null for no upper bound
+     * @return totals by type and by category for the range
+     * @throws ValidationException if from is after to
+     */
+    @Transactional(readOnly = true)
+    public TransactionSummary getSummary(User user, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to))
+            throw new ValidationException("Start date must not be after end date");
+
+        logger.info("Building transaction summary for user: {}", user.getUsername());
+        List<CategoryTotal> categories;
+        if (isWholeMonths(from, to)) {
+            int fromPeriod = from == null ? TransactionRollup.periodOf(SUMMARY_MIN_DATE) : TransactionRollup.periodOf(from);
+            int toPeriod = to == null ? TransactionRollup.periodOf(SUMMARY_MAX_DATE) : TransactionRollup.periodOf(to);
+            categories = rollupService.getCategoryTotals(user, fromPeriod, toPeriod);
+        } else {
+            LocalDateTime start = from == null ? SUMMARY_MIN_DATE : from.atStartOfDay();
+            LocalDateTime end = to == null ? SUMMARY_MAX_DATE : to.plusDays(1).atStartOfDay();
+            categories = transactionRepository.sumByCategoryAndType(user, start, end);
+        }
+
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpenses = BigDecimal.ZERO;
+        long count = 0;
+        for (CategoryTotal category : categories) {
+            if (category.getTransactionType() == Transaction.TransactionType.INCOME)
+                totalIncome = totalIncome.add(category.getTotal());
+            else
+                totalExpenses = totalExpenses.add(category.getTotal());
+            count += category.getCount();
+        }
+
+        return TransactionSummary.builder()
+                .from(from)
+                .to(to)
+                .totalIncome(totalIncome)
+                .totalExpenses(totalExpenses)
+                .balance(totalIncome.subtract(totalExpenses))
+                .transactionCount(count)
+                .categories(categories)
+                .build();
     }
 
+    /**
+     * Streams every transaction of a user to the consumer, row by row off a JDBC cursor.
+     * The rows are read only views, nothing is kept in the persistence context, so memory stays flat for any number of rows.
+     *
+     * @param user the user who owns the transactions
+     * @param consumer receives each transaction in (date, id) descending order
+     */
+    @Transactional(readOnly = true)
+    public void streamTransactionsByUser(User user, Consumer<TransactionView> consumer) {
+        logger.info("Streaming all transactions for user: {}", user.getUsername());
+        try (Stream<TransactionView> transactions = transactionRepository.streamByUser(user)) {
+            transactions.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Transaction getTransactionByIdAndUser(Long id, User user) {
         return transactionRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new TransactionNotFoundException(
                         "Transaction not found or you don't have permission to access it"));
     }
 
+    /**
+     * Replaces a transaction, retried on a version conflict.
+     * Without the version two concurrent edits would both take the same old values out of the rollup
+     *
+     * @param id the transaction to replace
+     * @param transaction the new values
+     * @param user the owner
+     * @return a Success Message if Updated
+     * @throws ConcurrentUpdateException if the transaction kept changing on every attempt
+     */
     public String updateTransaction(Long id, Transaction transaction, User user) {
         validateTransaction(transaction);
+        return optimisticRetry.run("updateTransaction", () -> applyTransactionUpdate(id, transaction, user));
+    }
+
+    // one attempt of updateTransaction, reads the current row and overwrites it
+    private String applyTransactionUpdate(Long id, Transaction transaction, User user) {
         Transaction existingTransaction = getTransactionByIdAndUser(id, user);
+        // take the old values out of the rollup before they are overwritten
+        rollupService.remove(existingTransaction);
 
         existingTransaction.setDescription(transaction.getDescription());
         existingTransaction.setAmount(transaction.getAmount());
@@ -50,36 +220,104 @@ public class TransactionService {
         existingTransaction.setUser(user);
 
         transactionRepository.save(existingTransaction);
+        rollupService.add(existingTransaction);
+        publish(user, ChangeEvent.Action.UPDATED, id, TransactionView.of(existingTransaction));
         logger.info("Transaction updated for user: {}", user.getUsername());
         return "Transaction updated with ID: " + id;
     }
 
+    @Transactional
     public String deleteTransaction(Long id, User user) {
         Transaction transaction = getTransactionByIdAndUser(id, user);
+        rollupService.remove(transaction);
         transactionRepository.delete(transaction);
+        publish(user, ChangeEvent.Action.DELETED, id, null);
         logger.info("Transaction deleted for user: {}", user.getUsername());
         return "Transaction deleted with ID: " + id;
     }
 
-    private void validateTransaction(Transaction transaction) {
-        logger.info("Validating transaction......");
+    // sent to the user's event streams once the transaction commits
+    private void publish(User user, ChangeEvent.Action action, Long id, TransactionView data) {
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), ChangeEvent.Resource.TRANSACTION, action, id, data));
+    }
+
+    // rows holds up to pageSize + 1 rows, the extra one only tells there is another page
+    private TransactionPage toPage(List<TransactionView> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionView> transactions = hasMore ? rows.subList(0, pageSize) : rows;
 
-        if (transaction.getAmount().compareTo(BigDecimal.ZERO) <= 0)
-            throw new ValidationException("Amount must be greater than zero");
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionView last = transactions.get(transactions.size() - 1);
+            nextCursor = CursorUtil.encode(last.date(), last.id());
+        }
+        return new TransactionPage(transactions, nextCursor, hasMore);
+    }
+
+    /**
+     * Checks the filter ranges and drops the filters that ask for nothing
+     * (blank categories or description prefix, an empty category list)
+     *
+     * @param filter the filter as the client sent it
+     * @return the filter to query with
+     * @throws ValidationException if a range is reversed, an amount is negative or there are too many categories
+     */
+    private TransactionFilter validateFilter(TransactionFilter filter) {
+        if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to()))
+            throw new ValidationException("Start date must not be after end date");
+        if (filter.minAmount() != null)
+            ValidatingUtil.requireNotNegative(filter.minAmount(), "Minimum amount cannot be negative");
+        if (filter.maxAmount() != null)
+            ValidatingUtil.requireNotNegative(filter.maxAmount(), "Maximum amount cannot be negative");
+        if (filter.minAmount() != null && filter.maxAmount() != null && filter.minAmount().compareTo(filter.maxAmount()) > 0)
+            throw new ValidationException("Minimum amount must not be more than maximum amount");
+
+        List<String> categories = null;
+        if (filter.categories() != null) {
+            categories = filter.categories().stream()
+                    .filter(category -> !ValidatingUtil.isBlank(category))
+                    .distinct()
+                    .toList();
+            if (categories.size() > MAX_FILTER_CATEGORIES)
+                throw new ValidationException("At most " + MAX_FILTER_CATEGORIES + " categories can be filtered on");
+        }
+        String prefix = ValidatingUtil.isBlank(filter.descriptionPrefix()) ? null : filter.descriptionPrefix();
 
-        if (transaction.getDescription() == null || transaction.getDescription().trim().isEmpty())
-            throw new ValidationException("Description cannot be empty");
+        return new TransactionFilter(filter.from(), filter.to(), filter.type(),
+                categories == null || categories.isEmpty() ? null : categories,
+                filter.minAmount(), filter.maxAmount(), prefix);
+    }
 
-        if (transaction.getTransactionType() == null)
-            throw new ValidationException("Transaction Type cannot be empty");
+    // true when the range starts on the first and ends on the last day of a month (open ends count)
+    private boolean isWholeMonths(LocalDate from, LocalDate to) {
+        return (from == null || from.getDayOfMonth() == 1)
+                && (to == null || to.getDayOfMonth() == to.lengthOfMonth());
+    }
 
-        if (transaction.getCategory() == null || transaction.getCategory().trim().isEmpty())
-            throw new ValidationException("Category cannot be empty");
+    private int resolvePageSize(Integer size) {
+        if (size == null)
+            return DEFAULT_PAGE_SIZE;
+        if (size <= 0)
+            throw new ValidationException("Page size must be greater than zero");
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
 
-        if (transaction.getDate() == null)
-            throw new ValidationException("Date is a Required Field");
+    /**
+     * Checks a transaction has every required field and a positive amount.
+     * Shared by single creates/updates and the bulk importers.
+     *
+     * @param transaction the transaction to check
+     * @throws ValidationException naming the first field that is invalid
+     */
+    public void validateTransaction(Transaction transaction) {
+        // debug level, the importers validate thousands of rows per request
+        logger.debug("Validating transaction......");
 
-        if (transaction.getUser() == null)
-            throw new ValidationException("User is required");
+        ValidatingUtil.requirePositive(transaction.getAmount(), "Amount must be greater than zero");
+        ValidatingUtil.requireNotBlank(transaction.getDescription(), "Description cannot be empty");
+        ValidatingUtil.requireNonNull(transaction.getTransactionType(), "Transaction Type cannot be empty");
+        ValidatingUtil.requireNotBlank(transaction.getCategory(), "Category cannot be empty");
+        ValidatingUtil.requireNonNull(transaction.getDate(), "Date is a Required Field");
+        ValidatingUtil.requireNonNull(transaction.getUser(), "User is required");
     }
 }
\ No newline at end of file
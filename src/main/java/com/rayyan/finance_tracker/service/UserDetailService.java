@@ -7,6 +7,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,15 +24,15 @@ public class UserDetailService implements UserDetailsService {
      * @throws UsernameNotFoundException if the username is not found
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .or(() -> userRepository.findByEmail(username)) // allow login with email as well 
+        return userRepository.findByLogin(username) // allow login with email as well, in the same query
                 .orElseThrow(() -> new UsernameNotFoundException("Username Not Found: "+username));
     }
 
+    @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .or(()-> userRepository.findByEmail(username)) // allow login with email as well
+        return userRepository.findByLogin(username) // allow login with email as well, in the same query
                 .orElseThrow(() -> new UsernameNotFoundException("Username Not Found: "+username));
     }
 }
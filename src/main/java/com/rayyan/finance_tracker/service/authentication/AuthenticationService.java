@@ -11,20 +11,26 @@ import com.rayyan.finance_tracker.service.jwt.JwtService;
 import com.rayyan.finance_tracker.utils.ValidatingUtil;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import static com.rayyan.finance_tracker.constants.Constants.*;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
 
+    // the unique constraints of the users table (V1 baseline schema)
+    private static final String USERNAME_CONSTRAINT = "uk_users_username";
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
@@ -44,18 +50,14 @@ public class AuthenticationService {
                 .role(User.Role.USER) // default role for a user
                 .build();
 
-        // save the user into the database
-        // check for duplicates before saving to produce clearer validation errors
-        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
-            throw new DuplicateCredentialsException("Username already exists");
-        }
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            throw new DuplicateCredentialsException("Email already exists");
+        // save the user into the database, the unique constraints on username and email are the duplicate check
+        // so a registration is a single insert and two concurrent sign ups with the same details can't both pass
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateCredentials(e);
         }
 
-
-        userRepository.save(user);
-
         // generate the token
         var jwtToken = jwtService.generateToken(user);
 
@@ -68,21 +70,40 @@ public class AuthenticationService {
         isValidRequestForAuth(request.getUsername(), request.getPassword());
 
         // code for authenticating an existing account
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(), // can be used as email as well
                         request.getPassword()));
 
-        // get the User from the database (allow login with email as well)
-        var user = userRepository.findByUsername(request.getUsername())
-                .or(() -> userRepository.findByEmail(request.getUsername()))
-                .orElseThrow(() -> new ValidationException("User not found"));
+        // the provider already loaded the User to check the password, only look it up again if it isn't there
+        var user = authentication != null && authentication.getPrincipal() instanceof User principal
+                ? principal
+                : userRepository.findByLogin(request.getUsername()) // allow login with email as well
+                        .orElseThrow(() -> new ValidationException("User not found"));
 
         // generate a new jwt token for that user
         var jwtToken = jwtService.generateToken(user);
         return new AuthenticationResponse(jwtToken);
     }
 
+    /**
+     * Works out which credential clashed after the insert was rejected, only runs on the failure path.
+     * The driver's message names the violated constraint (H2 and MySQL both do)
+     *
+     * @param e the exception the insert failed with
+     * @return a DuplicateCredentialsException when the username or email unique constraint was violated,
+     *         e unchanged for any other constraint violation
+     */
+    private RuntimeException duplicateCredentials(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        message = message == null ? "" : message.toLowerCase(Locale.ROOT);
+        if (message.contains(USERNAME_CONSTRAINT))
+            return new DuplicateCredentialsException("Username already exists");
+        if (message.contains(EMAIL_CONSTRAINT))
+            return new DuplicateCredentialsException("Email already exists");
+        return e;
+    }
+
     // ----------------------- Validation Request Check ---------------------------
 
     /**
@@ -94,27 +115,26 @@ public class AuthenticationService {
      * @throws ValidationException if validation fails
      */
     private void isValidRequestForAuth(String usernameORemail, String password) {
-        List<String> exceptions = new ArrayList<>();
+        List<String> exceptions = null; // only allocated once a check fails
 
         // check if the entered credentials are not null OR empty
-        ValidatingUtil.checkIsEmpty(usernameORemail, "Username/Email", exceptions);
-        ValidatingUtil.checkIsEmpty(password, "Password", exceptions);
+        exceptions = ValidatingUtil.checkIsEmpty(usernameORemail, "Username/Email", exceptions);
+        exceptions = ValidatingUtil.checkIsEmpty(password, "Password", exceptions);
         // check the length of the username/email and password
         // Decide whether the supplied identifier is an email or a username
         boolean looksLikeEmail = usernameORemail != null && usernameORemail.contains("@");
         if (looksLikeEmail) {
-            ValidatingUtil.checkMinLength(usernameORemail, "Email", MIN_EMAIL_LENGTH, exceptions);
-            ValidatingUtil.checkMaxLength(usernameORemail, "Email", MAX_EMAIL_LENGTH, exceptions);
+            exceptions = ValidatingUtil.checkMinLength(usernameORemail, "Email", MIN_EMAIL_LENGTH, exceptions);
+            exceptions = ValidatingUtil.checkMaxLength(usernameORemail, "Email", MAX_EMAIL_LENGTH, exceptions);
             // also check email format
-            ValidatingUtil.checkEmailFormat(usernameORemail, "Email", exceptions);
+            exceptions = ValidatingUtil.checkEmailFormat(usernameORemail, "Email", exceptions);
         } else {
-            ValidatingUtil.checkMinLength(usernameORemail, "Username", MIN_USERNAME_LENGTH, exceptions);
-            ValidatingUtil.checkMaxLength(usernameORemail, "Username", MAX_USERNAME_LENGTH, exceptions);
+            exceptions = ValidatingUtil.checkMinLength(usernameORemail, "Username", MIN_USERNAME_LENGTH, exceptions);
+            exceptions = ValidatingUtil.checkMaxLength(usernameORemail, "Username", MAX_USERNAME_LENGTH, exceptions);
         }
-        ValidatingUtil.checkMinLength(password, "Password", MIN_PASSWORD_LENGTH, exceptions);
+        exceptions = ValidatingUtil.checkMinLength(password, "Password", MIN_PASSWORD_LENGTH, exceptions);
         // check the length of the password IF EXCEEDS
-        ValidatingUtil.checkMaxLength(password, "Password", MAX_PASSWORD_LENGTH, exceptions);
-        ValidatingUtil.checkMaxLength(password, "Password", MAX_PASSWORD_LENGTH, exceptions);
+        exceptions = ValidatingUtil.checkMaxLength(password, "Password", MAX_PASSWORD_LENGTH, exceptions);
 
         // throw the ValidationException if any errors exists
         ValidatingUtil.throwIfExists(exceptions);
@@ -130,23 +150,23 @@ public class AuthenticationService {
      * @throws ValidationException if validation fails
      */
     private void isValidRequestForRegister(String username, String email, String password) {
-        List<String> exceptions = new ArrayList<>(); // holds all exceptions, if it gets any
+        List<String> exceptions = null; // holds all exceptions, only allocated once a check fails
 
         // check if the entered credentials are not null OR empty
-        ValidatingUtil.checkIsEmpty(username, "Username", exceptions);
-        ValidatingUtil.checkIsEmpty(password, "Password", exceptions);
-        ValidatingUtil.checkIsEmpty(email, "Email", exceptions);
+        exceptions = ValidatingUtil.checkIsEmpty(username, "Username", exceptions);
+        exceptions = ValidatingUtil.checkIsEmpty(password, "Password", exceptions);
+        exceptions = ValidatingUtil.checkIsEmpty(email, "Email", exceptions);
         // check the length of the username and password
-        ValidatingUtil.checkMinLength(username, "Username", MIN_USERNAME_LENGTH, exceptions);
-        ValidatingUtil.checkMinLength(password, "Password", MIN_PASSWORD_LENGTH, exceptions);
-        ValidatingUtil.checkMinLength(email, "Email", MIN_EMAIL_LENGTH, exceptions);
+        exceptions = ValidatingUtil.checkMinLength(username, "Username", MIN_USERNAME_LENGTH, exceptions);
+        exceptions = ValidatingUtil.checkMinLength(password, "Password", MIN_PASSWORD_LENGTH, exceptions);
+        exceptions = ValidatingUtil.checkMinLength(email, "Email", MIN_EMAIL_LENGTH, exceptions);
         // check the length of the username and password IF EXCEEDS
-        ValidatingUtil.checkMaxLength(username, "Username", MAX_USERNAME_LENGTH, exceptions);
-        ValidatingUtil.checkMaxLength(password, "Password", MAX_PASSWORD_LENGTH, exceptions);
-        ValidatingUtil.checkMaxLength(email, "Email", MAX_EMAIL_LENGTH, exceptions);
+        exceptions = ValidatingUtil.checkMaxLength(username, "Username", MAX_USERNAME_LENGTH, exceptions);
+        exceptions = ValidatingUtil.checkMaxLength(password, "Password", MAX_PASSWORD_LENGTH, exceptions);
+        exceptions = ValidatingUtil.checkMaxLength(email, "Email", MAX_EMAIL_LENGTH, exceptions);
 
         // Special check for email
-        ValidatingUtil.checkEmailFormat(email, "Email", exceptions);
+        exceptions = ValidatingUtil.checkEmailFormat(email, "Email", exceptions);
         // throw the ValidationException if any errors exists
         ValidatingUtil.throwIfExists(exceptions);
     }
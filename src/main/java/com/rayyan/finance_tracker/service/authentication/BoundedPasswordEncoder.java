@@ -0,0 +1,137 @@
+package com.rayyan.finance_tracker.service.authentication;
+
+import com.rayyan.finance_tracker.exceptions.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Runs every BCrypt encode/matches on a small fixed pool with a bounded queue.
+ * The pool is the admission control for password hashing: a login storm can keep at most
+ * threads + queue hashes in flight, anything beyond that is rejected straight away with a
+ * ServerBusyException (429) instead of tying up a request thread for the length of the queue.
+ * Pool usage is published as "executor.*" metrics with name=passwordHashing.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    // hashes older than this cost are never written, calibration never goes below the Spring default
+    public static final int MIN_CALIBRATED_STRENGTH = 10;
+    public static final int MAX_CALIBRATED_STRENGTH = 16;
+
+    private static final String CALIBRATION_PASSWORD = "calibration-Password-1";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "passwordHashing", Tags.empty()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashes rejected because the hashing pool was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // cheap, only reads the cost out of the stored hash
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the hashing threads, called by Spring when the context closes
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Finds the highest BCrypt cost whose hash still takes no longer than the target on this machine.
+     * Every extra cost point doubles the time, so it stops as soon as the next one would go over.
+     *
+     * @param target the longest a single hash may take
+     * @return a strength between MIN_CALIBRATED_STRENGTH and MAX_CALIBRATED_STRENGTH
+     */
+    public static int calibrate(Duration target) {
+        long targetNanos = target.toNanos();
+        // the first hash pays for class loading and JIT, it is not measured
+        new BCryptPasswordEncoder(MIN_CALIBRATED_STRENGTH).encode(CALIBRATION_PASSWORD);
+
+        int strength = MIN_CALIBRATED_STRENGTH;
+        long nanos = time(strength);
+        while (strength < MAX_CALIBRATED_STRENGTH && nanos * 2 <= targetNanos) {
+            strength++;
+            nanos = time(strength);
+        }
+        log.info("BCrypt strength calibrated to {} ({} ms per hash, target {} ms)",
+                strength, TimeUnit.NANOSECONDS.toMillis(nanos), target.toMillis());
+        return strength;
+    }
+
+    private static long time(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+        return System.nanoTime() - start;
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServerBusyException("Too many sign in attempts at the moment, please retry shortly");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServerBusyException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.rayyan.finance_tracker.service.authentication;
+
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.repository.UserRepository;
+import com.rayyan.finance_tracker.service.cache.PrincipalCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ * Rehashes a password on a successful login when its stored BCrypt cost is below the current one.
+ * Called by the DaoAuthenticationProvider with the freshly encoded password, so raising
+ * application.security.password.strength moves users over one login at a time.
+ */
+@Service
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordUpgradeService.class);
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+
+    public PasswordUpgradeService(UserRepository userRepository, PrincipalCache principalCache) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        principalCache.invalidate(user.getUsername());
+        log.info("Rehashed password of {} with the current BCrypt strength", user.getUsername());
+
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+            return entity;
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.rayyan.finance_tracker.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * In memory version of every user's transaction and savings collections, used as the ETag of the
+ * collection endpoints. A request with a matching If-None-Match gets a 304 without touching the database.
+ *
+ * Every write through the services publishes a ChangeEvent, the version is bumped once it commits.
+ * Versions come from one counter that is never reused: a user whose entry was evicted (or who has not
+ * written since startup) gets a new value, never one an earlier response was tagged with. The tags also
+ * carry the startup time, so a restart invalidates them all. Writes made on another instance are not seen.
+ */
+@Service
+public class CollectionVersions {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong counter = new AtomicLong();
+    private final Cache<VersionKey, Long> versions;
+
+    public CollectionVersions(@Value("${application.etag.max-entries:100000}") long maxEntries) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Tags the response with the collection's ETag and checks the request's If-None-Match against it.
+     * The response may be cached by the browser only (private) and is revalidated on every use (no-cache)
+     *
+     * @param user the owner of the collection
+     * @param resource the collection the endpoint returns
+     * @param request the current request
+     * @return true if the client's copy is current, the response is then a 304 and the endpoint returns null
+     */
+    public boolean checkNotModified(User user, ChangeEvent.Resource resource, ServletWebRequest request) {
+        if (request.getResponse() != null)
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return request.checkNotModified(etag(user.getId(), resource));
+    }
+
+    /**
+     * @param userId the owner of the collection
+     * @param resource the collection
+     * @return the ETag of the collection as it is now. Weak: it names a version of the data, not the bytes,
+     *         and Tomcat does not gzip a response with a strong ETag
+     */
+    public String etag(Long userId, ChangeEvent.Resource resource) {
+        long version = versions.get(new VersionKey(userId, resource), key -> counter.incrementAndGet());
+        return "W/\"" + resource.name().toLowerCase() + '-' + epoch + '-' + version + '"';
+    }
+
+    /**
+     * Moves the collection to a new version once the change commits.
+     * Runs before the change is pushed to the event streams, so a client that reloads on the push never
+     * revalidates against the old version
+     *
+     * @param event the committed change
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        versions.put(new VersionKey(event.userId(), event.resource()), counter.incrementAndGet());
+    }
+
+    private record VersionKey(Long userId, ChangeEvent.Resource resource) {
+    }
+}
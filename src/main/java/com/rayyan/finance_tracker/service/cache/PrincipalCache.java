@@ -0,0 +1,79 @@
+package com.rayyan.finance_tracker.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.UserDetailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/*
+ * Bounded, TTL evicting cache of authenticated users keyed by the JWT subject (username).
+ * Lets the JWT filter resolve the principal without hitting the database on every request.
+ * Hit/miss/eviction counts are published as "cache.*" metrics with cache=principalCache.
+ */
+@Service
+public class PrincipalCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PrincipalCache.class);
+
+    private final UserDetailService userDetailService;
+    private final Cache<String, User> cache;
+
+    public PrincipalCache(UserDetailService userDetailService,
+                          MeterRegistry meterRegistry,
+                          @Value("${application.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${application.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userDetailService = userDetailService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principalCache");
+    }
+
+    /**
+     * Gets the user for a token subject, loading it from the database on a miss
+     *
+     * @param subject the username stored in the JWT subject
+     * @return the cached or freshly loaded user
+     * @throws UsernameNotFoundException if no user exists for the subject
+     */
+    public User getUser(String subject) {
+        User user = cache.getIfPresent(subject);
+        if (user != null)
+            return user;
+        // loaded outside the cache: cache.get(key, loader) runs the loader inside a ConcurrentHashMap bin lock,
+        // which pins a virtual thread to its carrier for the whole database call
+        user = userDetailService.getUserByUsername(subject);
+        cache.put(subject, user);
+        return user;
+    }
+
+    /**
+     * Drops a single user from the cache.
+     * Must be called whenever a user's password, role or username changes.
+     *
+     * @param subject the username to evict
+     */
+    public void invalidate(String subject) {
+        log.info("Evicting cached principal: {}", subject);
+        cache.invalidate(subject);
+    }
+
+    /**
+     * Drops every cached user (EG: after a bulk role change)
+     */
+    public void invalidateAll() {
+        log.info("Evicting all cached principals");
+        cache.invalidateAll();
+    }
+}
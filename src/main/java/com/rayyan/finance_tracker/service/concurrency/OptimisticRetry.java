@@ -0,0 +1,92 @@
+package com.rayyan.finance_tracker.service.concurrency;
+
+import com.rayyan.finance_tracker.exceptions.ConcurrentUpdateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/*
+ * Runs a read-modify-write in its own transaction and runs it again when the commit loses an
+ * optimistic lock (the @Version of a row changed since it was read), with exponential backoff and full jitter.
+ * The work must re-read what it changes, every attempt starts from the current rows.
+ * Published per operation: "optimistic.lock.attempts", "optimistic.lock.conflicts" (conflict rate is
+ * conflicts / attempts) and "optimistic.lock.retries".
+ */
+@Component
+public class OptimisticRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${application.concurrency.retry.max-attempts:3}") int maxAttempts,
+                           @Value("${application.concurrency.retry.backoff:20ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoff.toMillis();
+    }
+
+    /**
+     * Runs the work until it commits without a version conflict
+     *
+     * @param operation name of the operation, used as the metric tag
+     * @param work the read-modify-write, runs once per attempt
+     * @return what the successful attempt returned
+     * @throws ConcurrentUpdateException if every attempt lost to a concurrent edit
+     */
+    public <T> T run(String operation, Supplier<T> work) {
+        // inside a caller's transaction a conflict rolls back the whole transaction, so there is nothing to retry
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            return work.get();
+
+        for (int attempt = 1; ; attempt++) {
+            counter("optimistic.lock.attempts", operation).increment();
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                counter("optimistic.lock.conflicts", operation).increment();
+                if (attempt >= maxAttempts) {
+                    throw new ConcurrentUpdateException("The record was changed by another request, " +
+                            "please reload it and try again");
+                }
+                counter("optimistic.lock.retries", operation).increment();
+                log.info("Version conflict in {}, retrying (attempt {} of {})", operation, attempt + 1, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+
+    // full jitter: a random wait up to backoff * 2^(attempt - 1), so the losers don't collide again in step
+    private void backoff(int attempt) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+        if (ceiling <= 0)
+            return;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while waiting to retry a concurrent update");
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name).tag("operation", operation).register(meterRegistry);
+    }
+}
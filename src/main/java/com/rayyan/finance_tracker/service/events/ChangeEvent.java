@@ -0,0 +1,24 @@
+package com.rayyan.finance_tracker.service.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A change to one of a user's transactions or savings goals, pushed to that user's open event streams.
+ * Only the delta is sent, the client decides what to re-query.
+ *
+ * @param userId the owner, used for routing and never sent
+ * @param resource what changed
+ * @param action how it changed
+ * @param id the changed row, null for a bulk import
+ * @param data the new values (a view row, a balance or an import count), null for a delete
+ */
+public record ChangeEvent(@JsonIgnore Long userId, Resource resource, Action action, Long id, Object data) {
+
+    public enum Resource {
+        TRANSACTION, SAVINGS
+    }
+
+    public enum Action {
+        CREATED, UPDATED, DELETED, DEPOSIT, WITHDRAW, IMPORTED
+    }
+}
@@ -0,0 +1,288 @@
+package com.rayyan.finance_tracker.service.events;
+
+import com.rayyan.finance_tracker.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * Per user Server-Sent Events streams that replace the dashboard's polling.
+ *
+ * An open stream is an async servlet request: no thread is held while it is idle, only the SseEmitter.
+ * Services publish a ChangeEvent, it is sent once the transaction commits (a rolled back write is never
+ * announced). Every stream has its own queue of events drained by one task at a time on the sender pool,
+ * so neither the request that made the change nor the heartbeat ever write to a client. A client that
+ * stopped reading blocks only its own stream's task: once a send has taken longer than write-timeout, or
+ * more than queue-capacity events wait for it, the stream is dropped and gets nothing more. Its thread is
+ * freed when the servlet container gives up on the write (server.tomcat.connection-timeout), until then
+ * the pool grows up to sender-threads so the other streams keep going.
+ * Streams only reach clients connected to this instance.
+ *
+ * Open streams are published as "events.connections", pool usage as "executor.*" with name=changeEvents.
+ */
+@Service
+public class ChangeEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventStream.class);
+
+    private final Map<Long, Queue<Stream>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+    private final Counter dropped;
+    private final Counter stalled;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final int maxPerUser;
+    private final int queueCapacity;
+
+    public ChangeEventStream(MeterRegistry meterRegistry,
+                             @Value("${application.events.timeout:30m}") Duration timeout,
+                             @Value("${application.events.write-timeout:10s}") Duration writeTimeout,
+                             @Value("${application.events.max-streams-per-user:10}") int maxPerUser,
+                             @Value("${application.events.queue-capacity:100}") int queueCapacity,
+                             @Value("${application.events.sender-threads:16}") int senderThreads) {
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.maxPerUser = maxPerUser;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // no queue in front of the threads, the events wait in their stream's queue
+        this.executor = new ThreadPoolExecutor(2, Math.max(2, senderThreads), 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "change-events-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "changeEvents", Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder("events.connections", connections, AtomicInteger::get)
+                .description("Open change event streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("events.dropped")
+                .description("Streams closed because their send queue was full or no sender was free")
+                .register(meterRegistry);
+        this.stalled = Counter.builder("events.stalled")
+                .description("Streams dropped because a send took longer than the write timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for a user. The oldest stream of the user is closed when they already have the maximum open
+     *
+     * @param user the authenticated user
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(User user) {
+        Stream stream = new Stream(user.getId(), newEmitter(timeoutMillis));
+        // added and removed inside compute, so a stream is never added to a queue that was just dropped from the map
+        Queue<Stream> userStreams = streams.compute(user.getId(), (id, queue) -> {
+            Queue<Stream> userQueue = queue == null ? new ConcurrentLinkedQueue<>() : queue;
+            userQueue.add(stream);
+            return userQueue;
+        });
+        connections.incrementAndGet();
+
+        SseEmitter emitter = stream.emitter;
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(stream));
+
+        while (userStreams.size() > maxPerUser) {
+            Stream oldest = userStreams.peek();
+            if (oldest == null || oldest == stream)
+                break;
+            remove(oldest);
+            oldest.close();
+        }
+
+        // tells the client it is connected, so it can load once and then wait for changes
+        stream.offer(() -> SseEmitter.event().name("connected").data(""));
+        log.info("Change event stream opened for user: {}", user.getUsername());
+        return emitter;
+    }
+
+    /**
+     * Sends a change to the owner's streams once the publishing transaction has committed,
+     * or straight away when it was published outside a transaction
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ChangeEvent event) {
+        Queue<Stream> userStreams = streams.get(event.userId());
+        if (userStreams == null)
+            return;
+        String name = event.resource().name().toLowerCase();
+        for (Stream stream : userStreams)
+            stream.offer(() -> SseEmitter.event().name(name).data(event, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Queues a comment line on every stream, keeps proxies from closing idle streams and finds the clients
+     * that went away without closing theirs. Streams stuck in a send for longer than the write timeout are dropped
+     */
+    @Scheduled(fixedDelayString = "${application.events.heartbeat:25s}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        streams.values().forEach(userStreams -> userStreams.forEach(stream -> {
+            if (stream.stalled(now)) {
+                stalled.increment();
+                log.warn("Change event stream of user id: {} stopped reading, dropping it", stream.userId);
+                remove(stream);
+                stream.close();
+                return;
+            }
+            stream.offer(() -> SseEmitter.event().comment("heartbeat"));
+        }));
+    }
+
+    /**
+     * @return the number of open streams on this instance
+     */
+    public int openStreams() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.values().forEach(userStreams -> userStreams.forEach(Stream::close));
+        executor.shutdown();
+    }
+
+    // the emitter of a new stream, the tests replace it with one that stands in for a client
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void remove(Stream stream) {
+        streams.computeIfPresent(stream.userId, (id, userStreams) -> {
+            if (userStreams.remove(stream))
+                connections.decrementAndGet();
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    /*
+     * One client connection. Events are queued and sent by a single task at a time, in order, so only that
+     * task ever touches the emitter (a send holds the emitter's lock, completing it from elsewhere would wait
+     * behind a stalled send). An event builder can only be built once, so the queue holds how to make one.
+     */
+    private final class Stream implements Runnable {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closing;
+        private volatile boolean done;
+        private volatile long sendingSince;
+
+        private Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closing)
+                return;
+            if (size.incrementAndGet() > queueCapacity) {
+                // the client would miss this change, closing the stream makes it reconnect and reload everything
+                dropped.increment();
+                log.warn("Change event stream of user id: {} is too far behind, closing it", userId);
+                remove(this);
+                close();
+                return;
+            }
+            pending.add(event);
+            schedule();
+        }
+
+        // completed by the sending task once it gets to it, never from the caller's thread
+        private void close() {
+            closing = true;
+            schedule();
+        }
+
+        private boolean stalled(long now) {
+            long since = sendingSince;
+            return since != 0 && now - since > writeTimeoutNanos;
+        }
+
+        private void schedule() {
+            if (done || !scheduled.compareAndSet(false, true))
+                return;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // every sender is busy, nothing is sending on this stream so it can be closed right here
+                dropped.increment();
+                log.warn("No change event sender free, closing a stream of user id: {}", userId);
+                remove(this);
+                closing = true;
+                done = true;
+                emitter.complete();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while (!closing && (event = pending.poll()) != null) {
+                    size.decrementAndGet();
+                    sendingSince = System.nanoTime();
+                    send(event.get());
+                    sendingSince = 0;
+                }
+                if (closing && !done) {
+                    done = true;
+                    pending.clear();
+                    emitter.complete();
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // an event or a close that arrived after the loop ended but before the flag was cleared
+            if (!done && (closing || !pending.isEmpty()))
+                schedule();
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // the client is gone or the stream already completed, the error callback removes it
+                closing = true;
+                done = true;
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
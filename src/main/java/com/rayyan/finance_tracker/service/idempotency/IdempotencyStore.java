@@ -0,0 +1,153 @@
+package com.rayyan.finance_tracker.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Responses of requests made with an Idempotency-Key, kept for a TTL so a retried request gets the
+ * first result back instead of running again. Keys are scoped per user.
+ *
+ * The in-memory tier is a bounded Caffeine cache ("cache.*" metrics with cache=idempotencyCache).
+ * With application.idempotency.database-tier=true every response is also written to the
+ * idempotency_keys table, so replays survive a restart and reach any instance; a memory miss falls
+ * back to it. Requests still running are tracked per instance only.
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final String INSERT_SQL = "INSERT INTO idempotency_keys " +
+            "(username, idempotency_key, request_hash, status, content_type, body, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT request_hash, status, content_type, body, created_at " +
+            "FROM idempotency_keys WHERE username = ? AND idempotency_key = ? AND created_at > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean databaseTier;
+    private final Duration ttl;
+    private final Cache<ScopedKey, IdempotentResponse> cache;
+    private final Set<ScopedKey> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${application.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${application.idempotency.max-entries:100000}") long maxEntries,
+                            @Value("${application.idempotency.database-tier:false}") boolean databaseTier) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseTier = databaseTier;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotencyCache");
+    }
+
+    /**
+     * Gets the stored response for a key
+     *
+     * @param username the owner of the key
+     * @param key the Idempotency-Key header
+     * @return the response, null if the key was not used within the TTL
+     */
+    public IdempotentResponse find(String username, String key) {
+        ScopedKey scopedKey = scopedKey(username, key);
+        IdempotentResponse response = cache.getIfPresent(scopedKey);
+        if (response != null || !databaseTier)
+            return response;
+
+        List<IdempotentResponse> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new IdempotentResponse(
+                        rs.getBytes("request_hash"), rs.getInt("status"), rs.getString("content_type"),
+                        rs.getBytes("body"), rs.getTimestamp("created_at").toLocalDateTime()),
+                username, key, Timestamp.valueOf(LocalDateTime.now().minus(ttl)));
+        if (rows.isEmpty())
+            return null;
+        cache.put(scopedKey, rows.get(0));
+        return rows.get(0);
+    }
+
+    /**
+     * Marks a key as running, a second request with the same key must not run alongside it
+     *
+     * @param username the owner of the key
+     * @param key the Idempotency-Key header
+     * @return false if a request with this key is already running
+     */
+    public boolean begin(String username, String key) {
+        return inFlight.add(scopedKey(username, key));
+    }
+
+    /**
+     * Stores the response of a finished request and releases the key
+     *
+     * @param username the owner of the key
+     * @param key the Idempotency-Key header
+     * @param response what the request returned
+     */
+    public void complete(String username, String key, IdempotentResponse response) {
+        ScopedKey scopedKey = scopedKey(username, key);
+        try {
+            cache.put(scopedKey, response);
+            if (databaseTier) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, username, key, response.requestHash(), response.status(),
+                            response.contentType(), response.body(), Timestamp.valueOf(response.createdAt()));
+                } catch (DuplicateKeyException e) {
+                    // another instance stored this key first, its row wins
+                    log.info("Idempotency key already stored by another instance: {}", key);
+                }
+            }
+        } finally {
+            inFlight.remove(scopedKey);
+        }
+    }
+
+    /**
+     * Releases a key without storing anything, the request can be retried with the same key
+     *
+     * @param username the owner of the key
+     * @param key the Idempotency-Key header
+     */
+    public void release(String username, String key) {
+        inFlight.remove(scopedKey(username, key));
+    }
+
+    /**
+     * Deletes database rows older than the TTL, memory entries expire on their own
+     *
+     * @return the number of rows deleted
+     */
+    @Scheduled(fixedDelayString = "${application.idempotency.purge-interval:1h}")
+    public int purgeExpired() {
+        if (!databaseTier)
+            return 0;
+        int deleted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at <= ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(ttl)));
+        log.info("Purged {} expired idempotency keys", deleted);
+        return deleted;
+    }
+
+    private ScopedKey scopedKey(String username, String key) {
+        return new ScopedKey(username, key);
+    }
+
+    private record ScopedKey(String username, String key) {
+    }
+}
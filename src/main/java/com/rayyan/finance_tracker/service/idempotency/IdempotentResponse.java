@@ -0,0 +1,21 @@
+package com.rayyan.finance_tracker.service.idempotency;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+
+/**
+ * The stored result of a request made with an Idempotency-Key
+ *
+ * @param requestHash SHA-256 of the method, path and body, a reused key must come with the same request
+ * @param status the HTTP status that was returned
+ * @param contentType the content type that was returned, null if there was none
+ * @param body the response body
+ * @param createdAt when the request completed
+ */
+public record IdempotentResponse(byte[] requestHash, int status, String contentType, byte[] body,
+                                 LocalDateTime createdAt) {
+
+    public boolean matches(byte[] otherRequestHash) {
+        return MessageDigest.isEqual(requestHash, otherRequestHash);
+    }
+}
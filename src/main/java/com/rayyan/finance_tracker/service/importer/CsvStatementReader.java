@@ -0,0 +1,94 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Minimal RFC 4180 reader: comma separated, fields may be double quoted, quotes are escaped
+ * by doubling them and quoted fields may span lines. Reads one record at a time so the
+ * input is never held in memory.
+ */
+public class CsvStatementReader implements Closeable {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private long recordLine;
+
+    public CsvStatementReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * Reads the next record, skipping blank lines
+     *
+     * @return the fields of the record, null at the end of the input
+     * @throws IOException if reading fails or a quoted field is never closed
+     */
+    public List<String> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null)
+                return null;
+            lineNumber++;
+        } while (line.isBlank());
+        recordLine = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted)
+                    break;
+                // quoted field continues on the next line
+                line = reader.readLine();
+                if (line == null)
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * @return the line the last record returned by next() started on (1 based)
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
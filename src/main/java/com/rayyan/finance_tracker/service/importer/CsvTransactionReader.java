@@ -0,0 +1,118 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * Maps the records of a CSV statement to transactions. The first line is a header naming the columns
+ * date, description, amount, type and category (any order, case insensitive).
+ * Dates are ISO (yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss), type is INCOME or EXPENSE.
+ */
+public class CsvTransactionReader implements StatementReader {
+
+    private static final List<String> CSV_COLUMNS = List.of("date", "description", "amount", "type", "category");
+
+    private final CsvStatementReader csv;
+    private final Map<String, Integer> columns;
+
+    /**
+     * Opens a CSV statement and reads its header
+     *
+     * @param reader the CSV content
+     * @throws ValidationException if the file is empty or the header is missing a column
+     * @throws IOException if the header cannot be read
+     */
+    public CsvTransactionReader(Reader reader) throws IOException {
+        this.csv = new CsvStatementReader(reader);
+        this.columns = readHeader(csv.next());
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        List<String> fields = csv.next();
+        if (fields == null)
+            return null;
+        try {
+            return StatementRow.of(csv.getRecordLine(), toTransaction(fields));
+        } catch (ValidationException e) {
+            return StatementRow.rejected(csv.getRecordLine(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        csv.close();
+    }
+
+    private static Map<String, Integer> readHeader(List<String> header) {
+        if (header == null)
+            throw new ValidationException("CSV file is empty");
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).toLowerCase(Locale.ROOT);
+            columns.put(name.equals("transactiontype") ? "type" : name, i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columns.containsKey(column))
+                throw new ValidationException("CSV header is missing the " + column + " column");
+        }
+        return columns;
+    }
+
+    private Transaction toTransaction(List<String> fields) {
+        Transaction transaction = new Transaction();
+        transaction.setDescription(field(fields, "description"));
+        transaction.setCategory(field(fields, "category"));
+        transaction.setDate(parseDate(field(fields, "date")));
+        transaction.setAmount(parseAmount(field(fields, "amount")));
+        transaction.setTransactionType(parseType(field(fields, "type")));
+        return transaction;
+    }
+
+    private String field(List<String> fields, String column) {
+        int index = columns.get(column);
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    static LocalDateTime parseDate(String value) {
+        if (value == null || value.isBlank())
+            return null; // reported by validateTransaction
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid date: " + value);
+        }
+    }
+
+    static BigDecimal parseAmount(String value) {
+        if (value == null || value.isBlank())
+            return null;
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid amount: " + value);
+        }
+    }
+
+    static Transaction.TransactionType parseType(String value) {
+        if (value == null || value.isBlank())
+            return null;
+        try {
+            return Transaction.TransactionType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid transaction type: " + value);
+        }
+    }
+}
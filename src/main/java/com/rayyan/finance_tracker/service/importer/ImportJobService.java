@@ -0,0 +1,226 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import com.rayyan.finance_tracker.entity.ImportJob;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ImportJobNotFoundException;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import com.rayyan.finance_tracker.repository.ImportJobRepository;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static com.rayyan.finance_tracker.constants.Constants.IMPORT_JOB_STALE_MINUTES;
+
+/*
+ * Chunked import of large CSV / OFX statements. The statement is pulled one row at a time and every
+ * CHUNK_SIZE rows are inserted and committed together with the job's progress, so memory stays bounded
+ * (one chunk) and reading never gets ahead of the database. If a chunk fails the job stops as FAILED with
+ * the position of the last committed row, and resuming it with the same file skips everything up to there.
+ * A chunk only commits from the position its run last committed, so if a stalled run is resumed elsewhere
+ * the old run stops at its next chunk instead of importing rows twice.
+ */
+@Service
+@AllArgsConstructor
+public class ImportJobService {
+
+    static final int CHUNK_SIZE = TransactionBatchWriter.BATCH_SIZE;
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final ImportJobRepository jobRepository;
+    private final TransactionImportService importService;
+    private final TransactionBatchWriter batchWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Starts an import job and runs it until the statement is read or a chunk fails.
+     * Progress can be polled with getJob while it runs.
+     *
+     * @param user the owner of the imported transactions
+     * @param fileName name of the uploaded file, used to guess the format when none is given
+     * @param format CSV or OFX, optional
+     * @param statement the statement content
+     * @return the job as it finished (COMPLETED or FAILED)
+     * @throws ValidationException if the format is not supported
+     */
+    public ImportJob start(User user, String fileName, String format, InputStream statement) {
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob job = jobRepository.save(ImportJob.builder()
+                .user(user)
+                .fileName(fileName)
+                .format(resolveFormat(fileName, format))
+                .status(ImportJob.Status.RUNNING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        logger.info("Started {} import job {} for user: {}", job.getFormat(), job.getId(), user.getUsername());
+        return run(user, job, statement);
+    }
+
+    /**
+     * Resumes a failed job with the same file, rows up to the committed position are skipped
+     *
+     * @param user the owner of the job
+     * @param id the job ID
+     * @param statement the same statement the job was started with
+     * @return the job as it finished (COMPLETED or FAILED)
+     * @throws ImportJobNotFoundException if the job does not exist or belongs to another user
+     * @throws ValidationException if the job completed or is still running
+     */
+    public ImportJob resume(User user, Long id, InputStream statement) {
+        ImportJob job = getJob(user, id);
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> jobRepository.claimForResume(id,
+                ImportJob.Status.RUNNING, ImportJob.Status.FAILED, now.minusMinutes(IMPORT_JOB_STALE_MINUTES), now));
+        if (claimed == null || claimed == 0)
+            throw new ValidationException("Import job " + id + " is " + job.getStatus() + " and cannot be resumed");
+        // a stalled run may have committed more chunks between the first read and the claim
+        job = getJob(user, id);
+
+        logger.info("Resuming import job {} after position {} for user: {}",
+                id, job.getCommittedPosition(), user.getUsername());
+        return run(user, job, statement);
+    }
+
+    /**
+     * Gets an import job of a user
+     *
+     * @param user the owner of the job
+     * @param id the job ID
+     * @return the job with its current progress
+     * @throws ImportJobNotFoundException if the job does not exist or belongs to another user
+     */
+    @Transactional(readOnly = true)
+    public ImportJob getJob(User user, Long id) {
+        return jobRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new ImportJobNotFoundException("Import job not found with ID: " + id));
+    }
+
+    /**
+     * @param user the owner of the jobs
+     * @return the user's most recent import jobs, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<ImportJob> getJobs(User user) {
+        return jobRepository.findTop20ByUserOrderByIdDesc(user);
+    }
+
+    private ImportJob run(User user, ImportJob job, InputStream statement) {
+        long committed = job.getCommittedPosition();
+        Chunk chunk = new Chunk();
+        try (StatementReader reader = open(job.getFormat(), statement)) {
+            StatementRow row;
+            while ((row = reader.next()) != null) {
+                if (row.position() <= committed)
+                    continue;
+                chunk.add(row, importService.validate(user, row));
+                if (chunk.read == CHUNK_SIZE) {
+                    committed = commit(user, job, committed, chunk);
+                    chunk = new Chunk();
+                }
+            }
+            commit(user, job, committed, chunk);
+            finish(job, ImportJob.Status.COMPLETED, null);
+        } catch (OptimisticLockingFailureException e) {
+            // the job belongs to the run that moved it, that run finishes it
+            logger.warn("Import job {} was taken over by another run, stopped after position {}", job.getId(), committed);
+        } catch (ValidationException e) {
+            finish(job, ImportJob.Status.FAILED, e.getMessage());
+        } catch (IOException e) {
+            finish(job, ImportJob.Status.FAILED, "Could not read statement: " + e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Import job {} failed to save a chunk", job.getId(), e);
+            finish(job, ImportJob.Status.FAILED, "Could not save rows after the last committed position: "
+                    + e.getMessage());
+        }
+        return jobRepository.findById(job.getId()).orElseThrow();
+    }
+
+    // Inserts a chunk and moves the job forward from the committed position in one transaction, either both
+    // happen or neither. Returns the new committed position
+    private long commit(User user, ImportJob job, long committed, Chunk chunk) {
+        if (chunk.read == 0)
+            return committed;
+        transactionTemplate.executeWithoutResult(status -> {
+            int imported = batchWriter.insert(user, chunk.transactions);
+            int updated = jobRepository.recordProgress(job.getId(), committed, chunk.lastPosition, chunk.read,
+                    imported, chunk.rejected, chunk.firstRejection, LocalDateTime.now());
+            // thrown inside the transaction so the chunk's rows are rolled back with it
+            if (updated == 0)
+                throw new OptimisticLockingFailureException("Import job " + job.getId() +
+                        " is no longer at position " + committed);
+        });
+        logger.debug("Import job {} committed up to position {}", job.getId(), chunk.lastPosition);
+        return chunk.lastPosition;
+    }
+
+    private void finish(ImportJob job, ImportJob.Status status, String errorMessage) {
+        String message = errorMessage == null || errorMessage.length() <= 500
+                ? errorMessage : errorMessage.substring(0, 500);
+        transactionTemplate.executeWithoutResult(tx ->
+                jobRepository.finish(job.getId(), status, message, LocalDateTime.now()));
+        logger.info("Import job {} finished as {}", job.getId(), status);
+    }
+
+    private static StatementReader open(ImportJob.Format format, InputStream statement) throws IOException {
+        InputStreamReader reader = new InputStreamReader(statement, StandardCharsets.UTF_8);
+        return format == ImportJob.Format.OFX ? new OfxTransactionReader(reader) : new CsvTransactionReader(reader);
+    }
+
+    /**
+     * Picks the statement format, the given format wins over the file extension (.ofx and .qfx are OFX)
+     *
+     * @param fileName the uploaded file name, may be null
+     * @param format CSV or OFX, may be null
+     * @return the format, CSV when nothing says otherwise
+     * @throws ValidationException if the format is not supported
+     */
+    static ImportJob.Format resolveFormat(String fileName, String format) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return ImportJob.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Unsupported import format: " + format);
+            }
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        return name.endsWith(".ofx") || name.endsWith(".qfx") ? ImportJob.Format.OFX : ImportJob.Format.CSV;
+    }
+
+    // Rows read since the last commit, at most CHUNK_SIZE
+    private static final class Chunk {
+        private final List<Transaction> transactions = new ArrayList<>(CHUNK_SIZE);
+        private int read;
+        private int rejected;
+        private long lastPosition;
+        private String firstRejection;
+
+        private void add(StatementRow row, String error) {
+            read++;
+            lastPosition = row.position();
+            if (error == null) {
+                transactions.add(row.transaction());
+                return;
+            }
+            rejected++;
+            if (firstRejection == null) {
+                String rejection = "row " + row.position() + ": " + error;
+                firstRejection = rejection.length() <= 500 ? rejection : rejection.substring(0, 500);
+            }
+        }
+    }
+}
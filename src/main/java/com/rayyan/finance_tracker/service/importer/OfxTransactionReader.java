@@ -0,0 +1,155 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import com.rayyan.finance_tracker.entity.Transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * Streaming reader for OFX / QFX statements, both the SGML (1.x, elements are not closed) and the XML (2.x) flavour.
+ * Only the <STMTTRN> blocks are read: TRNAMT, DTPOSTED, NAME and MEMO. The sign of TRNAMT gives the type
+ * (negative is an EXPENSE) and OFX has no categories, so every row gets DEFAULT_CATEGORY.
+ * Tags and values are read one at a time and capped in length, memory stays bounded whatever the file size.
+ */
+public class OfxTransactionReader implements StatementReader {
+
+    public static final String DEFAULT_CATEGORY = "Uncategorized";
+
+    private static final int MAX_TOKEN_LENGTH = 1024;
+
+    private final BufferedReader reader;
+    private long transactionNumber;
+    // the last value ended on a '<', so the next tag has already started
+    private boolean atTag;
+
+    public OfxTransactionReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        Map<String, String> fields = null;
+        String tag;
+        while ((tag = nextTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                fields = new HashMap<>();
+            } else if (tag.equals("/STMTTRN")) {
+                if (fields != null)
+                    return toRow(++transactionNumber, fields);
+            } else if (fields != null && !tag.startsWith("/")) {
+                fields.put(tag, readValue());
+            }
+        }
+        if (fields != null)
+            throw new IOException("Unterminated STMTTRN after transaction " + transactionNumber);
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Reads up to the next '<' and returns the upper cased tag name, null at the end of the input
+    private String nextTag() throws IOException {
+        int c;
+        if (!atTag) {
+            do {
+                c = reader.read();
+                if (c == -1)
+                    return null;
+            } while (c != '<');
+        }
+        atTag = false;
+
+        StringBuilder name = new StringBuilder();
+        while ((c = reader.read()) != -1 && c != '>') {
+            if (name.length() < MAX_TOKEN_LENGTH)
+                name.append((char) c);
+        }
+        String tag = name.toString().trim();
+        int space = tag.indexOf(' ');
+        return (space == -1 ? tag : tag.substring(0, space)).toUpperCase(Locale.ROOT);
+    }
+
+    // Reads the text of an element up to the next tag
+    private String readValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '<') {
+                atTag = true;
+                break;
+            }
+            if (value.length() < MAX_TOKEN_LENGTH)
+                value.append((char) c);
+        }
+        return value.toString().trim()
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+
+    private static StatementRow toRow(long position, Map<String, String> fields) {
+        Transaction transaction = new Transaction();
+        String name = fields.get("NAME");
+        transaction.setDescription(name == null || name.isBlank() ? fields.get("MEMO") : name);
+        transaction.setCategory(DEFAULT_CATEGORY);
+
+        String amount = fields.get("TRNAMT");
+        if (amount != null && !amount.isBlank()) {
+            BigDecimal value;
+            try {
+                // some banks write the decimal separator as a comma
+                value = new BigDecimal(amount.replace(',', '.'));
+            } catch (NumberFormatException e) {
+                return StatementRow.rejected(position, "Invalid amount: " + amount);
+            }
+            transaction.setTransactionType(value.signum() < 0
+                    ? Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME);
+            transaction.setAmount(value.abs());
+        }
+
+        String date = fields.get("DTPOSTED");
+        if (date != null && !date.isBlank()) {
+            LocalDateTime parsed = parseDate(date);
+            if (parsed == null)
+                return StatementRow.rejected(position, "Invalid date: " + date);
+            transaction.setDate(parsed);
+        }
+        return StatementRow.of(position, transaction);
+    }
+
+    /**
+     * Parses an OFX date, YYYYMMDD optionally followed by HHMMSS, fractions and a [offset:zone] suffix
+     * which are ignored (the date is kept as the bank's local time)
+     *
+     * @param value the DTPOSTED value
+     * @return the date, null if it is not a valid OFX date
+     */
+    static LocalDateTime parseDate(String value) {
+        int digits = 0;
+        while (digits < value.length() && digits < 14 && Character.isDigit(value.charAt(digits)))
+            digits++;
+        if (digits != 8 && digits != 12 && digits != 14)
+            return null;
+        try {
+            return LocalDateTime.of(
+                    Integer.parseInt(value.substring(0, 4)),
+                    Integer.parseInt(value.substring(4, 6)),
+                    Integer.parseInt(value.substring(6, 8)),
+                    digits > 8 ? Integer.parseInt(value.substring(8, 10)) : 0,
+                    digits > 8 ? Integer.parseInt(value.substring(10, 12)) : 0,
+                    digits > 12 ? Integer.parseInt(value.substring(12, 14)) : 0);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/*
+ * Reads a bank statement one transaction at a time, implementations never hold the whole file in memory.
+ */
+public interface StatementReader extends Closeable {
+
+    /**
+     * Reads the next row
+     *
+     * @return the next row, null at the end of the statement
+     * @throws IOException if the statement cannot be read
+     */
+    StatementRow next() throws IOException;
+}
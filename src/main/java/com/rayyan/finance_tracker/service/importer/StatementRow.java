@@ -0,0 +1,22 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import com.rayyan.finance_tracker.entity.Transaction;
+
+/**
+ * One row read from a statement. Either transaction or error is set.
+ *
+ * @param position where the row is in the file (CSV: the line it starts on, OFX: the 1 based transaction number),
+ *                 positions only ever increase so an import can resume after the last committed one
+ * @param transaction the mapped transaction, not validated yet
+ * @param error why the row could not be mapped
+ */
+public record StatementRow(long position, Transaction transaction, String error) {
+
+    public static StatementRow of(long position, Transaction transaction) {
+        return new StatementRow(position, transaction, null);
+    }
+
+    public static StatementRow rejected(long position, String error) {
+        return new StatementRow(position, null, error);
+    }
+}
@@ -0,0 +1,88 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionRollup;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.repository.TransactionRollupRepository;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Inserts already validated transactions with JDBC batches instead of one save() per row.
+ * Hibernate cannot batch inserts for IDENTITY ids, plain JDBC can (and with
+ * rewriteBatchedStatements=true MySQL turns each batch into a single multi row INSERT).
+ */
+@Component
+@AllArgsConstructor
+public class TransactionBatchWriter {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO transactions " +
+            "(description, amount, transaction_type, category, date, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionRollupRepository rollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Inserts the transactions for a user and adds them to the rollup table,
+     * one rollup upsert per (month, category, type) rather than per row.
+     * One change event announces the whole batch once it commits
+     *
+     * @param user the owner of every transaction
+     * @param transactions validated transactions
+     * @return the number of rows inserted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insert(User user, List<Transaction> transactions) {
+        if (transactions.isEmpty())
+            return 0;
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, BATCH_SIZE, (ps, transaction) -> {
+            ps.setString(1, transaction.getDescription());
+            ps.setBigDecimal(2, transaction.getAmount());
+            ps.setString(3, transaction.getTransactionType().name());
+            ps.setString(4, transaction.getCategory());
+            ps.setTimestamp(5, Timestamp.valueOf(transaction.getDate()));
+            ps.setLong(6, user.getId());
+        });
+
+        Map<RollupKey, RollupDelta> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            RollupKey key = new RollupKey(TransactionRollup.periodOf(transaction.getDate()),
+                    transaction.getCategory(), transaction.getTransactionType());
+            deltas.computeIfAbsent(key, k -> new RollupDelta()).add(transaction.getAmount());
+        }
+        deltas.forEach((key, delta) -> rollupRepository.applyDelta(user.getId(), key.period(),
+                key.category(), key.type().name(), delta.amount, delta.count));
+
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), ChangeEvent.Resource.TRANSACTION,
+                ChangeEvent.Action.IMPORTED, null, transactions.size()));
+        return transactions.size();
+    }
+
+    private record RollupKey(int period, String category, Transaction.TransactionType type) {
+    }
+
+    private static final class RollupDelta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        private void add(BigDecimal value) {
+            amount = amount.add(value);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import com.rayyan.finance_tracker.entity.ImportResult;
+import com.rayyan.finance_tracker.entity.ImportRowError;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import com.rayyan.finance_tracker.service.TransactionService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.rayyan.finance_tracker.constants.Constants.MAX_IMPORT_ROWS;
+
+/*
+ * Bulk import of transactions. Every row goes through the same validation as a single create,
+ * rejected rows are reported back and the valid ones are inserted in JDBC batches.
+ */
+@Service
+@AllArgsConstructor
+public class TransactionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private final TransactionService transactionService;
+    private final TransactionBatchWriter batchWriter;
+
+    /**
+     * Imports a list of transactions for a user
+     *
+     * @param user the owner of the imported transactions
+     * @param transactions the rows to import
+     * @return counts of received and imported rows and the errors of rejected rows
+     * @throws ValidationException if the list is empty or larger than MAX_IMPORT_ROWS
+     */
+    @Transactional
+    public ImportResult importTransactions(User user, List<Transaction> transactions) {
+        if (transactions == null || transactions.isEmpty())
+            throw new ValidationException("No transactions to import");
+        if (transactions.size() > MAX_IMPORT_ROWS)
+            throw new ValidationException("Cannot import more than " + MAX_IMPORT_ROWS + " transactions at once");
+
+        List<Transaction> valid = new ArrayList<>(transactions.size());
+        List<ImportRowError> errors = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            if (transaction == null) {
+                errors.add(new ImportRowError(i + 1, "Row is empty"));
+                continue;
+            }
+            transaction.setUser(user);
+            try {
+                transactionService.validateTransaction(transaction);
+                valid.add(transaction);
+            } catch (ValidationException e) {
+                errors.add(new ImportRowError(i + 1, e.getMessage()));
+            }
+        }
+
+        int imported = batchWriter.insert(user, valid);
+        logger.info("Imported {}/{} transactions for user: {}", imported, transactions.size(), user.getUsername());
+        return new ImportResult(transactions.size(), imported, errors);
+    }
+
+    /**
+     * Imports a CSV statement for a user, see CsvTransactionReader for the columns.
+     * The file is read and written in batches, it is never held in memory.
+     *
+     * @param user the owner of the imported transactions
+     * @param csv the CSV content
+     * @return counts of received and imported rows and the errors of rejected rows (by line number)
+     * @throws ValidationException if the header is missing a column or the file cannot be read
+     */
+    @Transactional
+    public ImportResult importCsv(User user, InputStream csv) {
+        int received = 0;
+        int imported = 0;
+        List<ImportRowError> errors = new ArrayList<>();
+
+        try (StatementReader reader = new CsvTransactionReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<Transaction> batch = new ArrayList<>(TransactionBatchWriter.BATCH_SIZE);
+
+            StatementRow row;
+            while ((row = reader.next()) != null) {
+                received++;
+                String error = validate(user, row);
+                if (error == null)
+                    batch.add(row.transaction());
+                else
+                    errors.add(new ImportRowError(row.position(), error));
+
+                if (batch.size() == TransactionBatchWriter.BATCH_SIZE) {
+                    imported += batchWriter.insert(user, batch);
+                    batch.clear();
+                }
+            }
+            imported += batchWriter.insert(user, batch);
+        } catch (IOException e) {
+            throw new ValidationException("Could not read CSV file: " + e.getMessage());
+        }
+
+        logger.info("Imported {}/{} CSV transactions for user: {}", imported, received, user.getUsername());
+        return new ImportResult(received, imported, errors);
+    }
+
+    /**
+     * Validates a statement row for a user the same way a single create is validated
+     *
+     * @param user the owner of the row
+     * @param row the row read from a statement
+     * @return null if the row can be imported, otherwise why it was rejected
+     */
+    String validate(User user, StatementRow row) {
+        if (row.error() != null)
+            return row.error();
+        Transaction transaction = row.transaction();
+        transaction.setUser(user);
+        try {
+            transactionService.validateTransaction(transaction);
+            return null;
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+}
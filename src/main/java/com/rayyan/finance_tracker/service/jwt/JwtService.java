@@ -2,6 +2,7 @@ package com.rayyan.finance_tracker.service.jwt;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -23,10 +24,24 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    // injects the secret key stored in the application
-    // best practice to store in a separate file than a hardcoded version
-    @Value("${application.security.jwt.prod.secret-key}")
-    private String SECRET_KEY;
+    // HMAC key and parser are built once at startup and shared, both are immutable and thread safe
+    private final Key signKey;
+    private final JwtParser jwtParser;
+
+    /**
+     * Builds the signing key and the verifying parser from the secret key
+     *
+     * @param secretKey the BASE64 encoded secret key, injected from the application
+     *                  (best practice to store in a separate file than a hardcoded version)
+     */
+    public JwtService(@Value("${application.security.jwt.prod.secret-key}") String secretKey) {
+        this.signKey = buildSignKey(secretKey);
+        this.jwtParser = Jwts
+                .parserBuilder()
+                // sets the SECRET_KEY for verifying the token signature
+                .setSigningKey(signKey)
+                .build();
+    }
 
     /**
      * Extracts Username form a given JWT token.
@@ -68,7 +83,7 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 24 hrs of expiration
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -81,21 +96,31 @@ public class JwtService {
      */
     public boolean isTokenValid(String jwtToken, UserDetails userDetails){
         try {
-            final String usename = extractUsername(jwtToken);
-            return usename.equals(userDetails.getUsername()) && !isTokenExpired(jwtToken);
+            return isTokenValid(extractAllClaims(jwtToken), userDetails);
         } catch (ExpiredJwtException e) {
             return false;
         }
     }
 
     /**
-     * This method checks if the given token is with the Expiration timeline
+     * Validates already verified claims against a user, without parsing the token again
      *
-     * @param jwtToken the token to check its expiration validity
+     * @param claims the claims returned by {@link #extractAllClaims(String)}
+     * @param userDetails the user to validate against the claims
+     * @return a boolean value if the subject matches and the token is not expired
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails){
+        return userDetails.getUsername().equals(claims.getSubject()) && !isTokenExpired(claims);
+    }
+
+    /**
+     * This method checks if the given claims are within the Expiration timeline
+     *
+     * @param claims the verified claims to check its expiration validity
      * @return a boolean value if the token is withing its expiration timeline
      */
-    private boolean isTokenExpired(String jwtToken){
-        return extractClaim(jwtToken, Claims::getExpiration).before(new Date());
+    private boolean isTokenExpired(Claims claims){
+        return claims.getExpiration().before(new Date());
     }
 
     /**
@@ -114,17 +139,15 @@ public class JwtService {
     /**
      * The critical parsing method.
      * This method Validates the JWT token signature using the SECRET_KEY
-     * and extracts the entire claim (Payload)
+     * and extracts the entire claim (Payload).
+     * Callers that need several claims should parse once here and reuse the result.
      *
      * @param jwtToken The JWT token to extract the Claims
      * @return The "claims" object containing the tokens Payload
+     * @throws io.jsonwebtoken.JwtException if the signature is invalid or the token is expired
      */
-    private Claims extractAllClaims(String jwtToken){
-        return Jwts
-                .parserBuilder()
-                // sets the SECRET_KEY for verifying the token signature
-                .setSigningKey(getSignKey())
-                .build()
+    public Claims extractAllClaims(String jwtToken){
+        return jwtParser
                 // this method both passes and validates the token signature
                 // if failed to validate, throws an Exception
                 .parseClaimsJws(jwtToken)
@@ -135,11 +158,12 @@ public class JwtService {
      * Decodes the BASE64 encoded secret key from the stored file
      * converts into a cryptographical Key Object suitable for HS256 Algorithm
      *
+     * @param secretKey the BASE64 encoded secret key
      * @return a Key object for signing and validating JWTs
      */
-    private Key getSignKey() {
+    private static Key buildSignKey(String secretKey) {
         // decodes the SECRET_KEY from BASE64 format into a byte array
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         // create a secure Key object from the byte array for HMAC-SHA algorithm
         return Keys.hmacShaKeyFor(keyBytes);
     }
@@ -0,0 +1,491 @@
+package com.rayyan.finance_tracker.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * In memory inverted index over one user's transaction descriptions and categories.
+ *
+ * Every transaction gets an ordinal in the order it is added. The postings of a word are the ordinals of the
+ * transactions containing it, they are only ever appended to, so they stay sorted and the postings of the query
+ * words are intersected with a merge. An update adds the transaction again under a new ordinal and marks the
+ * old one deleted, searches skip deleted ordinals and they are dropped once they are half the index.
+ *
+ * Hits are ranked with BM25, every query word must match. A word matching only as the start of a longer one
+ * (EG: "amaz" for "amazon") counts half, ties go to the most recently created transaction.
+ *
+ * Searches share the read lock, changes take the write lock. Changes made before loaded() are queued and
+ * applied after the loaded rows, so a change that commits while the index is being built wins over the
+ * older row the build read.
+ */
+public final class SearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_WEIGHT = 0.5f;
+    // longer words matching a query word as a prefix, in alphabetical order, beyond these are ignored
+    private static final int MAX_PREFIX_TERMS = 256;
+    // deleted ordinals are dropped when there are at least this many and they are half the index
+    private static final int MIN_COMPACT = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private List<Runnable> pending = new ArrayList<>();
+
+    private long[] ids = new long[64];
+    private short[] lengths = new short[64];
+    private int size;
+    private int deletedCount;
+    private long totalLength;
+
+    /**
+     * Adds a transaction read by the initial load, before loaded() is called
+     *
+     * @param id the transaction ID
+     * @param description its description
+     * @param category its category
+     */
+    public void load(long id, String description, String category) {
+        lock.writeLock().lock();
+        try {
+            upsert(id, description, category);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the changes queued during the load and lets searches in
+     */
+    public void loaded() {
+        lock.writeLock().lock();
+        try {
+            pending.forEach(Runnable::run);
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready.complete(null);
+    }
+
+    /**
+     * Fails the searches waiting for a load that did not finish
+     *
+     * @param cause why the load failed
+     */
+    public void failed(Throwable cause) {
+        ready.completeExceptionally(cause);
+    }
+
+    /**
+     * Adds a created transaction or replaces the words of an updated one
+     *
+     * @param id the transaction ID
+     * @param description its description
+     * @param category its category
+     */
+    public void put(long id, String description, String category) {
+        write(() -> upsert(id, description, category));
+    }
+
+    /**
+     * @param id the deleted transaction ID, ignored if it is not in the index
+     */
+    public void remove(long id) {
+        write(() -> delete(id));
+    }
+
+    /**
+     * Finds the transactions containing every word of the query, best match first.
+     * Waits for the initial load if it is still running
+     *
+     * @param query the words to look for, case and punctuation are ignored
+     * @param offset how many of the best hits to skip
+     * @param limit how many hits to return at most
+     * @return the IDs of the requested hits and how many there are in total
+     */
+    public Hits search(String query, int offset, int limit) {
+        ready.join();
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(words(query)));
+        if (words.isEmpty())
+            return Hits.NONE;
+
+        lock.readLock().lock();
+        try {
+            int live = size - deletedCount;
+            if (live == 0)
+                return Hits.NONE;
+            float averageLength = Math.max(1f, (float) totalLength / live);
+            Matches[] matches = new Matches[words.size()];
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = match(words.get(i), live, averageLength);
+                if (matches[i].size == 0)
+                    return Hits.NONE;
+            }
+            // the rarest word first keeps every intersection as small as it can be
+            Arrays.sort(matches, Comparator.comparingInt(match -> match.size));
+            Matches result = matches[0];
+            for (int i = 1; i < matches.length && result.size > 0; i++)
+                result = result.intersect(matches[i]);
+            return top(result, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return how many transactions are indexed
+     */
+    public int documents() {
+        lock.readLock().lock();
+        try {
+            return size - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower case words of letters and digits
+     *
+     * @param text the text to split, may be null
+     * @return the words in the order they appear
+     */
+    static List<String> words(String text) {
+        if (text == null)
+            return List.of();
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null)
+                pending.add(change);
+            else
+                change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsert(long id, String description, String category) {
+        delete(id);
+        Map<String, Integer> counts = new HashMap<>();
+        int length = 0;
+        for (String text : new String[]{description, category}) {
+            for (String word : words(text)) {
+                counts.merge(word, 1, Integer::sum);
+                length++;
+            }
+        }
+
+        int ordinal = size++;
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ordinal * 2);
+            lengths = Arrays.copyOf(lengths, ordinal * 2);
+        }
+        ids[ordinal] = id;
+        lengths[ordinal] = (short) Math.min(length, Short.MAX_VALUE);
+        totalLength += lengths[ordinal];
+        ordinals.put(id, ordinal);
+        counts.forEach((word, count) -> terms.computeIfAbsent(word, key -> new Postings()).add(ordinal, count));
+    }
+
+    private void delete(long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null)
+            return;
+        deleted.set(ordinal);
+        deletedCount++;
+        totalLength -= lengths[ordinal];
+        if (deletedCount >= MIN_COMPACT && deletedCount * 2 >= size)
+            compact();
+    }
+
+    // renumbers the live ordinals from 0 in the same order, so every postings list stays sorted
+    private void compact() {
+        int[] renumbered = new int[size];
+        int next = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (deleted.get(ordinal)) {
+                renumbered[ordinal] = -1;
+                continue;
+            }
+            renumbered[ordinal] = next;
+            ids[next] = ids[ordinal];
+            lengths[next] = lengths[ordinal];
+            ordinals.put(ids[next], next);
+            next++;
+        }
+        Iterator<Postings> postings = terms.values().iterator();
+        while (postings.hasNext()) {
+            Postings list = postings.next();
+            list.renumber(renumbered);
+            if (list.size == 0)
+                postings.remove();
+        }
+        size = next;
+        deletedCount = 0;
+        deleted.clear();
+    }
+
+    // the live transactions matching one query word, in ordinal order, with the word's score in each
+    private Matches match(String word, int live, float averageLength) {
+        SortedMap<String, Postings> expansions = terms.subMap(word, word + Character.MAX_VALUE);
+        if (expansions.isEmpty())
+            return Matches.NONE;
+        if (expansions.size() == 1) {
+            Map.Entry<String, Postings> only = expansions.entrySet().iterator().next();
+            return score(only.getValue(), weight(word, only.getKey()), live, averageLength);
+        }
+
+        // a transaction can contain several of the expansions, it keeps the best score
+        int total = 0;
+        int counted = 0;
+        for (Postings list : expansions.values()) {
+            if (counted++ == MAX_PREFIX_TERMS)
+                break;
+            total += list.size;
+        }
+        List<Matches> scored = new ArrayList<>(Math.min(expansions.size(), MAX_PREFIX_TERMS));
+        for (Map.Entry<String, Postings> expansion : expansions.entrySet()) {
+            if (scored.size() == MAX_PREFIX_TERMS)
+                break;
+            scored.add(score(expansion.getValue(), weight(word, expansion.getKey()), live, averageLength));
+        }
+        // sorting costs more than a pass over the whole index well before the hits are a tenth of it
+        return total > size / 64 ? bestByOrdinal(scored) : bestBySort(scored, total);
+    }
+
+    // many hits: the best score of every ordinal in an array as long as the index
+    private Matches bestByOrdinal(List<Matches> scored) {
+        float[] best = new float[size];
+        int count = 0;
+        for (Matches matches : scored) {
+            for (int i = 0; i < matches.size; i++) {
+                int ordinal = matches.ordinals[i];
+                if (best[ordinal] == 0)
+                    count++;
+                best[ordinal] = Math.max(best[ordinal], matches.scores[i]);
+            }
+        }
+        Matches merged = new Matches(count);
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (best[ordinal] > 0)
+                merged.add(ordinal, best[ordinal]);
+        }
+        return merged;
+    }
+
+    // few hits: (ordinal, score) pairs packed into longs and sorted, the last pair of each ordinal is its best
+    private static Matches bestBySort(List<Matches> scored, int total) {
+        long[] packed = new long[total];
+        int count = 0;
+        for (Matches matches : scored) {
+            for (int i = 0; i < matches.size; i++)
+                packed[count++] = ((long) matches.ordinals[i] << 32) | (Float.floatToRawIntBits(matches.scores[i]) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed, 0, count);
+
+        Matches merged = new Matches(count);
+        for (int i = 0; i < count; i++) {
+            if (i + 1 < count && packed[i + 1] >>> 32 == packed[i] >>> 32)
+                continue;
+            merged.add((int) (packed[i] >>> 32), Float.intBitsToFloat((int) packed[i]));
+        }
+        return merged;
+    }
+
+    private Matches score(Postings postings, float weight, int live, float averageLength) {
+        int documentFrequency = Math.min(postings.size, live);
+        float idf = (float) Math.log(1 + (live - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        Matches matches = new Matches(postings.size);
+        for (int i = 0; i < postings.size; i++) {
+            int ordinal = postings.ordinals[i];
+            if (deletedCount > 0 && deleted.get(ordinal))
+                continue;
+            int frequency = postings.frequencies[i];
+            float norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+            matches.add(ordinal, weight * idf * frequency * (K1 + 1) / (frequency + norm));
+        }
+        return matches;
+    }
+
+    private static float weight(String word, String term) {
+        return term.length() == word.length() ? 1f : PREFIX_WEIGHT;
+    }
+
+    // the hits ranked offset to offset + limit, picked with a min heap of the best offset + limit
+    private Hits top(Matches matches, int offset, int limit) {
+        int total = matches.size;
+        if (offset >= total)
+            return new Hits(List.of(), total);
+        int wanted = (int) Math.min((long) offset + limit, total);
+
+        // newest ordinals first: equal scores mostly lose to the hits already kept and leave the heap alone
+        int[] heap = new int[wanted];
+        int heapSize = 0;
+        for (int i = total - 1; i >= 0; i--) {
+            if (heapSize < wanted) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++, matches);
+            } else if (better(i, heap[0], matches)) {
+                heap[0] = i;
+                siftDown(heap, heapSize, matches);
+            }
+        }
+
+        // the heap root is the worst hit kept, so popping fills the ranking from the end
+        int[] ranked = new int[wanted];
+        for (int i = wanted - 1; i >= 0; i--) {
+            ranked[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, matches);
+        }
+        List<Long> page = new ArrayList<>(wanted - offset);
+        for (int i = offset; i < wanted; i++)
+            page.add(ids[matches.ordinals[ranked[i]]]);
+        return new Hits(page, total);
+    }
+
+    private boolean better(int a, int b, Matches matches) {
+        float scoreA = matches.scores[a];
+        float scoreB = matches.scores[b];
+        if (scoreA != scoreB)
+            return scoreA > scoreB;
+        return ids[matches.ordinals[a]] > ids[matches.ordinals[b]];
+    }
+
+    private void siftUp(int[] heap, int index, Matches matches) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!better(heap[parent], heap[index], matches))
+                return;
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int heapSize, Matches matches) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize)
+                return;
+            if (child + 1 < heapSize && better(heap[child], heap[child + 1], matches))
+                child++;
+            if (!better(heap[index], heap[child], matches))
+                return;
+            swap(heap, index, child);
+            index = child;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int swapped = heap[a];
+        heap[a] = heap[b];
+        heap[b] = swapped;
+    }
+
+    /**
+     * One page of search hits
+     *
+     * @param ids the transaction IDs, best match first
+     * @param total how many transactions match in total
+     */
+    public record Hits(List<Long> ids, int total) {
+        static final Hits NONE = new Hits(List.of(), 0);
+    }
+
+    // ordinals of the transactions containing a word, ascending, with how often it occurs in each
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private byte[] frequencies = new byte[4];
+        private int size;
+
+        private void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size++] = (byte) Math.min(frequency, Byte.MAX_VALUE);
+        }
+
+        private void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = renumbered[ordinals[i]];
+                if (ordinal < 0)
+                    continue;
+                ordinals[kept] = ordinal;
+                frequencies[kept++] = frequencies[i];
+            }
+            size = kept;
+        }
+    }
+
+    // scored ordinals, ascending
+    private static final class Matches {
+        static final Matches NONE = new Matches(0);
+
+        private final int[] ordinals;
+        private final float[] scores;
+        private int size;
+
+        private Matches(int capacity) {
+            ordinals = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        private void add(int ordinal, float score) {
+            ordinals[size] = ordinal;
+            scores[size++] = score;
+        }
+
+        // the ordinals in both, scores added
+        private Matches intersect(Matches other) {
+            Matches both = new Matches(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (ordinals[i] < other.ordinals[j]) {
+                    i++;
+                } else if (ordinals[i] > other.ordinals[j]) {
+                    j++;
+                } else {
+                    both.add(ordinals[i], scores[i++] + other.scores[j++]);
+                }
+            }
+            return both;
+        }
+    }
+}
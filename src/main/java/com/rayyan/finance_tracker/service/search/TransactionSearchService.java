@@ -0,0 +1,142 @@
+package com.rayyan.finance_tracker.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rayyan.finance_tracker.entity.TransactionSearchResult;
+import com.rayyan.finance_tracker.entity.TransactionView;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import com.rayyan.finance_tracker.repository.TransactionRepository;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import com.rayyan.finance_tracker.utils.ValidatingUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static com.rayyan.finance_tracker.constants.Constants.DEFAULT_PAGE_SIZE;
+import static com.rayyan.finance_tracker.constants.Constants.MAX_PAGE_SIZE;
+import static com.rayyan.finance_tracker.constants.Constants.MAX_SEARCH_QUERY_LENGTH;
+
+/*
+ * Full text search over a user's transaction descriptions and categories.
+ *
+ * A user's SearchIndex is built from the database on their first search and then kept current from the
+ * ChangeEvents TransactionService publishes once a create, update or delete commits. A bulk import drops
+ * the index, the next search builds it again. Indexes are kept for idle-timeout after their last search,
+ * for at most max-users users, hit/miss/eviction counts are published as "cache.*" metrics with
+ * cache=searchIndex. Like the ETags, writes made on another instance are not seen until the index is rebuilt.
+ */
+@Service
+public class TransactionSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSearchService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<Long, SearchIndex> indexes;
+
+    public TransactionSearchService(TransactionRepository transactionRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${application.search.max-users:1000}") long maxUsers,
+                                    @Value("${application.search.idle-timeout:30m}") Duration idleTimeout) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "searchIndex");
+    }
+
+    /**
+     * Finds the user's transactions whose description or category contains every word of the query,
+     * best match first. A word also matches the start of a longer word (EG: "amaz" finds "Amazon")
+     *
+     * @param user the user who owns the transactions
+     * @param query the words to look for
+     * @param page the page to return, from 0, null for the first
+     * @param size the requested page size, null for the default
+     * @return the IDs of one page of hits with the total number of hits
+     * @throws ValidationException if the query is blank or too long, or the page or size is invalid
+     */
+    public TransactionSearchResult search(User user, String query, Integer page, Integer size) {
+        ValidatingUtil.requireNotBlank(query, "Search query can't be null or empty");
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH)
+            throw new ValidationException("Search query can't be greater than " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        if (page != null && page < 0)
+            throw new ValidationException("Page must not be negative");
+        if (size != null && size <= 0)
+            throw new ValidationException("Page size must be greater than zero");
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+
+        SearchIndex.Hits hits = index(user).search(query, offset, pageSize);
+        return new TransactionSearchResult(hits.ids(), hits.total(), pageNumber,
+                (long) offset + hits.ids().size() < hits.total());
+    }
+
+    /**
+     * Applies a committed transaction change to the owner's index, if it is loaded
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        if (event.resource() != ChangeEvent.Resource.TRANSACTION)
+            return;
+        SearchIndex index = indexes.asMap().get(event.userId());
+        if (index == null)
+            return;
+        switch (event.action()) {
+            case CREATED, UPDATED -> {
+                TransactionView row = (TransactionView) event.data();
+                index.put(event.id(), row.description(), row.category());
+            }
+            case DELETED -> index.remove(event.id());
+            case IMPORTED -> indexes.invalidate(event.userId());
+            default -> {
+            }
+        }
+    }
+
+    // the user's index, built on this thread if nobody has it yet
+    private SearchIndex index(User user) {
+        SearchIndex index = indexes.getIfPresent(user.getId());
+        if (index != null)
+            return index;
+        // cached before it is loaded, so the changes committed while it loads are queued on it
+        SearchIndex building = new SearchIndex();
+        index = indexes.asMap().putIfAbsent(user.getId(), building);
+        if (index != null)
+            return index;
+
+        log.info("Building the search index for user: {}", user.getUsername());
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TransactionView> rows = transactionRepository.streamByUser(user)) {
+                    rows.forEach(row -> building.load(row.id(), row.description(), row.category()));
+                }
+            });
+        } catch (RuntimeException e) {
+            indexes.asMap().remove(user.getId(), building);
+            building.failed(e);
+            throw e;
+        }
+        building.loaded();
+        log.info("Search index for user: {} holds {} transactions", user.getUsername(), building.documents());
+        return building;
+    }
+}
@@ -0,0 +1,83 @@
+package com.rayyan.finance_tracker.utils;
+
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used for keyset pagination.
+ * A cursor points at the last row of a page, identified by its (date, id) pair,
+ * so the next page can continue strictly after it without using OFFSET.
+ */
+public class CursorUtil {
+
+    private static final char SEPARATOR = '|';
+
+    // prevention instantiation
+    private CursorUtil() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+
+    /**
+     * Builds an opaque cursor for the given keyset position
+     *
+     * @param date the date of the last row on the page
+     * @param id the id of the last row on the page
+     * @return URL safe Base64 token
+     */
+    public static String encode(LocalDateTime date, Long id) {
+        String raw = date.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the date part of a cursor
+     *
+     * @param cursor the token handed out with the previous page
+     * @return the date of the last row of the previous page
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static LocalDateTime decodeDate(String cursor) {
+        String raw = decode(cursor);
+        try {
+            return LocalDateTime.parse(raw.substring(0, raw.indexOf(SEPARATOR)));
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Reads the id part of a cursor
+     *
+     * @param cursor the token handed out with the previous page
+     * @return the id of the last row of the previous page
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static Long decodeId(String cursor) {
+        String raw = decode(cursor);
+        try {
+            return Long.valueOf(raw.substring(raw.indexOf(SEPARATOR) + 1));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
+    private static String decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            throw new ValidationException("Invalid page cursor");
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+        if (raw.indexOf(SEPARATOR) <= 0)
+            throw new ValidationException("Invalid page cursor");
+        return raw;
+    }
+}
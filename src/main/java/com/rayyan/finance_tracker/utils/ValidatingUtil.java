@@ -2,34 +2,46 @@ package com.rayyan.finance_tracker.utils;
 
 import com.rayyan.finance_tracker.exceptions.ValidationException;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
+/*
+ * Validators shared by the authentication, transaction and savings services.
+ * Nothing is allocated while input is valid: the check* methods only create the error list (and the message)
+ * when a check fails, so callers start with a null list, and the require* methods throw a constant message.
+ */
 public class ValidatingUtil {
 
+    // the format isValidEmail accepts, kept as the reference the scanner is tested against
+    public static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
+
     /**
      * Method checks if the Username or Password is Empty ("") or Null
      *
      * @param value the RegisterRequest/AuthenticationRequest Request (Username OR Password)
      * @param fieldName Which field is it checking, Password or Username
-     * @param errors an Empty OR non-empty list of exceptions stored for the given request
+     * @param errors the errors found so far, null if there are none yet
+     * @return the errors, only allocated when this check fails on a null list
      */
-    public static void checkIsEmpty(String value, String fieldName, List<String> errors){
-        if (value == null || value.trim().isEmpty())
-            errors.add(fieldName + " can't be null or empty");
+    public static List<String> checkIsEmpty(String value, String fieldName, List<String> errors){
+        if (isBlank(value))
+            return addError(errors, fieldName + " can't be null or empty");
+        return errors;
     }
 
     /**
-     * This method checks if the email is in a valid format
-     * 
+     * This method checks if the email is in a valid format (blank emails are left to checkIsEmpty)
+     *
      * @param email the email to be validated
      * @param fieldName Which field is it checking, Email
-     * @param errors an Empty OR non-empty list of exceptions stored for the given request
+     * @param errors the errors found so far, null if there are none yet
+     * @return the errors, only allocated when this check fails on a null list
      */
-    public static void checkEmailFormat(String email, String fieldName, List<String> errors){
-        String emailRegex = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
-        if (!email.matches(emailRegex)) {
-            errors.add(fieldName + " is not in a valid format");
-        }
+    public static List<String> checkEmailFormat(String email, String fieldName, List<String> errors){
+        if (!isBlank(email) && !isValidEmail(email))
+            return addError(errors, fieldName + " is not in a valid format");
+        return errors;
     }
 
     /**
@@ -38,11 +50,13 @@ public class ValidatingUtil {
      * @param Value the RegisterRequest/AuthenticationRequest Request (Username OR Password)
      * @param fieldName Which field is it checking, Password or Username
      * @param minLength minimum length for a password and username
-     * @param errors an Empty OR non-empty list of exceptions stored for the given request
+     * @param errors the errors found so far, null if there are none yet
+     * @return the errors, only allocated when this check fails on a null list
      */
-    public static void checkMinLength(String Value, String fieldName, int minLength,  List<String> errors){
+    public static List<String> checkMinLength(String Value, String fieldName, int minLength,  List<String> errors){
         if (Value != null && Value.length() < minLength)
-            errors.add(fieldName + " can't be less than "+minLength+" characters");
+            return addError(errors, fieldName + " can't be less than "+minLength+" characters");
+        return errors;
     }
 
     /**
@@ -51,21 +65,129 @@ public class ValidatingUtil {
      * @param Value the RegisterRequest/AuthenticationRequest Request (Username OR Password)
      * @param fieldName Which field is it checking, Password or Username
      * @param maxLength maximum length for a password and username
-     * @param errors an Empty OR non-empty list of exceptions stored for the given request
+     * @param errors the errors found so far, null if there are none yet
+     * @return the errors, only allocated when this check fails on a null list
      */
-    public static void checkMaxLength(String Value, String fieldName, int maxLength,  List<String> errors){
+    public static List<String> checkMaxLength(String Value, String fieldName, int maxLength,  List<String> errors){
         if (Value != null && Value.length() > maxLength)
-            errors.add(fieldName + " can't be greater than "+maxLength+" characters");
+            return addError(errors, fieldName + " can't be greater than "+maxLength+" characters");
+        return errors;
     }
 
     /**
      * Throws Exceptions if Exists in a list
      *
-     * @param errors takes in a list of errors, and then throw in one single Exception
+     * @param errors takes in a list of errors (or null), and then throw in one single Exception
      */
     public static void throwIfExists(List<String> errors){
-        if (!errors.isEmpty()){
+        if (errors != null && !errors.isEmpty()){
             throw new ValidationException(String.join(", ", errors));
         }
     }
+
+    /**
+     * Throws when a required text is missing
+     *
+     * @param value the text to check
+     * @param message the error message
+     * @throws ValidationException if the value is null, empty or only whitespace
+     */
+    public static void requireNotBlank(String value, String message) {
+        if (isBlank(value))
+            throw new ValidationException(message);
+    }
+
+    /**
+     * Throws when a required value is missing
+     *
+     * @param value the value to check
+     * @param message the error message
+     * @throws ValidationException if the value is null
+     */
+    public static void requireNonNull(Object value, String message) {
+        if (value == null)
+            throw new ValidationException(message);
+    }
+
+    /**
+     * Throws when an amount is missing or not greater than zero
+     *
+     * @param amount the amount to check
+     * @param message the error message
+     * @throws ValidationException if the amount is null, zero or negative
+     */
+    public static void requirePositive(BigDecimal amount, String message) {
+        if (amount == null || amount.signum() <= 0)
+            throw new ValidationException(message);
+    }
+
+    /**
+     * Throws when an amount is missing or negative
+     *
+     * @param amount the amount to check
+     * @param message the error message
+     * @throws ValidationException if the amount is null or negative
+     */
+    public static void requireNotNegative(BigDecimal amount, String message) {
+        if (amount == null || amount.signum() < 0)
+            throw new ValidationException(message);
+    }
+
+    /**
+     * @param value the text to check
+     * @return true if the value is null, empty or only whitespace (no trimmed copy is made)
+     */
+    public static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Checks an email against EMAIL_REGEX with a single scan, no Pattern or Matcher is created.
+     * The top level domain can not contain a '.', so it is whatever follows the last '.'
+     *
+     * @param email the email to check
+     * @return true if the email matches EMAIL_REGEX
+     */
+    public static boolean isValidEmail(String email) {
+        if (email == null)
+            return false;
+        int at = email.indexOf('@');
+        if (at <= 0)
+            return false;
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (!isLetterOrDigit(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-')
+                return false;
+        }
+
+        int lastDot = email.lastIndexOf('.');
+        // at least one domain character before the last '.' and two letters after it
+        if (lastDot <= at + 1 || email.length() - lastDot - 1 < 2)
+            return false;
+        for (int i = at + 1; i < lastDot; i++) {
+            char c = email.charAt(i);
+            if (!isLetterOrDigit(c) && c != '.' && c != '-')
+                return false;
+        }
+        for (int i = lastDot + 1; i < email.length(); i++) {
+            if (!isLetter(email.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private static List<String> addError(List<String> errors, String message) {
+        List<String> list = errors == null ? new ArrayList<>() : errors;
+        list.add(message);
+        return list;
+    }
+
+    // ASCII only, like the [a-zA-Z] classes in EMAIL_REGEX
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLetterOrDigit(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9');
+    }
 }
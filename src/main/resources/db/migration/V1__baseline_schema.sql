@@ -0,0 +1,39 @@
+-- Baseline schema, matches what Hibernate ddl-auto=update created before migrations were introduced.
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     ENUM ('USER', 'ADMIN') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE transactions (
+    id               BIGINT         NOT NULL AUTO_INCREMENT,
+    description      VARCHAR(255)   NOT NULL,
+    amount           DECIMAL(38, 2) NOT NULL,
+    transaction_type ENUM ('INCOME', 'EXPENSE') NOT NULL,
+    category         VARCHAR(255)   NOT NULL,
+    date             TIMESTAMP      NOT NULL,
+    user_id          BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE savings (
+    id                  BIGINT         NOT NULL AUTO_INCREMENT,
+    savings_name        VARCHAR(255)   NOT NULL,
+    savings_description VARCHAR(500)   NOT NULL,
+    current_amount      DECIMAL(12, 2) NOT NULL,
+    target_amount       DECIMAL(12, 2) NOT NULL,
+    created_at          DATETIME       NOT NULL,
+    updated_at          DATETIME,
+    status              ENUM ('IN_PROGRESS', 'COMPLETED') NOT NULL,
+    user_id             BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_savings_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,14 @@
+-- Every repository query is scoped to one user, these indexes lead with user_id
+-- so no access path has to scan other users' rows.
+
+-- keyset pages, exports and date range summaries: WHERE user_id = ? ORDER BY date, id
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, date, id);
+
+-- findByCategoryAndUser and per category totals
+CREATE INDEX idx_transactions_user_category ON transactions (user_id, category);
+
+-- findByTransactionTypeAndUser
+CREATE INDEX idx_transactions_user_type ON transactions (user_id, transaction_type);
+
+-- findByUserAndStatus
+CREATE INDEX idx_savings_user_status ON savings (user_id, status);
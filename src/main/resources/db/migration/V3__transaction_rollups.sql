@@ -0,0 +1,21 @@
+-- Per user running totals by (month, category, type), kept in step with transactions by TransactionService.
+-- period is year * 100 + month (EG: 202506)
+
+CREATE TABLE transaction_rollups (
+    id                BIGINT         NOT NULL AUTO_INCREMENT,
+    user_id           BIGINT         NOT NULL,
+    period            INT            NOT NULL,
+    category          VARCHAR(255)   NOT NULL,
+    transaction_type  ENUM ('INCOME', 'EXPENSE') NOT NULL,
+    total_amount      DECIMAL(38, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_rollups_user_period_category_type UNIQUE (user_id, period, category, transaction_type),
+    CONSTRAINT fk_rollups_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- backfill from the transactions that already exist
+INSERT INTO transaction_rollups (user_id, period, category, transaction_type, total_amount, transaction_count)
+SELECT user_id, YEAR(date) * 100 + MONTH(date), category, transaction_type, SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY user_id, YEAR(date) * 100 + MONTH(date), category, transaction_type;
@@ -0,0 +1,22 @@
+-- Progress of chunked statement imports, see ImportJobService.
+-- committed_position is the CSV line / OFX transaction number of the last committed row, a resume skips up to it.
+
+CREATE TABLE import_jobs (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id            BIGINT       NOT NULL,
+    file_name          VARCHAR(255),
+    format             ENUM ('CSV', 'OFX') NOT NULL,
+    status             ENUM ('RUNNING', 'COMPLETED', 'FAILED') NOT NULL,
+    rows_read          BIGINT       NOT NULL,
+    rows_imported      BIGINT       NOT NULL,
+    rows_rejected      BIGINT       NOT NULL,
+    committed_position BIGINT       NOT NULL,
+    first_rejection    VARCHAR(500),
+    error_message      VARCHAR(500),
+    created_at         DATETIME     NOT NULL,
+    updated_at         DATETIME     NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_import_jobs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_import_jobs_user_id ON import_jobs (user_id, id);
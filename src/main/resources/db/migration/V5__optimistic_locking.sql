@@ -0,0 +1,5 @@
+-- Version columns for optimistic locking of single row edits, see OptimisticRetry.
+-- Bulk statements (savings deposit/withdraw) bump it themselves, plain JDBC inserts get the default.
+
+ALTER TABLE transactions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE savings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
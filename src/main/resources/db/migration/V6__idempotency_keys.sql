@@ -0,0 +1,15 @@
+-- Optional database tier of the Idempotency-Key store, see IdempotencyStore.
+-- Keys are scoped per user, rows older than the TTL are ignored and purged.
+
+CREATE TABLE idempotency_keys (
+    username        VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash    BINARY(32)   NOT NULL,
+    status          INT          NOT NULL,
+    content_type    VARCHAR(255),
+    body            BLOB         NOT NULL,
+    created_at      DATETIME     NOT NULL,
+    PRIMARY KEY (username, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -110,19 +110,21 @@ function loadUserInfo() {
 
 function loadTransactions() {
     const token = getToken();
-    fetch('/api/transaction/fetchAll', {
-        headers: {
-            'Authorization': `Bearer ${token}`
-        }
-    })
-        .then(response => {
-            if (!response.ok) throw new Error('Failed to fetch transactions');
-            return response.json();
+    const headers = { 'Authorization': `Bearer ${token}` };
+
+    // totals are aggregated on the server, only the 5 most recent rows are downloaded
+    Promise.all([
+        fetch('/api/transaction/summary', { headers }),
+        fetch('/api/transaction/page?size=5', { headers }),
+    ])
+        .then(([summaryResponse, pageResponse]) => {
+            if (!summaryResponse.ok || !pageResponse.ok) throw new Error('Failed to fetch transactions');
+            return Promise.all([summaryResponse.json(), pageResponse.json()]);
         })
-        .then(transactions => {
-            displayTransactions(transactions);
-            calculateSummary(transactions);
-            updateChart(transactions);
+        .then(([summary, page]) => {
+            displayTransactions(page.transactions);
+            calculateSummary(summary);
+            updateChart(summary);
         })
         .catch(error => {
             console.error('Error loading transactions:', error);
@@ -139,8 +141,7 @@ function displayTransactions(transactions) {
         return;
     }
 
-    const recent = transactions.slice(0, 5);
-    container.innerHTML = recent.map(t => `
+    container.innerHTML = transactions.map(t => `
             <div class="transaction-item">
                 <div class="transaction-info">
                     <div class="transaction-desc">${t.description}</div>
@@ -154,17 +155,9 @@ function displayTransactions(transactions) {
         `).join('');
 }
 
-function calculateSummary(transactions) {
-    let totalIncome = 0;
-    let totalExpenses = 0;
-
-    transactions.forEach(t => {
-        if (t.transactionType === 'INCOME') {
-            totalIncome += parseFloat(t.amount);
-        } else {
-            totalExpenses += parseFloat(t.amount);
-        }
-    });
+function calculateSummary(summary) {
+    const totalIncome = parseFloat(summary.totalIncome) || 0;
+    const totalExpenses = parseFloat(summary.totalExpenses) || 0;
 
     const balance = totalIncome - totalExpenses;
     const savingsRate = totalIncome > 0 ? (balance / totalIncome) * 100 : 0;
@@ -179,17 +172,9 @@ function calculateSummary(transactions) {
     document.getElementById('balanceChange').textContent = balance > 0 ? '✓ Positive balance!' : '⚠ Deficit';
 }
 
-function updateChart(transactions) {
-    let totalIncome = 0;
-    let totalExpenses = 0;
-
-    transactions.forEach(t => {
-        if (t.transactionType === 'INCOME') {
-            totalIncome += parseFloat(t.amount);
-        } else {
-            totalExpenses += parseFloat(t.amount);
-        }
-    });
+function updateChart(summary) {
+    const totalIncome = parseFloat(summary.totalIncome) || 0;
+    const totalExpenses = parseFloat(summary.totalExpenses) || 0;
 
     const total = totalIncome + totalExpenses;
     const expensePercent = total > 0 ? ((totalExpenses / total) * 100).toFixed(0) : 0;
@@ -273,6 +258,99 @@ function displaySavings(savings) {
     }).join('');
 }
 
+// ========== LIVE UPDATES ==========
+// The server pushes a "transaction" or "savings" event after every change (/api/events/stream) and the
+// dashboard only re-queries the section that changed. EventSource can't send the Authorization header,
+// so the stream is read with fetch.
+const POLL_INTERVAL_MS = 30000;
+const MIN_RECONNECT_DELAY_MS = 1000;
+const MAX_RECONNECT_DELAY_MS = 30000;
+let reconnectDelay = MIN_RECONNECT_DELAY_MS;
+let streamConnectedBefore = false;
+const pendingReloads = {};
+
+function scheduleReload(resource) {
+    // an import sends one event per batch, reload once they stop coming
+    clearTimeout(pendingReloads[resource]);
+    pendingReloads[resource] = setTimeout(() => {
+        if (resource === 'transaction') loadTransactions();
+        else loadSavings();
+    }, 250);
+}
+
+function handleStreamEvent(name) {
+    if (name === 'connected') {
+        reconnectDelay = MIN_RECONNECT_DELAY_MS;
+        // changes made while the stream was down were never pushed
+        if (streamConnectedBefore) {
+            loadTransactions();
+            loadSavings();
+        }
+        streamConnectedBefore = true;
+    } else if (name === 'transaction' || name === 'savings') {
+        scheduleReload(name);
+    }
+}
+
+async function connectChangeStream() {
+    const token = getToken();
+    if (!token) return;
+
+    try {
+        const res = await fetch('/api/events/stream', {
+            headers: {
+                'Accept': 'text/event-stream',
+                'Authorization': `Bearer ${token}`,
+            },
+        });
+        if (res.status === 401 || res.status === 403) {
+            window.location.href = '/login';
+            return;
+        }
+        if (!res.ok || !res.body) throw new Error(`HTTP ${res.status}`);
+
+        const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        let eventName = 'message';
+        for (;;) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += value;
+            let newline;
+            while ((newline = buffer.indexOf('\n')) >= 0) {
+                const line = buffer.slice(0, newline).replace(/\r$/, '');
+                buffer = buffer.slice(newline + 1);
+                // a blank line ends an event, the data lines (the delta) are not needed to re-query
+                // and comment lines are only heartbeats
+                if (line === '') {
+                    handleStreamEvent(eventName);
+                    eventName = 'message';
+                } else if (line.startsWith('event:')) {
+                    eventName = line.slice(6).trim();
+                }
+            }
+        }
+    } catch (err) {
+        console.warn('Change stream disconnected:', err);
+    }
+
+    // the server closes streams after a while, reconnect with a growing delay while it keeps failing
+    setTimeout(connectChangeStream, reconnectDelay);
+    reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+}
+
+function startLiveUpdates() {
+    if (window.ReadableStream && window.TextDecoderStream) {
+        connectChangeStream();
+        return;
+    }
+    // browsers that can't read a streamed response keep polling
+    setInterval(() => {
+        loadTransactions();
+        loadSavings();
+    }, POLL_INTERVAL_MS);
+}
+
 // ========== MODAL HELPERS ==========
 // (Modal helpers are defined above in ACTION BUTTONS to avoid duplicate definitions)
 
@@ -415,9 +493,6 @@ document.addEventListener('DOMContentLoaded', () => {
         });
     }
 
-    // Refresh data every 30 seconds
-    setInterval(() => {
-        loadTransactions();
-        loadSavings();
-    }, 30000);
+    // Refresh data when the server says something changed
+    startLiveUpdates();
 });
\ No newline at end of file
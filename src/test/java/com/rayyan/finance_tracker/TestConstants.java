@@ -89,6 +89,15 @@ public class TestConstants {
     // Transaction API's
     public static final String CREATE_TRANSACTION_API = "/api/transaction/create";
     public static final String FETCH_ALL_TRANSACTIONS_API = "/api/transaction/fetchAll";
+    public static final String FETCH_TRANSACTION_PAGE_API = "/api/transaction/page";
+    public static final String FILTER_TRANSACTIONS_API = "/api/transaction/filter";
+    public static final String SEARCH_TRANSACTIONS_API = "/api/transaction/search";
+    public static final String EXPORT_TRANSACTIONS_API = "/api/transaction/export";
+    public static final String TRANSACTION_SUMMARY_API = "/api/transaction/summary";
+    public static final String IMPORT_TRANSACTIONS_API = "/api/transaction/import";
+    public static final String IMPORT_CSV_API = "/api/transaction/import/csv";
+    public static final String IMPORT_JOBS_API = "/api/transaction/import/jobs";
+    public static final String IMPORT_JOB_BY_ID_API = "/api/transaction/import/jobs/{id}";
     public static final String FETCH_TRANSACTION_BY_ID_API = "/api/transaction/{id}";
     public static final String UPDATE_TRANSACTION_API = "/api/transaction/update/{id}";
     public static final String DELETE_TRANSACTION_API = "/api/transaction/delete/{id}";
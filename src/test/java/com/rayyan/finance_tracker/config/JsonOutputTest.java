@@ -0,0 +1,81 @@
+package com.rayyan.finance_tracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JSON the API writes and the compression of responses.
+ * The test application.properties replaces the main one, so the compression settings are repeated here.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json,application/x-ndjson,text/html,text/css,text/javascript,application/javascript",
+        "server.compression.min-response-size=1KB"
+})
+@DisplayName("JSON Output and Compression Tests")
+public class JsonOutputTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Transaction Row - Compact, Plain Amount Keeping Its Scale")
+    void transactionRow_Compact() throws Exception {
+        TransactionView view = new TransactionView(1L, "Lunch", new BigDecimal("1.25E+3"),
+                Transaction.TransactionType.EXPENSE, "Food", LocalDateTime.of(2025, 6, 1, 9, 30));
+
+        assertEquals("{\"id\":1,\"description\":\"Lunch\",\"amount\":1250,\"transactionType\":\"EXPENSE\"," +
+                "\"category\":\"Food\",\"date\":\"2025-06-01T09:30:00\"}", objectMapper.writeValueAsString(view));
+        assertEquals("12.50", objectMapper.writeValueAsString(new BigDecimal("12.50")));
+    }
+
+    @Test
+    @DisplayName("LocalDateTime - Same Text as ISO_LOCAL_DATE_TIME")
+    void localDateTime_MatchesIsoFormatter() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+        List<LocalDateTime> dates = List.of(date, date.withNano(250_000_000), date.withNano(1),
+                date.withNano(123_456_789), date.withNano(100_000), LocalDateTime.of(9, 12, 31, 23, 59, 59),
+                LocalDateTime.of(10_000, 1, 1, 0, 0), LocalDateTime.of(-1, 1, 1, 0, 0), LocalDateTime.MAX);
+
+        for (LocalDateTime value : dates)
+            assertEquals('"' + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) + '"',
+                    objectMapper.writeValueAsString(value));
+    }
+
+    @Test
+    @DisplayName("Large Response - Gzipped When the Client Accepts It")
+    void largeResponse_Gzipped() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:" + port + "/js/dashboard.js");
+
+        HttpResponse<byte[]> gzipped = client.send(HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> plain = client.send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, gzipped.statusCode());
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+        assertTrue(gzipped.body().length < plain.body().length / 2);
+    }
+}
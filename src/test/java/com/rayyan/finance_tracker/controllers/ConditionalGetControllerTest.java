@@ -0,0 +1,131 @@
+package com.rayyan.finance_tracker.controllers;
+
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.SavingsService;
+import com.rayyan.finance_tracker.service.TransactionService;
+import com.rayyan.finance_tracker.service.UserDetailService;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.rayyan.finance_tracker.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the ETag / If-None-Match handling of the collection endpoints.
+ * Changes are published straight to the application context, like a committed service write would.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = VALID_USERNAME, password = VALID_PASSWORD)
+@DisplayName("Conditional GET Tests")
+public class ConditionalGetControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockitoBean
+    private SavingsService savingsService;
+
+    @MockitoBean
+    private TransactionService transactionService;
+
+    @MockitoBean
+    private UserDetailService userDetailService;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        user = User.builder()
+                .id(1L)
+                .username(VALID_USERNAME)
+                .password(VALID_PASSWORD)
+                .build();
+        when(userDetailService.getUserByUsername(VALID_USERNAME)).thenReturn(user);
+        when(savingsService.findAllSavings(user)).thenReturn(List.of());
+        when(savingsService.getTotalSavings(user)).thenReturn(new BigDecimal("250.00"));
+        when(transactionService.findTransactionsByUser(user)).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("First Request - Full Body With an ETag")
+    void firstRequest_TaggedWithETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/savings/my-savings"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().json("[]"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/\"savings-"), etag);
+    }
+
+    @Test
+    @DisplayName("Matching If-None-Match - 304 Without Calling the Service")
+    void matchingETag_NotModified() throws Exception {
+        String etag = etag("/api/savings/total-savings");
+        clearInvocations(savingsService);
+
+        mockMvc.perform(get("/api/savings/total-savings").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(savingsService);
+    }
+
+    @Test
+    @DisplayName("Savings Change - Old ETag Gets the New Body")
+    void savingsChange_NewETag() throws Exception {
+        String etag = etag("/api/savings/my-savings");
+
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), ChangeEvent.Resource.SAVINGS,
+                ChangeEvent.Action.DEPOSIT, 3L, new BigDecimal("10.00")));
+
+        String newEtag = mockMvc.perform(get("/api/savings/my-savings").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+        verify(savingsService, times(2)).findAllSavings(user);
+    }
+
+    @Test
+    @DisplayName("Another User's or Collection's Change - ETag Still Matches")
+    void otherChanges_StillNotModified() throws Exception {
+        String etag = etag("/api/transaction/fetchAll");
+
+        eventPublisher.publishEvent(new ChangeEvent(user.getId(), ChangeEvent.Resource.SAVINGS,
+                ChangeEvent.Action.DELETED, 3L, null));
+        eventPublisher.publishEvent(new ChangeEvent(2L, ChangeEvent.Resource.TRANSACTION,
+                ChangeEvent.Action.DELETED, 4L, null));
+
+        mockMvc.perform(get("/api/transaction/fetchAll").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(transactionService, times(1)).findTransactionsByUser(user);
+    }
+
+    private String etag(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,195 @@
+package com.rayyan.finance_tracker.controllers;
+
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionView;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.UserDetailService;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import com.rayyan.finance_tracker.service.events.ChangeEventStream;
+import com.rayyan.finance_tracker.service.jwt.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.TestSecurityContextHolder;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.rayyan.finance_tracker.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the Server-Sent Events change stream.
+ * Events are published straight to the application context, the services are covered by their own tests.
+ */
+@SpringBootTest(properties = "application.events.max-streams-per-user=2")
+@AutoConfigureMockMvc
+@WithMockUser(username = VALID_USERNAME, password = VALID_PASSWORD)
+@DisplayName("Change Event Stream Tests")
+public class EventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ChangeEventStream changeEventStream;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @MockitoBean
+    private UserDetailService userDetailService;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        user = User.builder()
+                .id(1L)
+                .username(VALID_USERNAME)
+                .password(VALID_PASSWORD)
+                .role(User.Role.USER)
+                .build();
+        when(userDetailService.getUserByUsername(VALID_USERNAME)).thenReturn(user);
+    }
+
+    @Test
+    @DisplayName("Open Stream - Async Event Stream Starting With Connected")
+    void openStream_SendsConnected() throws Exception {
+        MvcResult stream = open();
+
+        assertTrue(stream.getRequest().isAsyncStarted());
+        assertTrue(stream.getResponse().getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        assertTrue(stream.getResponse().getContentAsString().startsWith("event:connected\n"));
+    }
+
+    @Test
+    @DisplayName("Committed Change - Delta Pushed to the Owner Only")
+    void committedChange_PushedToOwner() throws Exception {
+        MvcResult stream = open();
+        TransactionView view = new TransactionView(7L, "Lunch", new BigDecimal("12.50"),
+                Transaction.TransactionType.EXPENSE, "Food", LocalDateTime.of(2025, 6, 1, 12, 0));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ChangeEvent(2L, ChangeEvent.Resource.SAVINGS,
+                    ChangeEvent.Action.DELETED, 3L, null));
+            eventPublisher.publishEvent(new ChangeEvent(1L, ChangeEvent.Resource.TRANSACTION,
+                    ChangeEvent.Action.CREATED, 7L, view));
+        });
+
+        String content = awaitContent(stream, "event:transaction");
+        assertTrue(content.contains("\"resource\":\"TRANSACTION\""));
+        assertTrue(content.contains("\"action\":\"CREATED\""));
+        assertTrue(content.contains("\"description\":\"Lunch\""));
+        assertFalse(content.contains("userId"));
+        assertFalse(content.contains("event:savings"));
+    }
+
+    @Test
+    @DisplayName("Rolled Back Change - Never Pushed")
+    void rolledBackChange_NotPushed() throws Exception {
+        MvcResult stream = open();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ChangeEvent(1L, ChangeEvent.Resource.SAVINGS,
+                    ChangeEvent.Action.DEPOSIT, 3L, new BigDecimal("10.00")));
+            status.setRollbackOnly();
+        });
+        eventPublisher.publishEvent(new ChangeEvent(1L, ChangeEvent.Resource.TRANSACTION,
+                ChangeEvent.Action.DELETED, 9L, null));
+
+        // events of one user are sent in order, so once the later one arrived the rolled back one never will
+        String content = awaitContent(stream, "event:transaction");
+        assertFalse(content.contains("event:savings"));
+    }
+
+    @Test
+    @DisplayName("Too Many Streams - Oldest Stream Is Closed")
+    void tooManyStreams_OldestClosed() throws Exception {
+        // every test streams as the same user, so at most two of their streams are ever open
+        open();
+        open();
+        open();
+
+        assertEquals(2, changeEventStream.openStreams());
+    }
+
+    @Test
+    @DisplayName("Completed Stream - Async Dispatch Passes Without the JWT Filter")
+    void completedStream_AsyncDispatchPermitted() throws Exception {
+        // authenticated by the JWT filter like a browser, which only runs on the first dispatch
+        TestSecurityContextHolder.clearContext();
+        String token = "Bearer " + jwtService.generateToken(user);
+        MvcResult stream = open(token);
+        // two more streams of the same user complete the first one
+        open(token);
+        open(token);
+
+        mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("No User - Stream Is Refused")
+    @WithAnonymousUser
+    void anonymous_StreamRefused() throws Exception {
+        mockMvc.perform(get("/api/events/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().is4xxClientError());
+    }
+
+    private MvcResult open() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/events/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return stream;
+    }
+
+    private MvcResult open(String authorization) throws Exception {
+        return mockMvc.perform(get("/api/events/stream").accept(MediaType.TEXT_EVENT_STREAM)
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    // events are sent from the stream's own pool, wait for them to land in the response.
+    // An event is written in several parts, it is complete once the blank line after it arrived
+    private String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = stream.getResponse().getContentAsString();
+        while (!hasEvent(content, expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertTrue(hasEvent(content, expected), "stream never received " + expected + ": " + content);
+        return content;
+    }
+
+    private static boolean hasEvent(String content, String expected) {
+        int start = content.indexOf(expected);
+        return start >= 0 && content.indexOf("\n\n", start) >= 0;
+    }
+}
@@ -0,0 +1,171 @@
+package com.rayyan.finance_tracker.controllers;
+
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import com.rayyan.finance_tracker.service.SavingsService;
+import com.rayyan.finance_tracker.service.UserDetailService;
+import com.rayyan.finance_tracker.service.idempotency.IdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.rayyan.finance_tracker.TestConstants.*;
+import static com.rayyan.finance_tracker.config.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
+import static com.rayyan.finance_tracker.config.IdempotencyFilter.REPLAYED_HEADER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the Idempotency-Key handling on the money moving endpoints.
+ * Every test uses a fresh key, the store is shared by the whole test context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = VALID_USERNAME, password = VALID_PASSWORD)
+@DisplayName("Idempotency-Key Tests")
+public class IdempotencyControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SavingsService savingsService;
+
+    @MockitoBean
+    private UserDetailService userDetailService;
+
+    @MockitoSpyBean
+    private IdempotencyStore idempotencyStore;
+
+    private User user;
+    private String key;
+
+    @BeforeEach
+    public void setup() {
+        user = User.builder()
+                .id(1L)
+                .username(VALID_USERNAME)
+                .password(VALID_PASSWORD)
+                .build();
+        when(userDetailService.getUserByUsername(VALID_USERNAME)).thenReturn(user);
+        when(savingsService.depositToSavings(eq(1L), any(BigDecimal.class), eq(user)))
+                .thenReturn("Deposited amount to Saving. New balance: 500.00");
+        key = UUID.randomUUID().toString();
+    }
+
+    @Test
+    @DisplayName("Same Key Twice - Deposit Runs Once and the Response Is Replayed")
+    void sameKey_ReplaysResponse() throws Exception {
+        mockMvc.perform(deposit("500.00").header(IDEMPOTENCY_KEY_HEADER, key))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(REPLAYED_HEADER))
+                .andExpect(content().string("Deposited amount to Saving. New balance: 500.00"));
+
+        mockMvc.perform(deposit("500.00").header(IDEMPOTENCY_KEY_HEADER, key))
+                .andExpect(status().isOk())
+                .andExpect(header().string(REPLAYED_HEADER, "true"))
+                .andExpect(content().string("Deposited amount to Saving. New balance: 500.00"));
+
+        verify(savingsService, times(1)).depositToSavings(eq(1L), any(BigDecimal.class), eq(user));
+    }
+
+    @Test
+    @DisplayName("Same Key, Different Body - Returns 422")
+    void sameKeyDifferentBody_Unprocessable() throws Exception {
+        mockMvc.perform(deposit("500.00").header(IDEMPOTENCY_KEY_HEADER, key))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(deposit("600.00").header(IDEMPOTENCY_KEY_HEADER, key))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.StatusCode").value(422))
+                .andExpect(jsonPath("$.message").value(IDEMPOTENCY_KEY_HEADER + " was already used for a different request"));
+
+        verify(savingsService, times(1)).depositToSavings(eq(1L), any(BigDecimal.class), eq(user));
+    }
+
+    @Test
+    @DisplayName("Client Error - Is Stored and Replayed Too")
+    void clientError_IsReplayed() throws Exception {
+        when(savingsService.depositToSavings(eq(1L), any(BigDecimal.class), eq(user)))
+                .thenThrow(new ValidationException("Amount must be greater than zero"));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(deposit("-5").header(IDEMPOTENCY_KEY_HEADER, key))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Amount must be greater than zero"));
+        }
+
+        verify(savingsService, times(1)).depositToSavings(eq(1L), any(BigDecimal.class), eq(user));
+    }
+
+    @Test
+    @DisplayName("Key Completed Between Lookup and Claim - Response Is Replayed")
+    void completedBeforeClaim_ReplaysResponse() throws Exception {
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                // the other request runs start to finish after this lookup missed
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        mockMvc.perform(deposit("500.00").header(IDEMPOTENCY_KEY_HEADER, key)
+                                        .with(user(VALID_USERNAME).password(VALID_PASSWORD)))
+                                .andExpect(status().isOk());
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }).join();
+                return null;
+            }
+            return invocation.callRealMethod();
+        }).when(idempotencyStore).find(VALID_USERNAME, key);
+
+        mockMvc.perform(deposit("500.00").header(IDEMPOTENCY_KEY_HEADER, key))
+                .andExpect(status().isOk())
+                .andExpect(header().string(REPLAYED_HEADER, "true"))
+                .andExpect(content().string("Deposited amount to Saving. New balance: 500.00"));
+
+        verify(savingsService, times(1)).depositToSavings(eq(1L), any(BigDecimal.class), eq(user));
+        assertTrue(idempotencyStore.begin(VALID_USERNAME, key));
+    }
+
+    @Test
+    @DisplayName("No Key - Every Request Runs")
+    void noKey_RunsEveryTime() throws Exception {
+        mockMvc.perform(deposit("500.00")).andExpect(status().isOk());
+        mockMvc.perform(deposit("500.00")).andExpect(status().isOk());
+
+        verify(savingsService, times(2)).depositToSavings(eq(1L), any(BigDecimal.class), eq(user));
+    }
+
+    @Test
+    @DisplayName("Blank Key - Returns 400")
+    void blankKey_BadRequest() throws Exception {
+        mockMvc.perform(deposit("500.00").header(IDEMPOTENCY_KEY_HEADER, " "))
+                .andExpect(status().isBadRequest());
+
+        verify(savingsService, never()).depositToSavings(anyLong(), any(BigDecimal.class), any(User.class));
+    }
+
+    private MockHttpServletRequestBuilder deposit(String amount) {
+        return post(DEPOSIT_SAVINGS_API, 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": " + amount + "}");
+    }
+}
@@ -2,6 +2,7 @@ package com.rayyan.finance_tracker.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.SavingsView;
 import com.rayyan.finance_tracker.entity.User;
 import com.rayyan.finance_tracker.exceptions.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -210,7 +211,7 @@ public class SavingsControllerTest {
         @DisplayName("Fetch All Savings - Success")
         void fetchAllSavings_Success() throws Exception {
             // when
-            when(savingsService.findAllSavings(user)).thenReturn(List.of(validSavings));
+            when(savingsService.findAllSavings(user)).thenReturn(List.of(view(validSavings)));
 
             // then
             mockMvc.perform(get(GET_ALL_SAVINGS_API)
@@ -586,7 +587,7 @@ public class SavingsControllerTest {
             // when
             validSavings.setCurrentAmount(BigDecimal.valueOf(200.00)); // set current amount less than target amount to be in-progress
             validSavings.setStatus(Savings.SavingsStatus.IN_PROGRESS); // set status to IN_PROGRESS
-            when(savingsService.getSavingsInProgress(user)).thenReturn(List.of(validSavings));
+            when(savingsService.getSavingsInProgress(user)).thenReturn(List.of(view(validSavings)));
 
             // perform
             mockMvc.perform(get(GET_INPROGRESS_SAVINGS_API)
@@ -625,7 +626,7 @@ public class SavingsControllerTest {
         @DisplayName("Get Savings Completed - Success")
         void getCompletedSavings_Success() throws Exception {
             // when
-            when(savingsService.getSavingsCompleted(user)).thenReturn(List.of(validSavings));
+            when(savingsService.getSavingsCompleted(user)).thenReturn(List.of(view(validSavings)));
 
             // perform
             mockMvc.perform(get(GET_COMPLETED_SAVINGS_API)
@@ -707,4 +708,11 @@ public class SavingsControllerTest {
             verify(savingsService, times(1)).getTotalSavings(user);
         }
     }
+
+    // the read only row the repository selects for a goal
+    private static SavingsView view(Savings savings) {
+        return new SavingsView(savings.getId(), savings.getSavingsName(), savings.getSavingsDescription(),
+                savings.getCurrentAmount(), savings.getTargetAmount(), savings.getCreatedAt(), savings.getUpdatedAt(),
+                savings.getStatus());
+    }
 }
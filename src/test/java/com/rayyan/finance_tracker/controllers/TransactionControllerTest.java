@@ -1,12 +1,23 @@
 package com.rayyan.finance_tracker.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rayyan.finance_tracker.entity.ImportJob;
+import com.rayyan.finance_tracker.entity.ImportResult;
+import com.rayyan.finance_tracker.entity.ImportRowError;
 import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionFilter;
+import com.rayyan.finance_tracker.entity.TransactionPage;
+import com.rayyan.finance_tracker.entity.TransactionSearchResult;
+import com.rayyan.finance_tracker.entity.TransactionSummary;
+import com.rayyan.finance_tracker.entity.TransactionView;
 import com.rayyan.finance_tracker.entity.User;
 import com.rayyan.finance_tracker.exceptions.TransactionNotFoundException;
 import com.rayyan.finance_tracker.exceptions.ValidationException;
 import com.rayyan.finance_tracker.service.TransactionService;
 import com.rayyan.finance_tracker.service.UserDetailService;
+import com.rayyan.finance_tracker.service.importer.ImportJobService;
+import com.rayyan.finance_tracker.service.importer.TransactionImportService;
+import com.rayyan.finance_tracker.service.search.TransactionSearchService;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,19 +25,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import static com.rayyan.finance_tracker.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,6 +66,15 @@ public class TransactionControllerTest {
     @MockitoBean
     private UserDetailService userDetailService;
 
+    @MockitoBean
+    private TransactionImportService importService;
+
+    @MockitoBean
+    private ImportJobService importJobService;
+
+    @MockitoBean
+    private TransactionSearchService searchService;
+
 
     private static final Map<Integer, String> test_Passes = new HashMap<>();
 
@@ -151,7 +177,7 @@ public class TransactionControllerTest {
     @Test
     void fetchAllTransactions_ReturnsListOfTransactions() throws Exception {
         // Arrange
-        List<Transaction> transactions = List.of(validTransactionSalary, validTransactionExpenses);
+        List<TransactionView> transactions = List.of(view(validTransactionSalary), view(validTransactionExpenses));
         when(transactionService.findTransactionsByUser(any(User.class))).thenReturn(transactions);
 
         // Act
@@ -186,6 +212,239 @@ public class TransactionControllerTest {
         test_Passes.put(4, "GET: Fetch all transactions for a user Returns No Transactions found");
     }
 
+    @Test
+    void fetchTransactionPage_ReturnsPageWithCursor() throws Exception {
+        // Arrange
+        TransactionPage page = new TransactionPage(List.of(view(validTransactionSalary)), "next-cursor", true);
+        when(transactionService.findTransactionPage(any(User.class), isNull(), eq(1))).thenReturn(page);
+
+        // Act
+        mockMvc.perform(get(FETCH_TRANSACTION_PAGE_API).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        // Verify
+        verify(transactionService, times(1)).findTransactionPage(any(User.class), isNull(), eq(1));
+
+        // pass the test
+        test_Passes.put(12, "GET: Fetch a page of transactions Returns the page and next cursor");
+    }
+
+    @Test
+    void filterTransactions_PassesEveryFilter() throws Exception {
+        // Arrange
+        TransactionPage page = new TransactionPage(List.of(view(validTransactionExpenses)), null, false);
+        when(transactionService.findFilteredPage(any(User.class), any(TransactionFilter.class), isNull(), isNull()))
+                .thenReturn(page);
+
+        // Act
+        mockMvc.perform(get(FILTER_TRANSACTIONS_API)
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-01-31")
+                        .param("type", "EXPENSE")
+                        .param("category", "Food", "Rent")
+                        .param("minAmount", "5")
+                        .param("maxAmount", "50.5")
+                        .param("description", "Lunch"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions.length()").value(1))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        // Verify
+        TransactionFilter expected = new TransactionFilter(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31),
+                Transaction.TransactionType.EXPENSE, List.of("Food", "Rent"), new BigDecimal("5"),
+                new BigDecimal("50.5"), "Lunch");
+        verify(transactionService, times(1)).findFilteredPage(any(User.class), eq(expected), isNull(), isNull());
+
+        // pass the test
+        test_Passes.put(19, "GET: Filter transactions Passes every filter to the service");
+    }
+
+    @Test
+    void filterTransactions_InvalidRange_ReturnsBadRequest() throws Exception {
+        // Arrange
+        when(transactionService.findFilteredPage(any(User.class), any(TransactionFilter.class), isNull(), isNull()))
+                .thenThrow(new ValidationException("Start date must not be after end date"));
+
+        // Act
+        mockMvc.perform(get(FILTER_TRANSACTIONS_API).param("from", "2025-02-01").param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Start date must not be after end date"));
+
+        // pass the test
+        test_Passes.put(20, "GET: Filter transactions with a reversed date range Returns Bad Request");
+    }
+
+    @Test
+    void searchTransactions_ReturnsRankedIds() throws Exception {
+        // Arrange
+        TransactionSearchResult result = new TransactionSearchResult(List.of(7L, 3L), 12, 1, true);
+        when(searchService.search(any(User.class), eq("amazon prime"), eq(1), eq(2)))
+                .thenReturn(result);
+
+        // Act
+        mockMvc.perform(get(SEARCH_TRANSACTIONS_API).param("q", "amazon prime").param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ids[0]").value(7))
+                .andExpect(jsonPath("$.ids[1]").value(3))
+                .andExpect(jsonPath("$.total").value(12))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        // Verify
+        verify(searchService, times(1)).search(any(User.class), eq("amazon prime"), eq(1), eq(2));
+
+        // pass the test
+        test_Passes.put(21, "GET: Search transactions Returns the ranked IDs of one page");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportTransactions_StreamsNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<TransactionView> consumer = invocation.getArgument(1);
+            consumer.accept(view(validTransactionSalary));
+            consumer.accept(view(validTransactionExpenses));
+            return null;
+        }).when(transactionService).streamTransactionsByUser(any(User.class), any(Consumer.class));
+
+        // Act
+        String body = mockMvc.perform(get(EXPORT_TRANSACTIONS_API))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Verify: one compact JSON object per line
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("test transaction salary",
+                objectMapper.readTree(lines[0]).get("description").asText());
+        assertEquals("test transaction Expenses",
+                objectMapper.readTree(lines[1]).get("description").asText());
+
+        // pass the test
+        test_Passes.put(13, "GET: Export transactions Streams one JSON line per transaction");
+    }
+
+    @Test
+    void getSummary_WithDateRange_ReturnsTotals() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+        TransactionSummary summary = TransactionSummary.builder()
+                .from(from)
+                .to(to)
+                .totalIncome(new BigDecimal("200"))
+                .totalExpenses(new BigDecimal("600"))
+                .balance(new BigDecimal("-400"))
+                .transactionCount(2)
+                .categories(List.of())
+                .build();
+        when(transactionService.getSummary(any(User.class), eq(from), eq(to))).thenReturn(summary);
+
+        // Act
+        mockMvc.perform(get(TRANSACTION_SUMMARY_API).param("from", "2025-01-01").param("to", "2025-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalIncome").value(200))
+                .andExpect(jsonPath("$.totalExpenses").value(600))
+                .andExpect(jsonPath("$.balance").value(-400))
+                .andExpect(jsonPath("$.transactionCount").value(2));
+
+        // Verify
+        verify(transactionService, times(1)).getSummary(any(User.class), eq(from), eq(to));
+
+        // pass the test
+        test_Passes.put(14, "GET: Transaction summary for a date range Returns the totals");
+    }
+
+    @Test
+    void importTransactions_ReturnsImportResult() throws Exception {
+        // Arrange
+        ImportResult result = new ImportResult(2, 1, List.of(new ImportRowError(2, "Category cannot be empty")));
+        when(importService.importTransactions(any(User.class), anyList())).thenReturn(result);
+
+        // Act
+        mockMvc.perform(post(IMPORT_TRANSACTIONS_API)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validTransactionSalary, invalidTransaction))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Category cannot be empty"));
+
+        // Verify
+        verify(importService, times(1)).importTransactions(any(User.class), anyList());
+
+        // pass the test
+        test_Passes.put(15, "POST: Import a JSON array of transactions Returns the import result");
+    }
+
+    @Test
+    void importCsv_ReturnsImportResult() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+                "date,description,amount,type,category\n2025-01-01,Salary,200,INCOME,Salary\n".getBytes());
+        when(importService.importCsv(any(User.class), any())).thenReturn(new ImportResult(1, 1, List.of()));
+
+        // Act
+        mockMvc.perform(multipart(IMPORT_CSV_API).file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        // Verify
+        verify(importService, times(1)).importCsv(any(User.class), any());
+
+        // pass the test
+        test_Passes.put(16, "POST: Import a CSV statement Returns the import result");
+    }
+
+    @Test
+    void startImportJob_ReturnsJob() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "statement.ofx", "application/x-ofx",
+                "<STMTTRN><DTPOSTED>20250101<TRNAMT>200<NAME>Salary</STMTTRN>".getBytes());
+        ImportJob job = ImportJob.builder().id(7L).format(ImportJob.Format.OFX)
+                .status(ImportJob.Status.COMPLETED).rowsRead(1).rowsImported(1).committedPosition(1).build();
+        when(importJobService.start(any(User.class), eq("statement.ofx"), isNull(), any())).thenReturn(job);
+
+        // Act
+        mockMvc.perform(multipart(IMPORT_JOBS_API).file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsImported").value(1));
+
+        // Verify
+        verify(importJobService, times(1)).start(any(User.class), eq("statement.ofx"), isNull(), any());
+
+        // pass the test
+        test_Passes.put(17, "POST: Start an import job Returns the finished job");
+    }
+
+    @Test
+    void getImportJob_ReturnsProgress() throws Exception {
+        // Arrange
+        ImportJob job = ImportJob.builder().id(7L).format(ImportJob.Format.CSV)
+                .status(ImportJob.Status.RUNNING).rowsRead(3000).rowsImported(2990).committedPosition(3001).build();
+        when(importJobService.getJob(any(User.class), eq(7L))).thenReturn(job);
+
+        // Act
+        mockMvc.perform(get(IMPORT_JOB_BY_ID_API, 7L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.rowsRead").value(3000))
+                .andExpect(jsonPath("$.committedPosition").value(3001));
+
+        // Verify
+        verify(importJobService, times(1)).getJob(any(User.class), eq(7L));
+
+        // pass the test
+        test_Passes.put(18, "GET: Import job progress Returns the job");
+    }
+
     @Test
     void getTransactionById_ReturnsTransaction() throws Exception {
         // Arrange
@@ -320,7 +579,7 @@ public class TransactionControllerTest {
     @AfterAll
     static void afterAll() {
         int maxLength = 0;
-        int totalTests = 14;
+        int totalTests = 21;
         int passedTests = test_Passes.size();
 
         Map<Integer, String> PostMap = new TreeMap<>();
@@ -378,6 +637,10 @@ public class TransactionControllerTest {
             System.out.println("SUMMARY: " + passedTests + "/" + totalTests + " tests passed.");
         System.out.println("---------------------------------");
     }
-}
-
 
+    // the read only row the repository selects for a transaction
+    private static TransactionView view(Transaction transaction) {
+        return new TransactionView(transaction.getId(), transaction.getDescription(), transaction.getAmount(),
+                transaction.getTransactionType(), transaction.getCategory(), transaction.getDate());
+    }
+}
@@ -0,0 +1,100 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.service.idempotency.IdempotencyStore;
+import com.rayyan.finance_tracker.service.idempotency.IdempotentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * The database tier of the idempotency store against the idempotency_keys table from the migrations.
+ * A second store stands in for a restarted (or another) instance with an empty memory tier.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Idempotency Store Tests")
+public class IdempotencyStoreTest {
+
+    private static final byte[] HASH = new byte[32];
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+    }
+
+    @Test
+    @DisplayName("Stored Response - Found by Another Instance")
+    void storedResponse_FoundAfterRestart() {
+        assertTrue(store.begin("alice", "key-1"));
+        store.complete("alice", "key-1", response(201, "created"));
+
+        IdempotentResponse found = newStore().find("alice", "key-1");
+
+        assertNotNull(found);
+        assertEquals(201, found.status());
+        assertEquals("application/json", found.contentType());
+        assertEquals("created", new String(found.body(), StandardCharsets.UTF_8));
+        assertTrue(found.matches(HASH));
+    }
+
+    @Test
+    @DisplayName("Keys - Scoped per User")
+    void keys_ScopedPerUser() {
+        store.complete("alice", "shared-key", response(200, "alice"));
+
+        assertNull(newStore().find("bob", "shared-key"));
+        assertTrue(store.begin("bob", "shared-key"));
+    }
+
+    @Test
+    @DisplayName("Running Key - Second Begin Fails Until Released")
+    void runningKey_CannotBeginTwice() {
+        assertTrue(store.begin("alice", "key-2"));
+        assertFalse(store.begin("alice", "key-2"));
+
+        store.release("alice", "key-2");
+
+        assertTrue(store.begin("alice", "key-2"));
+        assertNull(store.find("alice", "key-2"));
+    }
+
+    @Test
+    @DisplayName("Expired Row - Not Replayed and Purged")
+    void expiredRow_IsPurged() {
+        jdbcTemplate.update("INSERT INTO idempotency_keys (username, idempotency_key, request_hash, status, " +
+                        "content_type, body, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                "alice", "old-key", HASH, 200, null, new byte[0],
+                Timestamp.valueOf(LocalDateTime.now().minusDays(2)));
+        store.complete("alice", "new-key", response(200, "fresh"));
+
+        assertNull(store.find("alice", "old-key"));
+        assertEquals(1, store.purgeExpired());
+        assertNotNull(newStore().find("alice", "new-key"));
+    }
+
+    private IdempotencyStore newStore() {
+        return new IdempotencyStore(jdbcTemplate, new SimpleMeterRegistry(), Duration.ofHours(24), 100, true);
+    }
+
+    private IdempotentResponse response(int status, String body) {
+        return new IdempotentResponse(HASH, status, "application/json", body.getBytes(StandardCharsets.UTF_8),
+                LocalDateTime.now());
+    }
+}
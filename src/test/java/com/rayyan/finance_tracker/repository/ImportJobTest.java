@@ -0,0 +1,210 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.ImportJob;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ImportJobNotFoundException;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import com.rayyan.finance_tracker.service.TransactionRollupService;
+import com.rayyan.finance_tracker.service.TransactionService;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import com.rayyan.finance_tracker.service.importer.ImportJobService;
+import com.rayyan.finance_tracker.service.importer.TransactionBatchWriter;
+import com.rayyan.finance_tracker.service.importer.TransactionImportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Import jobs commit every chunk in its own transaction, so the test runs without the usual
+ * rolled back test transaction and cleans up after itself.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ImportJobService.class, TransactionImportService.class, TransactionBatchWriter.class,
+        TransactionService.class, TransactionRollupService.class, OptimisticRetry.class, SimpleMeterRegistry.class})
+@DisplayName("Import Job Tests")
+public class ImportJobTest {
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("importJobUser")
+                .email("import.job@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : new String[]{"import_jobs", "transaction_rollups", "transactions"})
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("CSV Job - Commits Every Chunk and Counts Rejected Rows")
+    void csvJob_CommitsEveryChunk() {
+        ImportJob job = importJobService.start(user, "statement.csv", null, csv(2500, 1200, null, "abc"));
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(ImportJob.Format.CSV, job.getFormat());
+        assertEquals(2500, job.getRowsRead());
+        assertEquals(2499, job.getRowsImported());
+        assertEquals(1, job.getRowsRejected());
+        assertEquals(2501, job.getCommittedPosition()); // header is line 1
+        assertEquals("row 1201: Invalid amount: abc", job.getFirstRejection());
+        assertEquals(2499, transactionRepository.findByUser(user).size());
+        assertTrue(rollupService.verify(user));
+    }
+
+    @Test
+    @DisplayName("Failed Chunk - Keeps Committed Chunks and Resumes After Them")
+    void failedChunk_ResumesAfterCommittedPosition() {
+        // a description too long for the column passes validation but fails the insert of the second chunk
+        ImportJob failed = importJobService.start(user, "statement.csv", null, csv(2500, 1500, "x".repeat(300), null));
+
+        assertEquals(ImportJob.Status.FAILED, failed.getStatus());
+        assertNotNull(failed.getErrorMessage());
+        assertEquals(1000, failed.getRowsImported());
+        assertEquals(1001, failed.getCommittedPosition());
+        assertEquals(1000, transactionRepository.findByUser(user).size());
+
+        ImportJob resumed = importJobService.resume(user, failed.getId(), csv(2500));
+
+        assertEquals(ImportJob.Status.COMPLETED, resumed.getStatus());
+        assertNull(resumed.getErrorMessage());
+        assertEquals(2500, resumed.getRowsRead());
+        assertEquals(2500, resumed.getRowsImported());
+        assertEquals(2500, transactionRepository.findByUser(user).size());
+        assertTrue(rollupService.verify(user));
+    }
+
+    @Test
+    @DisplayName("Job Taken Over - Old Run Rolls Back Its Chunk and Stops")
+    void takenOverJob_OldRunStops() throws IOException {
+        byte[] statement = csv(2500).readAllBytes();
+        // once the first chunk is in, another run moves the job past the second chunk
+        InputStream takenOver = new FilterInputStream(new ByteArrayInputStream(statement)) {
+            private int read;
+            private boolean moved;
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                read += Math.max(n, 0);
+                if (!moved && read >= statement.length * 3 / 4) {
+                    jdbcTemplate.update("UPDATE import_jobs SET committed_position = 2001 WHERE user_id = ?", user.getId());
+                    moved = true;
+                }
+                return n;
+            }
+        };
+
+        ImportJob job = importJobService.start(user, "statement.csv", null, takenOver);
+
+        assertEquals(ImportJob.Status.RUNNING, job.getStatus());
+        assertEquals(2001, job.getCommittedPosition());
+        assertEquals(1000, job.getRowsImported());
+        assertEquals(1000, transactionRepository.findByUser(user).size());
+    }
+
+    @Test
+    @DisplayName("Completed Job - Cannot Be Resumed")
+    void completedJob_ResumeThrows() {
+        ImportJob job = importJobService.start(user, "statement.csv", null, csv(3));
+
+        assertThrows(ValidationException.class, () -> importJobService.resume(user, job.getId(), csv(3)));
+    }
+
+    @Test
+    @DisplayName("OFX Job - Format Taken From the File Extension")
+    void ofxJob_IsImported() {
+        String ofx = "<OFX><BANKTRANLIST>" +
+                "<STMTTRN><DTPOSTED>20250601<TRNAMT>-9.99<NAME>Books</STMTTRN>" +
+                "<STMTTRN><DTPOSTED>20250602<TRNAMT>100<NAME>Refund</STMTTRN>" +
+                "</BANKTRANLIST></OFX>";
+
+        ImportJob job = importJobService.start(user, "june.QFX", null, stream(ofx));
+
+        assertEquals(ImportJob.Format.OFX, job.getFormat());
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getRowsImported());
+        assertEquals(2, job.getCommittedPosition());
+    }
+
+    @Test
+    @DisplayName("Bad Header - Job Fails Without Importing")
+    void badHeader_JobFails() {
+        ImportJob job = importJobService.start(user, "statement.csv", null, stream("date,amount\n2025-06-01,1\n"));
+
+        assertEquals(ImportJob.Status.FAILED, job.getStatus());
+        assertEquals("CSV header is missing the description column", job.getErrorMessage());
+        assertEquals(0, job.getRowsRead());
+    }
+
+    @Test
+    @DisplayName("Another User's Job - Throws ImportJobNotFoundException")
+    void otherUsersJob_Throws() {
+        ImportJob job = importJobService.start(user, "statement.csv", null, csv(1));
+        User other = User.builder().id(-1L).username("someoneElse").build();
+
+        assertThrows(ImportJobNotFoundException.class, () -> importJobService.getJob(other, job.getId()));
+        assertEquals(1, importJobService.getJobs(user).size());
+    }
+
+    private InputStream csv(int rows) {
+        return csv(rows, -1, null, null);
+    }
+
+    // a CSV of valid expense rows, row badRow (1 based) gets the given description and/or amount instead
+    private InputStream csv(int rows, int badRow, String description, String amount) {
+        StringBuilder csv = new StringBuilder("date,description,amount,type,category\n");
+        for (int i = 1; i <= rows; i++) {
+            boolean bad = i == badRow;
+            csv.append("2025-").append(String.format("%02d", 1 + i % 12)).append("-01,")
+                    .append(bad && description != null ? description : "row " + i).append(',')
+                    .append(bad && amount != null ? amount : "1.00").append(",EXPENSE,Food\n");
+        }
+        return stream(csv.toString());
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
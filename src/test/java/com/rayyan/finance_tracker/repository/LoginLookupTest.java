@@ -0,0 +1,63 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Login Lookup Tests")
+public class LoginLookupTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(user("loginUser", "login.user@example.com"));
+        // a username that is also somebody else's email
+        userRepository.save(user("login.user@example.com", "other.user@example.com"));
+    }
+
+    @Test
+    @DisplayName("By Username - Finds the Account")
+    void byUsername_Found() {
+        assertEquals("login.user@example.com", userRepository.findByLogin("loginUser").orElseThrow().getEmail());
+    }
+
+    @Test
+    @DisplayName("By Email - Finds the Account")
+    void byEmail_Found() {
+        assertEquals("login.user@example.com", userRepository.findByLogin("other.user@example.com").orElseThrow()
+                .getUsername());
+    }
+
+    @Test
+    @DisplayName("Username and Email Clash - Username Match Wins")
+    void clash_PrefersUsername() {
+        assertEquals(2, userRepository.findAllByLogin("login.user@example.com").size());
+        assertEquals("other.user@example.com", userRepository.findByLogin("login.user@example.com").orElseThrow()
+                .getEmail());
+    }
+
+    @Test
+    @DisplayName("Unknown Login - Empty")
+    void unknown_Empty() {
+        assertTrue(userRepository.findByLogin("nobody@example.com").isEmpty());
+    }
+
+    private User user(String username, String email) {
+        return User.builder()
+                .username(username)
+                .email(email)
+                .password("password")
+                .role(User.Role.USER)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.SavingsService;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Version checks happen when a transaction commits, so every step commits on its own here
+ * and the test cleans up after itself.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SavingsService.class, OptimisticRetry.class, SimpleMeterRegistry.class})
+@DisplayName("Optimistic Locking Tests")
+public class OptimisticLockingTest {
+
+    @Autowired
+    private SavingsService savingsService;
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
+    @Autowired
+    private SavingsRepository savingsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Savings goal;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("lockingUser")
+                .email("locking.user@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        goal = savingsRepository.save(Savings.builder()
+                .savingsName("Bike")
+                .savingsDescription("A new bike")
+                .currentAmount(BigDecimal.ZERO)
+                .targetAmount(BigDecimal.valueOf(800))
+                .user(user)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM savings WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Stale Goal - Save Fails Instead of Undoing a Deposit")
+    void staleGoal_SaveFails() {
+        savingsService.depositToSavings(goal.getId(), BigDecimal.valueOf(100), user);
+
+        // goal was read before the deposit, saving it would have written the old balance back
+        goal.setSavingsName("Road bike");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> savingsRepository.save(goal));
+
+        Savings saved = savingsRepository.findById(goal.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(saved.getCurrentAmount()));
+        assertEquals("Bike", saved.getSavingsName());
+    }
+
+    @Test
+    @DisplayName("Concurrent Edit - Retried on the Fresh Row")
+    void concurrentEdit_Retried() {
+        AtomicBoolean interfered = new AtomicBoolean();
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        String result = optimisticRetry.run("updateSavings", () -> {
+            Savings current = savingsService.findSavingsByIdAndUser(goal.getId(), user);
+            if (interfered.compareAndSet(false, true)) {
+                // someone else deposits and commits after this attempt read the goal
+                requiresNew.executeWithoutResult(status -> jdbcTemplate.update("UPDATE savings SET current_amount = current_amount + 50, version = version + 1 " +
+                        "WHERE id = ?", current.getId()));
+            }
+            current.setSavingsName("Road bike");
+            return current.getSavingsName();
+        });
+
+        assertEquals("Road bike", result);
+        Savings saved = savingsRepository.findById(goal.getId()).orElseThrow();
+        assertEquals("Road bike", saved.getSavingsName());
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(saved.getCurrentAmount()));
+        assertEquals(1.0, meterRegistry.get("optimistic.lock.retries").tag("operation", "updateSavings")
+                .counter().count());
+    }
+}
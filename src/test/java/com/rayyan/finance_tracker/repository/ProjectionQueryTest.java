@@ -0,0 +1,128 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.SavingsView;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionView;
+import com.rayyan.finance_tracker.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * The read endpoints select views with constructor expressions, none of them may leave
+ * an entity in the persistence context
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Projection Query Tests")
+public class ProjectionQueryTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 6, 1, 9, 30);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SavingsRepository savingsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("projectionUser")
+                .email("projection@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            transactionRepository.save(new Transaction(null, "row " + i, BigDecimal.valueOf(10 + i),
+                    Transaction.TransactionType.EXPENSE, "Food", DATE.minusDays(i), user, 0L));
+        }
+        savingsRepository.save(savings("Car", "500.00"));
+        savingsRepository.save(savings("Trip", "2000.00"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Transaction Views - Every Column Selected, Nothing Managed")
+    void transactionViews_NotManaged() {
+        List<TransactionView> views = transactionRepository.findViewsByUser(user);
+
+        assertEquals(3, views.size());
+        TransactionView newest = views.stream().filter(view -> view.description().equals("row 0")).findFirst()
+                .orElseThrow();
+        assertNotNull(newest.id());
+        assertEquals(0, BigDecimal.TEN.compareTo(newest.amount()));
+        assertEquals(Transaction.TransactionType.EXPENSE, newest.transactionType());
+        assertEquals("Food", newest.category());
+        assertEquals(DATE, newest.date());
+        assertEquals(0, managedEntities());
+    }
+
+    @Test
+    @DisplayName("Transaction Pages and Stream - Newest First, Nothing Managed")
+    void transactionPages_NotManaged() {
+        List<TransactionView> first = transactionRepository.findFirstPage(user, PageRequest.of(0, 2));
+        TransactionView last = first.get(1);
+        List<TransactionView> next = transactionRepository.findPageAfter(user, last.date(), last.id(),
+                PageRequest.of(0, 2));
+
+        assertEquals(List.of("row 0", "row 1"), first.stream().map(TransactionView::description).toList());
+        assertEquals(List.of("row 2"), next.stream().map(TransactionView::description).toList());
+        try (Stream<TransactionView> stream = transactionRepository.streamByUser(user)) {
+            assertEquals(3, stream.count());
+        }
+        assertEquals(0, managedEntities());
+    }
+
+    @Test
+    @DisplayName("Savings Views - Filtered by Status, Nothing Managed")
+    void savingsViews_NotManaged() {
+        List<SavingsView> all = savingsRepository.findViewsByUser(user);
+        List<SavingsView> completed = savingsRepository.findViewsByUserAndStatus(user, Savings.SavingsStatus.COMPLETED);
+
+        assertEquals(2, all.size());
+        assertEquals(1, completed.size());
+        assertEquals("Trip", completed.get(0).savingsName());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(completed.get(0).targetAmount()));
+        assertNotNull(completed.get(0).createdAt());
+        assertEquals(0, managedEntities());
+    }
+
+    private int managedEntities() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+
+    // a goal with a 1000.00 target, COMPLETED once the balance reaches it
+    private Savings savings(String name, String currentAmount) {
+        return Savings.builder()
+                .savingsName(name)
+                .savingsDescription(name + " fund")
+                .currentAmount(new BigDecimal(currentAmount))
+                .targetAmount(new BigDecimal("1000.00"))
+                .user(user)
+                .build();
+    }
+}
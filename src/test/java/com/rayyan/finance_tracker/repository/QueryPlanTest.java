@@ -0,0 +1,208 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionFilter;
+import com.rayyan.finance_tracker.entity.TransactionView;
+import com.rayyan.finance_tracker.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.math.BigDecimal;
+import java.sql.ParameterMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/*
+ * Calls every per-user repository query against the Flyway managed schema, captures the SQL Hibernate
+ * generates for it and fails if EXPLAIN shows a full table scan for any of the statements.
+ * When a repository query is added, add a call here.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.rayyan.finance_tracker.repository.QueryPlanTest$CapturedStatements")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Query Plan Tests")
+public class QueryPlanTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private SavingsRepository savingsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // a few rows so the planner has statistics to work with
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role) VALUES " +
+                "(1, 'planUser1', 'plan1@example.com', 'password', 'USER'), " +
+                "(2, 'planUser2', 'plan2@example.com', 'password', 'USER')");
+        for (int i = 0; i < 20; i++) {
+            jdbcTemplate.update("INSERT INTO transactions (description, amount, transaction_type, category, date, user_id) " +
+                            "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, ?)",
+                    "row " + i, 10 + i, i % 2 == 0 ? "INCOME" : "EXPENSE", "Food", i % 2 + 1);
+            jdbcTemplate.update("INSERT INTO savings (savings_name, savings_description, current_amount, target_amount, " +
+                            "created_at, status, user_id) VALUES (?, ?, 0, 100, CURRENT_TIMESTAMP, 'IN_PROGRESS', ?)",
+                    "goal " + i, "goal " + i, i % 2 + 1);
+        }
+        user = userRepository.findById(1L).orElseThrow();
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("TransactionRepository.findByUser", test -> test.transactionRepository.findByUser(test.user)),
+                query("TransactionRepository.findViewsByUser",
+                        test -> test.transactionRepository.findViewsByUser(test.user)),
+                query("TransactionRepository.findByIdAndUser",
+                        test -> test.transactionRepository.findByIdAndUser(5L, test.user)),
+                query("TransactionRepository.findByTransactionTypeAndUser",
+                        test -> test.transactionRepository.findByTransactionTypeAndUser(
+                                Transaction.TransactionType.INCOME, test.user)),
+                query("TransactionRepository.findByCategoryAndUser",
+                        test -> test.transactionRepository.findByCategoryAndUser("Food", test.user)),
+                query("TransactionRepository.findFirstPage",
+                        test -> test.transactionRepository.findFirstPage(test.user, PageRequest.of(0, 51))),
+                query("TransactionRepository.findPageAfter",
+                        test -> test.transactionRepository.findPageAfter(test.user, DATE, 10L, PageRequest.of(0, 51))),
+                query("TransactionRepository.streamByUser", test -> {
+                    try (Stream<TransactionView> rows = test.transactionRepository.streamByUser(test.user)) {
+                        rows.forEach(row -> {
+                        });
+                    }
+                }),
+                query("TransactionRepository.sumByCategoryAndType",
+                        test -> test.transactionRepository.sumByCategoryAndType(test.user, DATE, DATE.plusMonths(1))),
+                query("TransactionRepository.sumByPeriodCategoryAndType",
+                        test -> test.transactionRepository.sumByPeriodCategoryAndType(test.user)),
+                // a date range with categories and a description prefix
+                query("TransactionRepository.findFiltered (dates, categories, prefix)",
+                        test -> test.transactionRepository.findFiltered(test.user, TransactionFilter.builder()
+                                .from(LocalDate.of(2025, 1, 1))
+                                .to(LocalDate.of(2025, 1, 31))
+                                .categories(List.of("Food", "Rent"))
+                                .descriptionPrefix("row")
+                                .build(), null, null, 51)),
+                // type and amount range on a later page
+                query("TransactionRepository.findFiltered (type, amounts, after)",
+                        test -> test.transactionRepository.findFiltered(test.user, TransactionFilter.builder()
+                                .type(Transaction.TransactionType.EXPENSE)
+                                .minAmount(BigDecimal.TEN)
+                                .maxAmount(BigDecimal.valueOf(20))
+                                .build(), DATE, 10L, 51)),
+                query("TransactionRollupRepository.sumByCategoryAndType",
+                        test -> test.rollupRepository.sumByCategoryAndType(test.user, 202501, 202512)),
+                query("TransactionRollupRepository.findPeriodTotals",
+                        test -> test.rollupRepository.findPeriodTotals(test.user)),
+                query("SavingsRepository.findByUser", test -> test.savingsRepository.findByUser(test.user)),
+                query("SavingsRepository.findViewsByUser", test -> test.savingsRepository.findViewsByUser(test.user)),
+                query("SavingsRepository.findByIdAndUser",
+                        test -> test.savingsRepository.findByIdAndUser(5L, test.user)),
+                query("SavingsRepository.findViewsByUserAndStatus",
+                        test -> test.savingsRepository.findViewsByUserAndStatus(test.user,
+                                Savings.SavingsStatus.IN_PROGRESS)),
+                query("SavingsRepository.sumCurrentAmountByUser",
+                        test -> test.savingsRepository.sumCurrentAmountByUser(test.user)),
+                query("SavingsRepository.existsByIdAndUser",
+                        test -> test.savingsRepository.existsByIdAndUser(5L, test.user)),
+                query("UserRepository.findByUsername", test -> test.userRepository.findByUsername("planUser1")),
+                query("UserRepository.findByEmail", test -> test.userRepository.findByEmail("plan1@example.com")),
+                query("UserRepository.findAllByLogin", test -> test.userRepository.findAllByLogin("plan1@example.com"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Per User Queries - Use an Index")
+    @MethodSource("repositoryQueries")
+    void perUserQuery_UsesIndex(String query, Consumer<QueryPlanTest> call) {
+        CapturedStatements.clear();
+        call.accept(this);
+        List<String> statements = CapturedStatements.get();
+
+        assertFalse(statements.isEmpty(), () -> query + " ran no SQL");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.toLowerCase().contains("tablescan"), () -> "Full table scan for: " + query + "\n" + plan);
+        }
+    }
+
+    private static Arguments query(String name, Consumer<QueryPlanTest> call) {
+        return Arguments.of(name, call);
+    }
+
+    // EXPLAIN with a value bound to every parameter, of the type H2 expects there
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatementCallback<String>) statement -> {
+            ParameterMetaData parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++)
+                statement.setObject(i, sampleValue(parameters.getParameterType(i)));
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    private static Object sampleValue(int sqlType) {
+        return switch (sqlType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> 1;
+            case Types.DECIMAL, Types.NUMERIC -> BigDecimal.TEN;
+            case Types.DATE, Types.TIMESTAMP -> Timestamp.valueOf(DATE);
+            default -> "1";
+        };
+    }
+
+    /**
+     * Collects the SQL Hibernate sends, set as this test's hibernate.session_factory.statement_inspector
+     */
+    public static class CapturedStatements implements StatementInspector {
+
+        private static final List<String> statements = new ArrayList<>();
+
+        static synchronized void clear() {
+            statements.clear();
+        }
+
+        static synchronized List<String> get() {
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (CapturedStatements.class) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.SavingsService;
+import com.rayyan.finance_tracker.service.TransactionRollupService;
+import com.rayyan.finance_tracker.service.TransactionService;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Every statement of the query paths must run in a read only transaction: the session flushes manually,
+ * loads entities read only (no dirty checking snapshots) and Hibernate statistics count no flush.
+ * A statement inspector records the transaction state of each SQL statement Hibernate prepares.
+ * The services own their transactions, so the test runs without the usual rolled back one.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.rayyan.finance_tracker.repository.ReadOnlyTransactionTest$RecordingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SavingsService.class, TransactionService.class, TransactionRollupService.class,
+        OptimisticRetry.class, SimpleMeterRegistry.class})
+@DisplayName("Read Only Transaction Tests")
+public class ReadOnlyTransactionTest {
+
+    private static final List<StatementState> statements = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private SavingsService savingsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SavingsRepository savingsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Savings goal;
+    private Transaction transaction;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("readOnlyUser")
+                .email("read.only@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        goal = savingsRepository.save(Savings.builder()
+                .savingsName("Car")
+                .savingsDescription("A new car")
+                .currentAmount(new BigDecimal("100.00"))
+                .targetAmount(new BigDecimal("1000.00"))
+                .user(user)
+                .build());
+        transaction = new Transaction(null, "Groceries", new BigDecimal("42.00"), Transaction.TransactionType.EXPENSE,
+                "Food", LocalDateTime.of(2025, 6, 3, 12, 0), user, 0L);
+        transactionService.createTransaction(transaction);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statements.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : new String[]{"transaction_rollups", "transactions", "savings"})
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Query Paths - Read Only, Manual Flush, Never Flushed")
+    void queryPaths_RunReadOnly() {
+        savingsService.findAllSavings(user);
+        savingsService.findSavingsByIdAndUser(goal.getId(), user);
+        savingsService.getTotalSavings(user);
+        savingsService.getSavingsInProgress(user);
+        transactionService.findTransactionsByUser(user);
+        transactionService.findTransactionPage(user, null, 10);
+        transactionService.getTransactionByIdAndUser(transaction.getId(), user);
+        transactionService.getSummary(user, null, null); // rollup table
+        transactionService.getSummary(user, LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 9)); // raw rows
+
+        assertFalse(statements.isEmpty());
+        for (StatementState statement : statements) {
+            assertTrue(statement.readOnlyTransaction(), () -> "not in a read only transaction: " + statement.sql());
+            assertTrue(statement.readOnlySession(), () -> "entities loaded with snapshots: " + statement.sql());
+            assertEquals(FlushMode.MANUAL, statement.flushMode(), statement::sql);
+        }
+        // two entities were loaded, neither was flushed nor written back
+        assertEquals(2, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getFlushCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    @DisplayName("Write Path - Runs in a Read Write Transaction")
+    void writePath_ReadWrite() {
+        savingsService.depositToSavings(goal.getId(), new BigDecimal("50.00"), user);
+
+        assertFalse(statements.isEmpty());
+        assertTrue(statements.stream().noneMatch(StatementState::readOnlyTransaction));
+        assertTrue(statements.stream().allMatch(statement -> statement.flushMode() == FlushMode.AUTO));
+    }
+
+    record StatementState(String sql, boolean readOnlyTransaction, boolean readOnlySession, FlushMode flushMode) {
+    }
+
+    // Created by Hibernate from the statement_inspector property, records the state of the bound session
+    public static class RecordingInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+                if (resource instanceof EntityManagerHolder holder) {
+                    Session session = holder.getEntityManager().unwrap(Session.class);
+                    statements.add(new StatementState(sql, TransactionSynchronizationManager.isCurrentTransactionReadOnly(),
+                            session.isDefaultReadOnly(), session.getHibernateFlushMode()));
+                }
+            }
+            return sql;
+        }
+    }
+}
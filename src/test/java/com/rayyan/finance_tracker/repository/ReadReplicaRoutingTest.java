@@ -0,0 +1,182 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.config.ReadReplicaConfig;
+import com.rayyan.finance_tracker.config.ReadYourWritesTracker;
+import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.SavingsView;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.SavingsService;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Two H2 databases stand in for the primary and a replica. Nothing replicates between them, so a goal
+ * saved through the app only exists on the primary and a goal inserted into the replica only there,
+ * which shows where each read went. The data JPA slice leaves out the auto configuration that registers
+ * transaction listeners on the transaction manager, so it is imported here like the full app has it.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "application.datasource.replica.urls=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "application.datasource.replica.sticky-window=1m"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(TransactionManagerCustomizationAutoConfiguration.class)
+@Import({ReadReplicaConfig.class, SavingsService.class, OptimisticRetry.class, SimpleMeterRegistry.class})
+@DisplayName("Read Replica Routing Tests")
+public class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:primarydb;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replica =
+            new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+
+    @Autowired
+    private SavingsService savingsService;
+
+    @Autowired
+    private SavingsRepository savingsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate primary;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    private User user;
+    private Savings primaryGoal;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "password").load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("replicaUser")
+                .email("replica@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        primaryGoal = savingsRepository.save(Savings.builder()
+                .savingsName("Primary goal")
+                .savingsDescription("Only on the primary")
+                .currentAmount(new BigDecimal("100.00"))
+                .targetAmount(new BigDecimal("1000.00"))
+                .user(user)
+                .build());
+
+        replica.update("INSERT INTO users (id, username, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                user.getId(), user.getUsername(), user.getEmail(), user.getPassword(), "USER");
+        replica.update("INSERT INTO savings (savings_name, savings_description, current_amount, target_amount, " +
+                        "created_at, status, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                "Replica goal", "Only on the replica", new BigDecimal("100.00"), new BigDecimal("1000.00"),
+                Timestamp.valueOf(LocalDateTime.now()), "IN_PROGRESS", user.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (JdbcTemplate database : List.of(primary, replica)) {
+            database.update("DELETE FROM savings WHERE user_id = ?", user.getId());
+            database.update("DELETE FROM users WHERE id = ?", user.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Read Only Transaction - Served by the Replica")
+    void readOnly_ReadsReplica() {
+        double before = reads("replica");
+
+        List<SavingsView> savings = savingsService.findAllSavings(user);
+
+        assertEquals(List.of("Replica goal"), savings.stream().map(SavingsView::savingsName).toList());
+        assertEquals(before + 1, reads("replica"));
+    }
+
+    @Test
+    @DisplayName("Write Transaction - Runs on the Primary")
+    void write_RunsOnPrimary() {
+        // the goal only exists on the primary, the deposit would find nothing on the replica
+        String message = savingsService.depositToSavings(primaryGoal.getId(), new BigDecimal("50.00"), user);
+
+        assertEquals("Deposited amount to Saving. New balance: 150.00", message);
+        assertEquals(0, new BigDecimal("150.00").compareTo(primary.queryForObject(
+                "SELECT current_amount FROM savings WHERE id = ?", BigDecimal.class, primaryGoal.getId())));
+    }
+
+    @Test
+    @DisplayName("After a Write - The Writer Reads the Primary, Others the Replica")
+    void afterWrite_WriterIsSticky() {
+        signIn(user.getUsername());
+        savingsService.depositToSavings(primaryGoal.getId(), new BigDecimal("50.00"), user);
+        double before = reads("sticky");
+
+        List<SavingsView> own = savingsService.findAllSavings(user);
+
+        assertEquals(List.of("Primary goal"), own.stream().map(SavingsView::savingsName).toList());
+        assertEquals(0, new BigDecimal("150.00").compareTo(own.get(0).currentAmount()));
+        assertEquals(before + 1, reads("sticky"));
+
+        signIn("someoneElse");
+        assertEquals("Replica goal", savingsService.findAllSavings(user).get(0).savingsName());
+    }
+
+    @Test
+    @DisplayName("Sticky Window - Expires")
+    void stickyWindow_Expires() throws InterruptedException {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(50), 10);
+        signIn("windowUser");
+        tracker.markWrite("windowUser");
+
+        assertTrue(tracker.currentUserRecentlyWrote());
+        Thread.sleep(100);
+        assertFalse(tracker.currentUserRecentlyWrote());
+        assertFalse(readYourWritesTracker.currentUserRecentlyWrote());
+    }
+
+    private void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("datasource.reads").tag("target", target).counter().count();
+    }
+}
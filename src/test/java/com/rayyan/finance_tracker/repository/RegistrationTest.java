@@ -0,0 +1,127 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.authentication.RegisterRequest;
+import com.rayyan.finance_tracker.exceptions.DuplicateCredentialsException;
+import com.rayyan.finance_tracker.service.authentication.AuthenticationService;
+import com.rayyan.finance_tracker.service.jwt.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Registration relies on the unique constraints of the users table, so it runs against the real schema.
+ * Every registration commits on its own like in production, the test cleans up after itself.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AuthenticationService.class, RegistrationTest.CheapPasswords.class})
+@DisplayName("Registration Tests")
+public class RegistrationTest {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private AuthenticationManager authenticationManager;
+
+    @AfterEach
+    void tearDown() {
+        for (String username : new String[]{"registered", "somebodyElse", "racingUser"})
+            userRepository.findByUsername(username).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Taken Username - Translated from the Unique Constraint")
+    void takenUsername_Throws() {
+        authenticationService.register(request("registered", "registered@example.com"));
+
+        DuplicateCredentialsException exception = assertThrows(DuplicateCredentialsException.class,
+                () -> authenticationService.register(request("registered", "other@example.com")));
+
+        assertEquals("Username already exists", exception.getMessage());
+        assertEquals("registered@example.com", userRepository.findByUsername("registered").orElseThrow().getEmail());
+    }
+
+    @Test
+    @DisplayName("Taken Email - Translated from the Unique Constraint")
+    void takenEmail_Throws() {
+        authenticationService.register(request("registered", "registered@example.com"));
+
+        DuplicateCredentialsException exception = assertThrows(DuplicateCredentialsException.class,
+                () -> authenticationService.register(request("somebodyElse", "registered@example.com")));
+
+        assertEquals("Email already exists", exception.getMessage());
+        assertTrue(userRepository.findByUsername("somebodyElse").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Concurrent Sign Ups - Exactly One Wins")
+    void concurrentSignUps_OnlyOneSucceeds() throws Exception {
+        int attempts = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        try {
+            for (int i = 0; i < attempts; i++) {
+                String email = "racer" + i + "@example.com";
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        authenticationService.register(request("racingUser", email));
+                        return true;
+                    } catch (DuplicateCredentialsException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int registered = 0;
+            for (Future<Boolean> result : results)
+                registered += result.get() ? 1 : 0;
+            assertEquals(1, registered);
+            assertTrue(userRepository.findByUsername("racingUser").isPresent());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private RegisterRequest request(String username, String email) {
+        return new RegisterRequest(username, email, "registerPassword1");
+    }
+
+    // hashing is not what is under test, the lowest BCrypt cost keeps it fast
+    static class CheapPasswords {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+}
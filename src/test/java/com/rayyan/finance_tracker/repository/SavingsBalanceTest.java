@@ -0,0 +1,143 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import com.rayyan.finance_tracker.service.SavingsService;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Deposits and withdrawals are single UPDATE statements, every call commits on its own here
+ * like a request does, so the test runs without the rolled back test transaction and cleans up after itself.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SavingsService.class, OptimisticRetry.class, SimpleMeterRegistry.class})
+@DisplayName("Savings Balance Tests")
+public class SavingsBalanceTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private SavingsService savingsService;
+
+    @Autowired
+    private SavingsRepository savingsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Savings goal;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("balanceUser")
+                .email("balance.user@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        goal = savingsRepository.save(Savings.builder()
+                .savingsName("Holiday")
+                .savingsDescription("Two weeks away")
+                .currentAmount(BigDecimal.ZERO)
+                .targetAmount(BigDecimal.valueOf(1000))
+                .user(user)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM savings WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Parallel Deposits - None Are Lost")
+    void parallelDeposits_AllCounted() throws Exception {
+        int deposits = 2000;
+
+        List<Future<?>> futures = new ArrayList<>(deposits);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < deposits; i++)
+                futures.add(executor.submit(() -> savingsService.depositToSavings(goal.getId(), BigDecimal.ONE, user)));
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Savings saved = savingsRepository.findById(goal.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(deposits).compareTo(saved.getCurrentAmount()));
+        assertEquals(Savings.SavingsStatus.COMPLETED, saved.getStatus());
+    }
+
+    @Test
+    @DisplayName("Parallel Withdrawals - Balance Never Goes Negative")
+    void parallelWithdrawals_StopAtZero() throws Exception {
+        savingsService.depositToSavings(goal.getId(), BigDecimal.valueOf(500), user);
+        AtomicInteger refused = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            // 800 withdrawals of 1 against a balance of 500
+            for (int i = 0; i < 800; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        savingsService.withdrawFromSavings(goal.getId(), BigDecimal.ONE, user);
+                    } catch (ValidationException e) {
+                        refused.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(300, refused.get());
+        assertEquals(0, BigDecimal.ZERO.compareTo(savingsRepository.findById(goal.getId()).orElseThrow().getCurrentAmount()));
+    }
+
+    @Test
+    @DisplayName("Deposit and Withdraw - Status Follows the Target")
+    void status_RecomputedInTheUpdate() {
+        assertEquals("Deposited amount to Saving. New balance: 1000.00",
+                savingsService.depositToSavings(goal.getId(), BigDecimal.valueOf(1000), user));
+        assertEquals(Savings.SavingsStatus.COMPLETED, savingsRepository.findById(goal.getId()).orElseThrow().getStatus());
+
+        assertEquals("Withdrawal from a Saving! New balance: 999.99",
+                savingsService.withdrawFromSavings(goal.getId(), new BigDecimal("0.01"), user));
+        assertEquals(Savings.SavingsStatus.IN_PROGRESS, savingsRepository.findById(goal.getId()).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,165 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionFilter;
+import com.rayyan.finance_tracker.entity.TransactionView;
+import com.rayyan.finance_tracker.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Filters of TransactionFilterRepository against the Flyway managed schema, and the query plan
+ * cache being hit again for the same filter shape
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Transaction Filter Tests")
+public class TransactionFilterTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 6, 30, 12, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("filterUser")
+                .email("filter@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        User other = userRepository.save(User.builder()
+                .username("otherFilterUser")
+                .email("other.filter@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        // one row a day going back from June 30th, amounts 1 to 30
+        String[] categories = {"Food", "Rent", "Travel"};
+        for (int i = 0; i < 30; i++) {
+            transactionRepository.save(new Transaction(null, "row " + i, BigDecimal.valueOf(i + 1),
+                    i % 4 == 0 ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE,
+                    categories[i % 3], DATE.minusDays(i), user, 0L));
+        }
+        transactionRepository.save(new Transaction(null, "100%_off", BigDecimal.ONE,
+                Transaction.TransactionType.EXPENSE, "Food", DATE, user, 0L));
+        transactionRepository.save(new Transaction(null, "row other", BigDecimal.ONE,
+                Transaction.TransactionType.EXPENSE, "Food", DATE, other, 0L));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("No Filters - Every Row of the User, Newest First")
+    void noFilters_AllRowsNewestFirst() {
+        List<TransactionView> rows = find(TransactionFilter.builder().build());
+
+        assertEquals(31, rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            TransactionView previous = rows.get(i - 1);
+            TransactionView row = rows.get(i);
+            assertTrue(previous.date().isAfter(row.date())
+                    || (previous.date().equals(row.date()) && previous.id() > row.id()));
+        }
+    }
+
+    @Test
+    @DisplayName("Combined Filters - Every Filter Applied")
+    void combinedFilters_AllApplied() {
+        TransactionFilter filter = TransactionFilter.builder()
+                .from(LocalDate.of(2025, 6, 11))
+                .to(LocalDate.of(2025, 6, 25))
+                .type(Transaction.TransactionType.EXPENSE)
+                .categories(List.of("Food", "Travel"))
+                .minAmount(new BigDecimal("8"))
+                .maxAmount(new BigDecimal("18"))
+                .descriptionPrefix("row 1")
+                .build();
+
+        List<TransactionView> rows = find(filter);
+
+        // June 25 to 11 are rows 5 to 19, of those rows 7 to 17 have amounts 8 to 18
+        assertEquals(List.of("row 11", "row 14", "row 15", "row 17"),
+                rows.stream().map(TransactionView::description).toList());
+        assertTrue(rows.stream().allMatch(row -> row.transactionType() == Transaction.TransactionType.EXPENSE
+                && !row.category().equals("Rent")));
+    }
+
+    @Test
+    @DisplayName("Date Range - Last Day Included Whole")
+    void dateRange_ToIncludesWholeDay() {
+        LocalDate day = DATE.toLocalDate();
+
+        List<TransactionView> rows = find(TransactionFilter.builder().from(day).to(day).build());
+
+        assertEquals(2, rows.size());
+    }
+
+    @Test
+    @DisplayName("Description Prefix - Wildcards Matched Literally")
+    void descriptionPrefix_WildcardsEscaped() {
+        assertEquals(1, find(TransactionFilter.builder().descriptionPrefix("100%_").build()).size());
+        assertEquals(0, find(TransactionFilter.builder().descriptionPrefix("row_").build()).size());
+        assertEquals(0, find(TransactionFilter.builder().descriptionPrefix("%").build()).size());
+    }
+
+    @Test
+    @DisplayName("Keyset Pages - Continue After the Last Row Without Gaps")
+    void keysetPages_NoGapsOrRepeats() {
+        TransactionFilter filter = TransactionFilter.builder().categories(List.of("Food")).build();
+
+        List<TransactionView> first = transactionRepository.findFiltered(user, filter, null, null, 4);
+        TransactionView last = first.get(first.size() - 1);
+        List<TransactionView> second = transactionRepository.findFiltered(user, filter, last.date(), last.id(), 100);
+
+        assertEquals(4, first.size());
+        assertEquals(7, second.size());
+        assertTrue(second.stream().noneMatch(first::contains));
+    }
+
+    @Test
+    @DisplayName("Same Shape - Query Plan Taken From the Cache")
+    void sameShape_QueryPlanCacheHit() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        find(TransactionFilter.builder().categories(List.of("Food", "Rent", "Travel")).build());
+        long hits = statistics.getQueryPlanCacheHitCount();
+
+        // three and four categories are both bound as four parameters
+        List<TransactionView> rows = find(TransactionFilter.builder()
+                .categories(List.of("Food", "Rent", "Travel", "Other")).build());
+
+        assertEquals(31, rows.size());
+        assertTrue(statistics.getQueryPlanCacheHitCount() > hits);
+    }
+
+    private List<TransactionView> find(TransactionFilter filter) {
+        return transactionRepository.findFiltered(user, filter, null, null, 100);
+    }
+}
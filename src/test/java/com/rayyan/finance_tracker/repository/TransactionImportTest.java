@@ -0,0 +1,134 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.ImportResult;
+import com.rayyan.finance_tracker.entity.ImportRowError;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import com.rayyan.finance_tracker.service.TransactionRollupService;
+import com.rayyan.finance_tracker.service.TransactionService;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import com.rayyan.finance_tracker.service.importer.TransactionBatchWriter;
+import com.rayyan.finance_tracker.service.importer.TransactionImportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Bulk import against the real schema: JDBC batch inserts plus the rollup upserts.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TransactionImportService.class, TransactionBatchWriter.class,
+        TransactionService.class, TransactionRollupService.class, OptimisticRetry.class, SimpleMeterRegistry.class})
+@DisplayName("Transaction Import Tests")
+public class TransactionImportTest {
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("importUser")
+                .email("import@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+    }
+
+    @Test
+    @DisplayName("JSON Import - Inserts Valid Rows Across Batches and Reports Invalid Ones")
+    void importTransactions_InsertsValidRows() {
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++)
+            rows.add(transaction("row " + i, "1.00", "Food", LocalDateTime.of(2025, 1 + i % 12, 1, 9, 0)));
+        rows.get(10).setAmount(new BigDecimal("-5"));
+        rows.get(20).setCategory(" ");
+
+        ImportResult result = importService.importTransactions(user, rows);
+
+        assertEquals(2500, result.getReceived());
+        assertEquals(2498, result.getImported());
+        assertEquals(List.of(new ImportRowError(11, "Amount must be greater than zero"),
+                new ImportRowError(21, "Category cannot be empty")), result.getErrors());
+        assertEquals(2498, transactionRepository.findByUser(user).size());
+        assertTrue(rollupService.verify(user));
+    }
+
+    @Test
+    @DisplayName("JSON Import - Empty List Throws ValidationException")
+    void importTransactions_EmptyList_Throws() {
+        assertThrows(ValidationException.class, () -> importService.importTransactions(user, List.of()));
+    }
+
+    @Test
+    @DisplayName("CSV Import - Maps Columns by Header and Reports Errors by Line")
+    void importCsv_MapsColumnsByHeader() {
+        String csv = """
+                Category,Type,Amount,Description,Date
+                Salary,income,2500.00,June salary,2025-06-01
+                Food,EXPENSE,12.40,"Lunch, with team",2025-06-02T12:30:00
+                Food,EXPENSE,abc,Bad amount,2025-06-03
+                Food,REFUND,1.00,Bad type,2025-06-03
+                Food,EXPENSE,3.00,Bad date,03/06/2025
+                """;
+
+        ImportResult result = importService.importCsv(user,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(new ImportRowError(4, "Invalid amount: abc"),
+                new ImportRowError(5, "Invalid transaction type: REFUND"),
+                new ImportRowError(6, "Invalid date: 03/06/2025")), result.getErrors());
+        assertEquals(new BigDecimal("2487.60"), rollupService.getCategoryTotals(user, 202506, 202506).stream()
+                .map(total -> total.getTransactionType() == Transaction.TransactionType.INCOME
+                        ? total.getTotal() : total.getTotal().negate())
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    @Test
+    @DisplayName("CSV Import - Missing Column Throws ValidationException")
+    void importCsv_MissingColumn_Throws() {
+        String csv = "date,description,amount\n2025-06-01,Salary,10\n";
+
+        assertThrows(ValidationException.class, () -> importService.importCsv(user,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private Transaction transaction(String description, String amount, String category, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setDescription(description);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setCategory(category);
+        transaction.setTransactionType(Transaction.TransactionType.EXPENSE);
+        transaction.setDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,128 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.CategoryTotal;
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.TransactionRollupService;
+import com.rayyan.finance_tracker.service.TransactionService;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Runs the rollup upserts and rebuild against the real schema, the statements are native SQL
+ * so they are not covered by the mocked service tests.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TransactionService.class, TransactionRollupService.class, OptimisticRetry.class, SimpleMeterRegistry.class})
+@DisplayName("Transaction Rollup Tests")
+public class TransactionRollupTest {
+
+    private static final LocalDateTime JUNE = LocalDateTime.of(2025, 6, 15, 10, 0);
+    private static final LocalDateTime JULY = LocalDateTime.of(2025, 7, 2, 10, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("rollupUser")
+                .email("rollup@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Create, Update and Delete - Keep the Rollup in Step")
+    void writes_KeepRollupInStep() {
+        Transaction food = create("Lunch", "12.50", "Food", Transaction.TransactionType.EXPENSE, JUNE);
+        create("Dinner", "30.00", "Food", Transaction.TransactionType.EXPENSE, JUNE);
+        create("Salary", "2000.00", "Salary", Transaction.TransactionType.INCOME, JULY);
+
+        assertEquals(List.of(new CategoryTotal("Food", Transaction.TransactionType.EXPENSE, new BigDecimal("42.50"), 2L)),
+                rollupService.getCategoryTotals(user, 202506, 202506));
+
+        // moving a transaction to another month and category shifts it between rollup rows
+        Transaction moved = copy(food);
+        moved.setAmount(new BigDecimal("15.00"));
+        moved.setCategory("Travel");
+        moved.setDate(JULY);
+        transactionService.updateTransaction(food.getId(), moved, user);
+
+        assertEquals(List.of(new CategoryTotal("Food", Transaction.TransactionType.EXPENSE, new BigDecimal("30.00"), 1L)),
+                rollupService.getCategoryTotals(user, 202506, 202506));
+        assertEquals(3, rollupService.getCategoryTotals(user, 202506, 202507).size());
+
+        transactionService.deleteTransaction(food.getId(), user);
+
+        // the emptied row is kept but no longer reported
+        assertEquals(2, rollupService.getCategoryTotals(user, 202506, 202507).size());
+        assertTrue(rollupService.verify(user));
+    }
+
+    @Test
+    @DisplayName("Drifted Rollup - Verify Fails and Rebuild Repairs it")
+    void driftedRollup_RebuildRepairs() {
+        create("Lunch", "12.50", "Food", Transaction.TransactionType.EXPENSE, JUNE);
+        create("Salary", "2000.00", "Salary", Transaction.TransactionType.INCOME, JULY);
+        assertTrue(rollupService.verify(user));
+
+        jdbcTemplate.update("UPDATE transaction_rollups SET total_amount = 1 WHERE category = 'Food'");
+        assertFalse(rollupService.verify(user));
+
+        assertEquals(2, rollupService.rebuild(user));
+        assertTrue(rollupService.verify(user));
+        assertEquals(new BigDecimal("1987.50"), transactionService.getSummary(user, null, null).getBalance());
+    }
+
+    private Transaction create(String description, String amount, String category,
+                               Transaction.TransactionType type, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setDescription(description);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setCategory(category);
+        transaction.setTransactionType(type);
+        transaction.setDate(date);
+        transaction.setUser(user);
+        transactionService.createTransaction(transaction);
+        return transaction;
+    }
+
+    private Transaction copy(Transaction source) {
+        Transaction transaction = new Transaction();
+        transaction.setDescription(source.getDescription());
+        transaction.setAmount(source.getAmount());
+        transaction.setCategory(source.getCategory());
+        transaction.setTransactionType(source.getTransactionType());
+        transaction.setDate(source.getDate());
+        transaction.setUser(user);
+        return transaction;
+    }
+}
@@ -0,0 +1,144 @@
+package com.rayyan.finance_tracker.repository;
+
+import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionSearchResult;
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import com.rayyan.finance_tracker.service.TransactionRollupService;
+import com.rayyan.finance_tracker.service.TransactionService;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import com.rayyan.finance_tracker.service.search.TransactionSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * The search index follows the writes only once they commit, so the test runs without the usual
+ * rolled back test transaction and cleans up after itself.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TransactionSearchService.class, TransactionService.class, TransactionRollupService.class,
+        OptimisticRetry.class, SimpleMeterRegistry.class})
+@DisplayName("Transaction Search Tests")
+public class TransactionSearchTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 6, 1, 9, 30);
+
+    @Autowired
+    private TransactionSearchService searchService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("searchUser")
+                .email("search@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        transactionRepository.save(transaction("Amazon order", "Shopping"));
+        transactionRepository.save(transaction("Coffee at Starbucks", "Food"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : new String[]{"transaction_rollups", "transactions"})
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+        // drops the index this user got, the next test's user is a new row
+        searchService.onChange(new ChangeEvent(user.getId(), ChangeEvent.Resource.TRANSACTION,
+                ChangeEvent.Action.IMPORTED, null, 0));
+    }
+
+    @Test
+    @DisplayName("First Search - Index Built From the Database")
+    void firstSearch_BuildsIndex() {
+        TransactionSearchResult result = searchService.search(user, "starbucks", null, null);
+
+        assertEquals(1, result.getTotal());
+        assertEquals(0, result.getPage());
+        assertFalse(result.isHasMore());
+        assertEquals("Coffee at Starbucks",
+                transactionRepository.findById(result.getIds().get(0)).orElseThrow().getDescription());
+    }
+
+    @Test
+    @DisplayName("Committed Writes - Applied to the Loaded Index")
+    void committedWrites_AreIndexed() {
+        searchService.search(user, "amazon", null, null);
+        Transaction created = transaction("Amazon Prime", "Subscriptions");
+
+        transactionService.createTransaction(created);
+
+        assertEquals(List.of(created.getId()), searchService.search(user, "prime", null, null).getIds());
+
+        Transaction update = transaction("Netflix", "Subscriptions");
+        transactionService.updateTransaction(created.getId(), update, user);
+
+        assertEquals(0, searchService.search(user, "prime", null, null).getTotal());
+        assertEquals(List.of(created.getId()), searchService.search(user, "netflix", null, null).getIds());
+
+        transactionService.deleteTransaction(created.getId(), user);
+
+        assertEquals(0, searchService.search(user, "netflix", null, null).getTotal());
+        assertEquals(1, searchService.search(user, "amazon", null, null).getTotal());
+    }
+
+    @Test
+    @DisplayName("Bulk Import - Index Rebuilt on the Next Search")
+    void bulkImport_RebuildsIndex() {
+        searchService.search(user, "amazon", null, null);
+        jdbcTemplate.update("INSERT INTO transactions (description, amount, transaction_type, category, date, user_id, version) " +
+                "VALUES ('Imported rent', 900, 'EXPENSE', 'Bills', CURRENT_TIMESTAMP, ?, 0)", user.getId());
+
+        assertEquals(0, searchService.search(user, "rent", null, null).getTotal());
+        searchService.onChange(new ChangeEvent(user.getId(), ChangeEvent.Resource.TRANSACTION,
+                ChangeEvent.Action.IMPORTED, null, 1));
+
+        assertEquals(1, searchService.search(user, "rent", null, null).getTotal());
+    }
+
+    @Test
+    @DisplayName("Blank or Too Long Query - Throws ValidationException")
+    void invalidQuery_Throws() {
+        assertThrows(ValidationException.class, () -> searchService.search(user, " ", null, null));
+        assertThrows(ValidationException.class, () -> searchService.search(user, "x".repeat(256), null, null));
+        assertThrows(ValidationException.class, () -> searchService.search(user, "amazon", -1, null));
+    }
+
+    private Transaction transaction(String description, String category) {
+        return new Transaction(null, description, BigDecimal.TEN, Transaction.TransactionType.EXPENSE,
+                category, DATE, user, 0L);
+    }
+}
@@ -3,6 +3,7 @@ package com.rayyan.finance_tracker.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -19,8 +20,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
 import com.rayyan.finance_tracker.entity.User;
 import com.rayyan.finance_tracker.entity.authentication.AuthenticationRequest;
@@ -133,11 +136,11 @@ public class AuthenticationServiceTest {
   @Test
   void test_Authenticate_ValidCredentials_Success() {
     // Given
-    when(userRepository.findByUsername(VALID_USERNAME)).thenReturn(Optional.of(user));
     when(jwtService.generateToken(any(User.class))).thenReturn(DUMMY_JWT_SECRET_KEY);
 
-    // Stimulates a successfull login
-    when(authenticationManager.authenticate(any())).thenReturn(null);
+    // Stimulates a successfull login, the provider hands back the User it loaded
+    when(authenticationManager.authenticate(any()))
+        .thenReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
 
     // When
     AuthenticationResponse response = authService.authenticate(validAuthenticationRequest);
@@ -148,18 +151,39 @@ public class AuthenticationServiceTest {
 
     // verify
     verify(authenticationManager, times(1)).authenticate(any());
-    verify(userRepository, times(1)).findByUsername(VALID_USERNAME);
     verify(jwtService, times(1)).generateToken(user);
 
     // NO passwordEncoding during Authentication
     verifyNoInteractions(passwordEncoder);
-    // and NO saving during authentication
-    verify(userRepository, times(0)).save(any());
+    // and NO second lookup or saving during authentication
+    verifyNoInteractions(userRepository);
 
     // test passes
     test_Passes.put(2, "Authenticate: Valid Credentials");
   }
 
+  @Test
+  void test_Authenticate_NoPrincipal_LooksUpByLogin() {
+    // Given
+    when(authenticationManager.authenticate(any())).thenReturn(null);
+    when(userRepository.findByLogin(VALID_USERNAME)).thenReturn(Optional.of(user));
+    when(jwtService.generateToken(any(User.class))).thenReturn(DUMMY_JWT_SECRET_KEY);
+
+    // When
+    AuthenticationResponse response = authService.authenticate(validAuthenticationRequest);
+
+    // assert
+    assertEquals(DUMMY_JWT_SECRET_KEY, response.getJwtToken());
+
+    // verify a single lookup by username OR email
+    verify(userRepository, times(1)).findByLogin(VALID_USERNAME);
+    verify(userRepository, never()).findByUsername(any());
+    verify(userRepository, never()).findByEmail(any());
+
+    // test passes
+    test_Passes.put(21, "Authenticate: No Principal Looks Up Username or Email Once");
+  }
+
   /*
    * ***************************************
    * Check Duplicate during Authentication
@@ -168,16 +192,20 @@ public class AuthenticationServiceTest {
   @Test
   void test_Register_DuplicateCredentials_Username_Throws_ValidationException() {
     // Given
-    when(userRepository.findByUsername(VALID_USERNAME)).thenReturn(Optional.of(user));
+    // the unique constraint rejects the insert
+    when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("uk_users_username"));
 
     // assert
-    assertThrows(DuplicateCredentialsException.class, () -> authService.register(validRegisterRequest),
+    DuplicateCredentialsException exception = assertThrows(DuplicateCredentialsException.class,
+          () -> authService.register(validRegisterRequest),
           "Expected to Throw a DuplicateCredentalsException if any Duplicate Username found");
+    assertEquals("Username already exists", exception.getMessage());
 
     // verify
-    verify(userRepository, times(1)).findByUsername(VALID_USERNAME);
     verify(passwordEncoder, times(1)).encode(VALID_PASSWORD);
-    verify(userRepository, never()).save(any(User.class));
+    verify(userRepository, times(1)).save(any(User.class));
+    verify(userRepository, never()).findByUsername(any());
+    verify(userRepository, never()).findByEmail(any());
     verifyNoInteractions(jwtService);
 
     // pass the test
@@ -187,22 +215,48 @@ public class AuthenticationServiceTest {
   @Test
   void test_Register_DuplicateCredentials_Email_Throws_ValidationException() {
     // Given
-    when(userRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(user));
+    // the unique constraint rejects the insert, the email belongs to another account
+    when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("uk_users_email"));
 
     // assert
-    assertThrows(DuplicateCredentialsException.class, () -> authService.register(validRegisterRequest),
+    DuplicateCredentialsException exception = assertThrows(DuplicateCredentialsException.class,
+        () -> authService.register(validRegisterRequest),
         "Expected to Throw a DuplicateCredentalsException if any Duplicate email found");
+    assertEquals("Email already exists", exception.getMessage());
 
     // verify
-    verify(userRepository, times(1)).findByEmail(VALID_EMAIL);
     verify(passwordEncoder, times(1)).encode(VALID_PASSWORD);
-    verify(userRepository, never()).save(any(User.class));
+    verify(userRepository, times(1)).save(any(User.class));
+    verify(userRepository, never()).findByUsername(any());
+    verify(userRepository, never()).findByEmail(any());
     verifyNoInteractions(jwtService);
 
     // pass the test
     test_Passes.put(20,"Register: Duplicate Credentials (Email) Throws Exception");
   }
 
+  @Test
+  void test_Register_OtherIntegrityViolation_Is_Rethrown() {
+    // Given
+    // the insert fails for a reason other than a taken username or email
+    DataIntegrityViolationException violation =
+        new DataIntegrityViolationException("NULL not allowed for column \"role\"");
+    when(userRepository.save(any(User.class))).thenThrow(violation);
+
+    // assert
+    DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+        () -> authService.register(validRegisterRequest),
+        "Expected the DataIntegrityViolationException to be rethrown when no unique constraint was violated");
+    assertSame(violation, exception);
+
+    // verify
+    verify(userRepository, times(1)).save(any(User.class));
+    verifyNoInteractions(jwtService);
+
+    // pass the test
+    test_Passes.put(22, "Register: Other Integrity Violation Is Rethrown");
+  }
+
   /* ***************************************
    * Username, Password and Email is Short
    * ***************************************
@@ -573,7 +627,7 @@ public class AuthenticationServiceTest {
   @AfterAll
   static void afterAll() {
     int maxLength = 0;
-    int totalTests = 20;
+    int totalTests = 22;
     int passedTests = test_Passes.size();
 
     // Separate tests into Register and Authenticate groups
@@ -0,0 +1,124 @@
+package com.rayyan.finance_tracker.service;
+
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.exceptions.ServerBusyException;
+import com.rayyan.finance_tracker.repository.UserRepository;
+import com.rayyan.finance_tracker.service.authentication.BoundedPasswordEncoder;
+import com.rayyan.finance_tracker.service.authentication.PasswordUpgradeService;
+import com.rayyan.finance_tracker.service.cache.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.rayyan.finance_tracker.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Password Hashing Tests")
+public class BoundedPasswordEncoderTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null)
+            encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Encode and Matches - Run on the Hashing Pool")
+    void encodeAndMatches_UseTheDelegate() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, meterRegistry);
+
+        String hash = encoder.encode(VALID_PASSWORD);
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches(VALID_PASSWORD, hash));
+        assertFalse(encoder.matches("wrongPassword123", hash));
+    }
+
+    @Test
+    @DisplayName("Saturated Pool - Rejects with ServerBusyException")
+    void saturatedPool_Throws() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+
+        // one hash running, one queued, the third has nowhere to go
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode(VALID_PASSWORD));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode(VALID_PASSWORD));
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < 1)
+            Thread.onSpinWait();
+
+        assertThrows(ServerBusyException.class, () -> encoder.encode(VALID_PASSWORD));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Upgrade Encoding - Only When the Stored Cost is Lower")
+    void upgradeEncoding_ComparesTheCost() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, meterRegistry);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode(VALID_PASSWORD)));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode(VALID_PASSWORD)));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode(VALID_PASSWORD)));
+    }
+
+    @Test
+    @DisplayName("Calibrate - Stays Within the Allowed Strengths")
+    void calibrate_StaysInBounds() {
+        assertEquals(BoundedPasswordEncoder.MIN_CALIBRATED_STRENGTH, BoundedPasswordEncoder.calibrate(Duration.ZERO));
+
+        int strength = BoundedPasswordEncoder.calibrate(Duration.ofMillis(200));
+        assertTrue(strength >= BoundedPasswordEncoder.MIN_CALIBRATED_STRENGTH);
+        assertTrue(strength <= BoundedPasswordEncoder.MAX_CALIBRATED_STRENGTH);
+    }
+
+    @Test
+    @DisplayName("Password Upgrade - Stores the New Hash and Evicts the Cached Principal")
+    void passwordUpgrade_UpdatesAndEvicts() {
+        PasswordUpgradeService upgradeService = new PasswordUpgradeService(userRepository, principalCache);
+        User user = User.builder()
+                .id(1L)
+                .username(VALID_USERNAME)
+                .password("oldHash")
+                .role(User.Role.USER)
+                .build();
+
+        assertSame(user, upgradeService.updatePassword(user, "newHash"));
+
+        assertEquals("newHash", user.getPassword());
+        verify(userRepository).updatePassword(VALID_USERNAME, "newHash");
+        verify(principalCache).invalidate(VALID_USERNAME);
+    }
+}
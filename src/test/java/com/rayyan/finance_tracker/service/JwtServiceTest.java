@@ -12,9 +12,10 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -22,12 +23,10 @@ import java.util.Date;
 
 import com.rayyan.finance_tracker.entity.User;
 import com.rayyan.finance_tracker.service.jwt.JwtService;
-import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class JwtServiceTest {
 
-  @InjectMocks
   private JwtService jwtService;
 
   private UserDetails userDetails;
@@ -47,7 +46,7 @@ public class JwtServiceTest {
             .role(User.Role.USER)
             .build();
 
-    ReflectionTestUtils.setField(jwtService, "SECRET_KEY", TEST_SECRET_KEY);
+    jwtService = new JwtService(TEST_SECRET_KEY);
   }
 
   /* **************** Token Generation Test **************** */
@@ -178,6 +177,35 @@ public class JwtServiceTest {
     test_Passes.put(5, "Validate: validation of Expired Token MUST return False");
 }
 
+  @Test
+  void test_isTokenValid_VerifiedClaims_Returns_True() {
+    String token = jwtService.generateToken(userDetails);
+
+    Claims claims = jwtService.extractAllClaims(token);
+
+    assertTrue(jwtService.isTokenValid(claims, userDetails));
+
+    test_Passes.put(11, "Validate: validation of parsed Claims MUST return True");
+  }
+
+  @Test
+  void test_ExtractAllClaims_ExpiredToken_Throws() {
+    long expirationTime = System.currentTimeMillis() - 10000; // 10 seconds ago
+
+    String expiredToken = Jwts.builder()
+            .setSubject(VALID_USERNAME)
+            .setIssuedAt(new Date(expirationTime - 2000))
+            .setExpiration(new Date(expirationTime))
+            .signWith(Keys.hmacShaKeyFor(
+                    io.jsonwebtoken.io.Decoders.BASE64.decode(TEST_SECRET_KEY)
+            ))
+            .compact();
+
+    assertThrows(ExpiredJwtException.class, () -> jwtService.extractAllClaims(expiredToken));
+
+    test_Passes.put(12, "Extract: extraction of Claims from an Expired Token MUST throw");
+  }
+
   /* **************** Username Extraction Test **************** */
   @Test
   void test_ExtractUsername_ValidToken_Returns_Username(){
@@ -207,7 +235,7 @@ public class JwtServiceTest {
   @AfterAll
   static void afterAll() {
     int maxLength = 0;
-    int totalTests = 8;
+    int totalTests = 12;
     int passedTests = test_Passes.size();
 
     Map<Integer, String> generateTests = new TreeMap<>();
@@ -0,0 +1,86 @@
+package com.rayyan.finance_tracker.service;
+
+import com.rayyan.finance_tracker.exceptions.ConcurrentUpdateException;
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Optimistic Retry Tests")
+public class OptimisticRetryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetry optimisticRetry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        optimisticRetry = new OptimisticRetry(mock(PlatformTransactionManager.class), meterRegistry, 3,
+                Duration.ofMillis(1));
+    }
+
+    @Test
+    @DisplayName("Conflict Then Success - Retried and Counted")
+    void conflictThenSuccess_Retries() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = optimisticRetry.run("edit", () -> {
+            if (attempts.incrementAndGet() == 1)
+                throw conflict();
+            return "saved";
+        });
+
+        assertEquals("saved", result);
+        assertEquals(2, attempts.get());
+        assertEquals(2.0, count("optimistic.lock.attempts"));
+        assertEquals(1.0, count("optimistic.lock.conflicts"));
+        assertEquals(1.0, count("optimistic.lock.retries"));
+    }
+
+    @Test
+    @DisplayName("Conflict on Every Attempt - Throws ConcurrentUpdateException")
+    void alwaysConflicting_GivesUp() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConcurrentUpdateException.class, () -> optimisticRetry.run("edit", () -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(3.0, count("optimistic.lock.conflicts"));
+        assertEquals(2.0, count("optimistic.lock.retries"));
+    }
+
+    @Test
+    @DisplayName("Other Failures - Not Retried")
+    void otherFailure_NotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ValidationException.class, () -> optimisticRetry.run("edit", () -> {
+            attempts.incrementAndGet();
+            throw new ValidationException("No fields provided to update");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertNull(meterRegistry.find("optimistic.lock.conflicts").counter());
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("operation", "edit").counter().count();
+    }
+
+    private ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Savings", 1L);
+    }
+}
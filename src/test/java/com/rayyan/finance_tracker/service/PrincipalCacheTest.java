@@ -0,0 +1,107 @@
+package com.rayyan.finance_tracker.service;
+
+import com.rayyan.finance_tracker.entity.User;
+import com.rayyan.finance_tracker.service.cache.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+
+import static com.rayyan.finance_tracker.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Principal Cache Tests")
+public class PrincipalCacheTest {
+
+    @Mock
+    private UserDetailService userDetailService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(userDetailService, meterRegistry, 100, Duration.ofMinutes(5));
+
+        user = User.builder()
+                .id(1L)
+                .username(VALID_USERNAME)
+                .password(VALID_PASSWORD)
+                .role(User.Role.USER)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Get User - Second Lookup is Served from Cache")
+    void getUser_SecondLookup_HitsCache() {
+        when(userDetailService.getUserByUsername(VALID_USERNAME)).thenReturn(user);
+
+        assertSame(user, principalCache.getUser(VALID_USERNAME));
+        assertSame(user, principalCache.getUser(VALID_USERNAME));
+
+        verify(userDetailService, times(1)).getUserByUsername(VALID_USERNAME);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principalCache").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principalCache").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Invalidate - Next Lookup Reloads the User")
+    void invalidate_ReloadsUser() {
+        when(userDetailService.getUserByUsername(VALID_USERNAME)).thenReturn(user);
+
+        principalCache.getUser(VALID_USERNAME);
+        principalCache.invalidate(VALID_USERNAME);
+        principalCache.getUser(VALID_USERNAME);
+
+        verify(userDetailService, times(2)).getUserByUsername(VALID_USERNAME);
+    }
+
+    @Test
+    @DisplayName("Invalidate All - Next Lookup Reloads the User")
+    void invalidateAll_ReloadsUser() {
+        when(userDetailService.getUserByUsername(VALID_USERNAME)).thenReturn(user);
+
+        principalCache.getUser(VALID_USERNAME);
+        principalCache.invalidateAll();
+        principalCache.getUser(VALID_USERNAME);
+
+        verify(userDetailService, times(2)).getUserByUsername(VALID_USERNAME);
+    }
+
+    @Test
+    @DisplayName("Expired Entry - Reloads the User after the TTL")
+    void expiredEntry_ReloadsUser() throws InterruptedException {
+        principalCache = new PrincipalCache(userDetailService, meterRegistry, 100, Duration.ofMillis(20));
+        when(userDetailService.getUserByUsername(VALID_USERNAME)).thenReturn(user);
+
+        principalCache.getUser(VALID_USERNAME);
+        Thread.sleep(50);
+        principalCache.getUser(VALID_USERNAME);
+
+        verify(userDetailService, times(2)).getUserByUsername(VALID_USERNAME);
+    }
+
+    @Test
+    @DisplayName("Unknown User - Throws and is not Cached")
+    void unknownUser_ThrowsAndIsNotCached() {
+        when(userDetailService.getUserByUsername(NON_EXISTING_USERNAME))
+                .thenThrow(new UsernameNotFoundException("Username Not Found: " + NON_EXISTING_USERNAME));
+
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.getUser(NON_EXISTING_USERNAME));
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.getUser(NON_EXISTING_USERNAME));
+
+        verify(userDetailService, times(2)).getUserByUsername(NON_EXISTING_USERNAME);
+    }
+}
@@ -1,21 +1,26 @@
 package com.rayyan.finance_tracker.service;
 
 import com.rayyan.finance_tracker.entity.Savings;
+import com.rayyan.finance_tracker.entity.SavingsView;
 import com.rayyan.finance_tracker.entity.User;
-import com.rayyan.finance_tracker.exceptions.InsufficientFundsException;
-import com.rayyan.finance_tracker.exceptions.InvalidAmountException;
 import com.rayyan.finance_tracker.exceptions.SavingsException;
 import com.rayyan.finance_tracker.exceptions.ValidationException;
 import com.rayyan.finance_tracker.repository.SavingsRepository;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +28,7 @@ import static com.rayyan.finance_tracker.TestConstants.VALID_PASSWORD;
 import static com.rayyan.finance_tracker.TestConstants.VALID_USERNAME;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +39,14 @@ public class SavingsServiceTest {
     @Mock
     private SavingsRepository savingsRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // real retry over a mocked transaction manager, every attempt runs the work directly
+    @Spy
+    private OptimisticRetry optimisticRetry = new OptimisticRetry(mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry(), 3, Duration.ZERO);
+
     @InjectMocks
     private SavingsService savingsService;
 
@@ -142,35 +156,35 @@ public class SavingsServiceTest {
         @DisplayName("Finds all savings for a user")
         void findAllSavings_Success() {
             // Given
-            when(savingsRepository.findByUser(user)).thenReturn(List.of(validSavings));
+            when(savingsRepository.findViewsByUser(user)).thenReturn(List.of(view(validSavings)));
 
             // when
-            List<Savings> result = savingsService.findAllSavings(user);
+            List<SavingsView> result = savingsService.findAllSavings(user);
 
             // assert
             assertNotNull(result);
             assertEquals(1, result.size());
-            assertEquals(validSavings.getSavingsName(), result.get(0).getSavingsName());
+            assertEquals(validSavings.getSavingsName(), result.get(0).savingsName());
 
             // verify
-            verify(savingsRepository, times(1)).findByUser(user);
+            verify(savingsRepository, times(1)).findViewsByUser(user);
         }
 
         @Test
         @DisplayName("Finds all savings for a user - No Savings Found")
         void findAllSavings_NoSavingsFound() {
             // given
-            when(savingsRepository.findByUser(user)).thenReturn(List.of());
+            when(savingsRepository.findViewsByUser(user)).thenReturn(List.of());
 
             // when
-            List<Savings> result = savingsService.findAllSavings(user);
+            List<SavingsView> result = savingsService.findAllSavings(user);
 
             // assert
             assertNotNull(result);
             assertTrue(result.isEmpty());
 
             // verify
-            verify(savingsRepository, times(1)).findByUser(user);
+            verify(savingsRepository, times(1)).findViewsByUser(user);
         }
 
         @Test
@@ -256,7 +270,7 @@ public class SavingsServiceTest {
 
             // mock the repository to return the existing savings
             when(savingsRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(updatedSavings));
-            when(savingsRepository.save(updatedSavings)).thenReturn(updatedSavings);
+            when(savingsRepository.saveAndFlush(updatedSavings)).thenReturn(updatedSavings);
 
             // when
             String result = savingsService.updateSavings(1L, updatedSavings, user);
@@ -264,7 +278,7 @@ public class SavingsServiceTest {
             // assert and verify
             assertEquals("Savings updated successfully!", result);
             verify(savingsRepository, times(1)).findByIdAndUser(1L, user);
-            verify(savingsRepository, times(1)).save(updatedSavings);
+            verify(savingsRepository, times(1)).saveAndFlush(updatedSavings);
         }
 
         @Test
@@ -361,50 +375,47 @@ public class SavingsServiceTest {
         @DisplayName("Should deposit into Savings with valid data")
         void addToSavings_Valid_Success(){
             // Given
-            when(savingsRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(validSavings));
-            when(savingsRepository.save(any(Savings.class))).thenReturn(validSavings);
-
             BigDecimal depositAmount = BigDecimal.valueOf(100);
             BigDecimal expectedAmount = validSavings.getCurrentAmount().add(depositAmount); // 5000 + 100 = 5100 (expected)
+            when(savingsRepository.deposit(eq(1L), eq(user), eq(depositAmount), eq(Savings.SavingsStatus.COMPLETED),
+                    eq(Savings.SavingsStatus.IN_PROGRESS), any(LocalDateTime.class))).thenReturn(1);
+            when(savingsRepository.findCurrentAmountById(1L)).thenReturn(expectedAmount);
 
             String result = savingsService.depositToSavings(1L, depositAmount, user);
 
-            // assert and verify
-            assertEquals("Deposited amount to Saving",result);
-            assertEquals(expectedAmount,validSavings.getCurrentAmount());
+            // assert and verify, a single update without loading the goal
+            assertEquals("Deposited amount to Saving. New balance: " + expectedAmount, result);
 
-            verify(savingsRepository, times(1)).findByIdAndUser(1L, user);
-            verify(savingsRepository, times(1)).save(validSavings);
+            verify(savingsRepository, never()).findByIdAndUser(1L, user);
+            verify(savingsRepository, never()).save(any(Savings.class));
         }
 
         @Test
-        @DisplayName("Should throw InvalidAmountException when depositing negative amount")
-        void addToSavings_NegativeAmount_ThrowsInvalidAmountException(){
+        @DisplayName("Should throw ValidationException when depositing negative amount")
+        void addToSavings_NegativeAmount_ThrowsValidationException(){
             // Given
             BigDecimal negativeAmount = BigDecimal.valueOf(-100); // Negative amount -> Error
-            when(savingsRepository.findByIdAndUser(1L, user)).thenThrow(new InvalidAmountException(("Amount must be greater than zero")));
 
             // assert and verify
-            assertThrows(InvalidAmountException.class, () -> savingsService.depositToSavings(1L, negativeAmount, user),
-                    "Amount must be greater than zero");
+            ValidationException exception = assertThrows(ValidationException.class,
+                    () -> savingsService.depositToSavings(1L, negativeAmount, user));
+            assertEquals("Amount must be greater than zero", exception.getMessage());
 
-            verify(savingsRepository, times(1)).findByIdAndUser(1L, user);
-            verify(savingsRepository, never()).save(validSavings);
+            verifyNoInteractions(savingsRepository);
         }
 
         @Test
         @DisplayName("Should throw SavingsException when trying to deposit to non-existing savings")
         void addToSavings_NonExistingSavings_ThrowsSavingsException(){
-            // Given
-            when(savingsRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+            // Given, the update matches no row
             BigDecimal depositAmount = BigDecimal.valueOf(100);
+            when(savingsRepository.deposit(eq(1L), eq(user), eq(depositAmount), any(), any(), any())).thenReturn(0);
 
             // assert and verify
             assertThrows(SavingsException.class, () -> savingsService.depositToSavings(1L,depositAmount, user),
                     "Savings not found for user: " + user.getUsername());
 
-            verify(savingsRepository, times(1)).findByIdAndUser(1L,user);
-            verify(savingsRepository, never()).save(any(Savings.class));
+            verify(savingsRepository, never()).findCurrentAmountById(any());
         }
 
     }
@@ -417,64 +428,65 @@ public class SavingsServiceTest {
         @DisplayName("Should withdraw successfully with valid amount")
         void withdrawFromSavings_ValidAmount_Success() {
             // Given
-            when(savingsRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(validSavings));
-            when(savingsRepository.save(any(Savings.class))).thenReturn(validSavings);
             BigDecimal withdrawalAmount = BigDecimal.valueOf(300); // Valid amount
+            when(savingsRepository.withdraw(eq(1L), eq(user), eq(withdrawalAmount), eq(Savings.SavingsStatus.COMPLETED),
+                    eq(Savings.SavingsStatus.IN_PROGRESS), any(LocalDateTime.class))).thenReturn(1);
+            when(savingsRepository.findCurrentAmountById(1L)).thenReturn(BigDecimal.valueOf(4700));
 
             // when
             String result = savingsService.withdrawFromSavings(1L, withdrawalAmount, user);
 
             // assert and verify
-            assertEquals("Withdrawal from a Saving!", result);
-            verify(savingsRepository, times(1)).findByIdAndUser(1L,user);
-            verify(savingsRepository, times(1)).save(validSavings);
+            assertEquals("Withdrawal from a Saving! New balance: 4700", result);
+            verify(savingsRepository, never()).findByIdAndUser(1L,user);
+            verify(savingsRepository, never()).save(any(Savings.class));
+            verify(eventPublisher).publishEvent(new ChangeEvent(user.getId(), ChangeEvent.Resource.SAVINGS,
+                    ChangeEvent.Action.WITHDRAW, 1L, BigDecimal.valueOf(4700)));
         }
 
         @Test
-        @DisplayName("Should throw InvalidAmountException when withdrawing negative amount")
-        void withdrawFromSavings_NegativeAmount_ThrowsInvalidAmountException() {
+        @DisplayName("Should throw ValidationException when withdrawing negative amount")
+        void withdrawFromSavings_NegativeAmount_ThrowsValidationException() {
             // Given
             BigDecimal negativeAmout = BigDecimal.valueOf(-300); // Negative amount -> Error
-            when(savingsRepository.findByIdAndUser(1L, user)).thenThrow(new InvalidAmountException("Amount must be non-negative"));
 
             // assert and verify
-            assertThrows(InvalidAmountException.class, () -> savingsService.withdrawFromSavings(1L, negativeAmout, user),
-                    "Amount must be non-negative");
+            ValidationException exception = assertThrows(ValidationException.class,
+                    () -> savingsService.withdrawFromSavings(1L, negativeAmout, user));
+            assertEquals("Amount must be greater than zero", exception.getMessage());
 
-            verify(savingsRepository, times(1)).findByIdAndUser(1L,user);
-            verify(savingsRepository, never()).save(any(Savings.class));
+            verifyNoInteractions(savingsRepository);
         }
 
         @Test
-        @DisplayName("Should throw InsufficientFundsException when withdrawing more than current amount")
-        void withdrawFromSavings_InsufficientFunds_ThrowsInsufficientFundsException() {
-            // Given
-            validSavings.setCurrentAmount(BigDecimal.valueOf(100)); // Current amount is 100
-            when(savingsRepository.findByIdAndUser(1L, user)).thenThrow(new InsufficientFundsException("Withdrawal amount exceeds current savings amount"));
-
+        @DisplayName("Should throw ValidationException when withdrawing more than current amount")
+        void withdrawFromSavings_InsufficientFunds_ThrowsValidationException() {
+            // Given, the guard stops the update but the goal exists
             BigDecimal withdrawalAmount = BigDecimal.valueOf(300); // More than current amount -> Error
+            when(savingsRepository.withdraw(eq(1L), eq(user), eq(withdrawalAmount), any(), any(), any())).thenReturn(0);
+            when(savingsRepository.existsByIdAndUser(1L, user)).thenReturn(true);
 
             // assert and verify
-            assertThrows(InsufficientFundsException.class, () -> savingsService.withdrawFromSavings(1L, withdrawalAmount, user),
-                    "Withdrawal amount exceeds current savings amount");
+            ValidationException exception = assertThrows(ValidationException.class,
+                    () -> savingsService.withdrawFromSavings(1L, withdrawalAmount, user));
+            assertEquals("Withdrawal amount exceeds current savings amount", exception.getMessage());
 
-            verify(savingsRepository, times(1)).findByIdAndUser(1L,user);
-            verify(savingsRepository, never()).save(validSavings);
+            verify(savingsRepository, never()).findCurrentAmountById(any());
         }
 
         @Test
         @DisplayName("Should throw SavingsException when trying to withdraw from non-existing savings")
         void withdrawFromSavings_NonExistingSavings_ThrowsSavingsException() {
             // Given
-            when(savingsRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
             BigDecimal withdrawalAmount = BigDecimal.valueOf(300); // Valid amount
+            when(savingsRepository.withdraw(eq(1L), eq(user), eq(withdrawalAmount), any(), any(), any())).thenReturn(0);
+            when(savingsRepository.existsByIdAndUser(1L, user)).thenReturn(false);
 
             // assert and verify
             assertThrows(SavingsException.class, () -> savingsService.withdrawFromSavings(1L, withdrawalAmount, user),
                     "Savings not found for user: " + user.getUsername());
 
-            verify(savingsRepository, times(1)).findByIdAndUser(1L,user);
-            verify(savingsRepository, never()).save(any(Savings.class));
+            verify(savingsRepository, never()).findCurrentAmountById(any());
         }
     }
 
@@ -485,7 +497,7 @@ public class SavingsServiceTest {
         @DisplayName("Should get total savings amount successfully")
         void getTotalSavings_Success() {
             // Given
-            when(savingsRepository.findByUser(user)).thenReturn(List.of(validSavings));
+            when(savingsRepository.sumCurrentAmountByUser(user)).thenReturn(validSavings.getCurrentAmount());
 
             // when
             BigDecimal result = savingsService.getTotalSavings(user);
@@ -494,7 +506,8 @@ public class SavingsServiceTest {
             assertNotNull(result);
             assertEquals(validSavings.getCurrentAmount(), result);
 
-            verify(savingsRepository, times(1)).findByUser(user);
+            verify(savingsRepository, times(1)).sumCurrentAmountByUser(user);
+            verify(savingsRepository, never()).findByUser(user);
         }
 
         // additional test case for two savings
@@ -513,8 +526,8 @@ public class SavingsServiceTest {
                     .createdAt(LocalDateTime.now())
                     .build();
 
-            when(savingsRepository.findByUser(user)).thenReturn(List.of(validSavings, newSavings));
             BigDecimal totalAmountResult = validSavings.getCurrentAmount().add(newSavings.getCurrentAmount()); // 5000 + 20000 = 25000
+            when(savingsRepository.sumCurrentAmountByUser(user)).thenReturn(totalAmountResult); // summed by the database
 
             // when
             BigDecimal actualResult = savingsService.getTotalSavings(user);
@@ -523,14 +536,15 @@ public class SavingsServiceTest {
             assertNotNull(actualResult);
             assertEquals(totalAmountResult, actualResult);
 
-            verify(savingsRepository, times(1)).findByUser(user);
+            verify(savingsRepository, times(1)).sumCurrentAmountByUser(user);
+            verify(savingsRepository, never()).findByUser(user);
         }
 
         @Test
         @DisplayName("Should return zero when user has no savings")
         void getTotalSavings_NoSavings_ReturnsZero() {
             // Given
-            when(savingsRepository.findByUser(user)).thenReturn(Collections.emptyList());
+            when(savingsRepository.sumCurrentAmountByUser(user)).thenReturn(BigDecimal.ZERO);
 
             // when
             BigDecimal result = savingsService.getTotalSavings(user);
@@ -539,7 +553,8 @@ public class SavingsServiceTest {
             assertNotNull(result);
             assertEquals(BigDecimal.ZERO, result);
 
-            verify(savingsRepository, times(1)).findByUser(user);
+            verify(savingsRepository, times(1)).sumCurrentAmountByUser(user);
+            verify(savingsRepository, never()).findByUser(user);
         }
     }
 
@@ -552,17 +567,17 @@ public class SavingsServiceTest {
         void getSavingsInProgress_Success() {
             // Given
             validSavings.setStatus(Savings.SavingsStatus.IN_PROGRESS); // ensure status is IN_PROGRESS
-            when(savingsRepository.findByUserAndStatus(user, Savings.SavingsStatus.IN_PROGRESS)).thenReturn(List.of(validSavings));
+            when(savingsRepository.findViewsByUserAndStatus(user, Savings.SavingsStatus.IN_PROGRESS)).thenReturn(List.of(view(validSavings)));
 
             // when
-            List<Savings> result = savingsService.getSavingsInProgress(user);
+            List<SavingsView> result = savingsService.getSavingsInProgress(user);
 
             // assert
             assertNotNull(result);
             assertEquals(1, result.size());
-            assertEquals(validSavings.getStatus(), result.get(0).getStatus()); // should be IN_PROGRESS
+            assertEquals(validSavings.getStatus(), result.get(0).status()); // should be IN_PROGRESS
 
-            verify(savingsRepository, times(1)).findByUserAndStatus(user, Savings.SavingsStatus.IN_PROGRESS);
+            verify(savingsRepository, times(1)).findViewsByUserAndStatus(user, Savings.SavingsStatus.IN_PROGRESS);
         }
 
         @Test
@@ -570,44 +585,50 @@ public class SavingsServiceTest {
         void getSavingsCompleted_Success() {
             // Given
             validSavings.setStatus(Savings.SavingsStatus.COMPLETED); // set status to COMPLETED
-            when(savingsRepository.findByUserAndStatus(user, Savings.SavingsStatus.COMPLETED)).thenReturn(List.of(validSavings));
+            when(savingsRepository.findViewsByUserAndStatus(user, Savings.SavingsStatus.COMPLETED)).thenReturn(List.of(view(validSavings)));
 
             // when
-            List<Savings> result = savingsService.getSavingsCompleted(user);
+            List<SavingsView> result = savingsService.getSavingsCompleted(user);
 
             // assert and verify
             assertNotNull(result);
             assertEquals(1, result.size());
-            assertEquals(validSavings.getStatus(), result.get(0).getStatus());
+            assertEquals(validSavings.getStatus(), result.get(0).status());
 
-            verify(savingsRepository, times(1)).findByUserAndStatus(user, Savings.SavingsStatus.COMPLETED);
+            verify(savingsRepository, times(1)).findViewsByUserAndStatus(user, Savings.SavingsStatus.COMPLETED);
         }
 
         @Test
         @DisplayName("Should throw SavingsException when no savings found with Status IN_PROGRESS")
         void getSavingsInProgress_NoSavingsFound_ThrowsSavingsException() {
             // Given
-            when(savingsRepository.findByUserAndStatus(user, Savings.SavingsStatus.IN_PROGRESS)).thenReturn(List.of()); // empty list
+            when(savingsRepository.findViewsByUserAndStatus(user, Savings.SavingsStatus.IN_PROGRESS)).thenReturn(List.of()); // empty list
 
             // assert and verify
             assertThrows(SavingsException.class, () -> savingsService.getSavingsInProgress(user),
                     "No savings found for user: " + user.getUsername());
 
-            verify(savingsRepository, times(1)).findByUserAndStatus(user, Savings.SavingsStatus.IN_PROGRESS);
+            verify(savingsRepository, times(1)).findViewsByUserAndStatus(user, Savings.SavingsStatus.IN_PROGRESS);
         }
 
         @Test
         @DisplayName("Should throw SavingsException when no savings found with Status COMPLETED")
         void getSavingsCompleted_NoSavingsFound_ThrowsSavingsException() {
             // Given
-            when(savingsRepository.findByUserAndStatus(user, Savings.SavingsStatus.COMPLETED)).thenReturn(List.of()); // empty list
+            when(savingsRepository.findViewsByUserAndStatus(user, Savings.SavingsStatus.COMPLETED)).thenReturn(List.of()); // empty list
 
             // assert and Verify
             assertThrows(SavingsException.class, () -> savingsService.getSavingsCompleted(user),
                     "No savings found for user: " + user.getUsername());
 
-            verify(savingsRepository, times(1)).findByUserAndStatus(user, Savings.SavingsStatus.COMPLETED);
+            verify(savingsRepository, times(1)).findViewsByUserAndStatus(user, Savings.SavingsStatus.COMPLETED);
         }
     }
 
+    // the read only row the repository selects for a goal
+    private static SavingsView view(Savings savings) {
+        return new SavingsView(savings.getId(), savings.getSavingsName(), savings.getSavingsDescription(),
+                savings.getCurrentAmount(), savings.getTargetAmount(), savings.getCreatedAt(), savings.getUpdatedAt(),
+                savings.getStatus());
+    }
 }
@@ -1,27 +1,44 @@
 package com.rayyan.finance_tracker.service;
 
+import com.rayyan.finance_tracker.entity.CategoryTotal;
 import com.rayyan.finance_tracker.entity.Transaction;
+import com.rayyan.finance_tracker.entity.TransactionFilter;
+import com.rayyan.finance_tracker.entity.TransactionPage;
+import com.rayyan.finance_tracker.entity.TransactionSummary;
+import com.rayyan.finance_tracker.entity.TransactionView;
 import com.rayyan.finance_tracker.entity.User;
 import com.rayyan.finance_tracker.exceptions.TransactionNotFoundException;
 import com.rayyan.finance_tracker.exceptions.ValidationException;
 import com.rayyan.finance_tracker.repository.TransactionRepository;
+import com.rayyan.finance_tracker.service.concurrency.OptimisticRetry;
+import com.rayyan.finance_tracker.service.events.ChangeEvent;
+import com.rayyan.finance_tracker.utils.CursorUtil;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,6 +50,17 @@ public class TransactionServicesTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private TransactionRollupService rollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // real retry over a mocked transaction manager, every attempt runs the work directly
+    @Spy
+    private OptimisticRetry optimisticRetry = new OptimisticRetry(mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry(), 3, Duration.ZERO);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -75,6 +103,14 @@ public class TransactionServicesTest {
     void ValidTransaction_Success() {
         transactionService.createTransaction(ValidTransaction);
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(rollupService, times(1)).add(ValidTransaction);
+
+        ArgumentCaptor<ChangeEvent> event = ArgumentCaptor.forClass(ChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(currentUser.getId(), event.getValue().userId());
+        assertEquals(ChangeEvent.Resource.TRANSACTION, event.getValue().resource());
+        assertEquals(ChangeEvent.Action.CREATED, event.getValue().action());
+        assertEquals(TransactionView.of(ValidTransaction), event.getValue().data());
         test_Passes.put(1, "Create: Valid Transaction");
     }
 
@@ -156,30 +192,178 @@ public class TransactionServicesTest {
 
     @Test
     void getAllTransaction_ExistingList() {
-        List<Transaction> expected = List.of(ValidTransaction);
-        when(transactionRepository.findByUser(currentUser)).thenReturn(expected);
+        List<TransactionView> expected = List.of(view(ValidTransaction));
+        when(transactionRepository.findViewsByUser(currentUser)).thenReturn(expected);
 
-        List<Transaction> res = transactionService.findTransactionsByUser(currentUser);
+        List<TransactionView> res = transactionService.findTransactionsByUser(currentUser);
 
         assertEquals(1, res.size());
-        assertEquals("Shopping", res.get(0).getCategory());
-        assertEquals("TestUser123", res.get(0).getUser().getUsername());
-        verify(transactionRepository, times(1)).findByUser(currentUser);
+        assertEquals("Shopping", res.get(0).category());
+        verify(transactionRepository, times(1)).findViewsByUser(currentUser);
         test_Passes.put(9, "Find: Get All Transactions With Existing List");
     }
 
     @Test
     void getAllTransaction_EmptyList() {
-        List<Transaction> expected = List.of();
-        when(transactionRepository.findByUser(currentUser)).thenReturn(expected);
+        List<TransactionView> expected = List.of();
+        when(transactionRepository.findViewsByUser(currentUser)).thenReturn(expected);
 
-        List<Transaction> res = transactionService.findTransactionsByUser(currentUser);
+        List<TransactionView> res = transactionService.findTransactionsByUser(currentUser);
 
         assertEquals(0, res.size());
-        verify(transactionRepository, times(1)).findByUser(currentUser);
+        verify(transactionRepository, times(1)).findViewsByUser(currentUser);
         test_Passes.put(10, "Find: Get All Transactions With Empty List");
     }
 
+    /* ******************** Keyset Pages and Streaming ******************** */
+
+    @Test
+    void getTransactionPage_FirstPage_HasMore() {
+        TransactionView newer = new TransactionView(3L, null, null, null, null, TEST_DATE.plusDays(1));
+        TransactionView older = new TransactionView(2L, null, null, null, null, TEST_DATE);
+        TransactionView extra = new TransactionView(1L, null, null, null, null, TEST_DATE.minusDays(1));
+        when(transactionRepository.findFirstPage(eq(currentUser), any()))
+                .thenReturn(List.of(newer, older, extra));
+
+        TransactionPage page = transactionService.findTransactionPage(currentUser, null, 2);
+
+        assertEquals(2, page.getTransactions().size());
+        assertTrue(page.isHasMore());
+        assertEquals(TEST_DATE, CursorUtil.decodeDate(page.getNextCursor()));
+        assertEquals(2L, CursorUtil.decodeId(page.getNextCursor()));
+        verify(transactionRepository, never()).findPageAfter(any(), any(), any(), any());
+        test_Passes.put(18, "Find: First Page With More Rows Returns Cursor");
+    }
+
+    @Test
+    void getTransactionPage_WithCursor_LastPage() {
+        String cursor = CursorUtil.encode(TEST_DATE, 2L);
+        when(transactionRepository.findPageAfter(eq(currentUser), eq(TEST_DATE), eq(2L), any()))
+                .thenReturn(List.of(view(ValidTransaction)));
+
+        TransactionPage page = transactionService.findTransactionPage(currentUser, cursor, null);
+
+        assertEquals(1, page.getTransactions().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        test_Passes.put(19, "Find: Page After Cursor Returns Last Page");
+    }
+
+    @Test
+    void getTransactionPage_InvalidSize_ThrowsException() {
+        assertThrows(ValidationException.class,
+                () -> transactionService.findTransactionPage(currentUser, null, 0));
+        verifyNoInteractions(transactionRepository);
+        test_Passes.put(20, "Find: Page With Invalid Size Throws Exception");
+    }
+
+    @Test
+    void getFilteredPage_DropsEmptyFilters_ReturnsCursor() {
+        TransactionView newer = new TransactionView(3L, null, null, null, null, TEST_DATE.plusDays(1));
+        TransactionView older = new TransactionView(2L, null, null, null, null, TEST_DATE);
+        TransactionFilter filter = TransactionFilter.builder()
+                .categories(List.of("Food", " ", "Food"))
+                .descriptionPrefix("  ")
+                .build();
+        when(transactionRepository.findFiltered(eq(currentUser), any(), isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(newer, older));
+
+        TransactionPage page = transactionService.findFilteredPage(currentUser, filter, null, 1);
+
+        ArgumentCaptor<TransactionFilter> captor = ArgumentCaptor.forClass(TransactionFilter.class);
+        verify(transactionRepository).findFiltered(eq(currentUser), captor.capture(), isNull(), isNull(), eq(2));
+        assertEquals(List.of("Food"), captor.getValue().categories());
+        assertNull(captor.getValue().descriptionPrefix());
+        assertEquals(1, page.getTransactions().size());
+        assertTrue(page.isHasMore());
+        assertEquals(3L, CursorUtil.decodeId(page.getNextCursor()));
+        test_Passes.put(26, "Find: Filtered Page Drops Empty Filters And Returns Cursor");
+    }
+
+    @Test
+    void getFilteredPage_InvalidRanges_ThrowsException() {
+        TransactionFilter reversedDates = TransactionFilter.builder()
+                .from(LocalDate.of(2025, 6, 2)).to(LocalDate.of(2025, 6, 1)).build();
+        TransactionFilter reversedAmounts = TransactionFilter.builder()
+                .minAmount(BigDecimal.TEN).maxAmount(BigDecimal.ONE).build();
+        TransactionFilter negativeAmount = TransactionFilter.builder().minAmount(new BigDecimal("-1")).build();
+
+        for (TransactionFilter filter : List.of(reversedDates, reversedAmounts, negativeAmount))
+            assertThrows(ValidationException.class,
+                    () -> transactionService.findFilteredPage(currentUser, filter, null, null));
+        verifyNoInteractions(transactionRepository);
+        test_Passes.put(27, "Find: Filtered Page With Reversed Or Negative Ranges Throws Exception");
+    }
+
+    @Test
+    void streamTransactions_PassesEveryRow() {
+        when(transactionRepository.streamByUser(currentUser))
+                .thenReturn(Stream.of(view(ValidTransaction), view(InvalidTransaction)));
+        List<TransactionView> consumed = new ArrayList<>();
+
+        transactionService.streamTransactionsByUser(currentUser, consumed::add);
+
+        assertEquals(2, consumed.size());
+        assertEquals(ValidTransaction.getDescription(), consumed.get(0).description());
+        test_Passes.put(21, "Find: Stream Transactions Passes Every Row");
+    }
+
+    /* ******************** Dashboard Summary ******************** */
+
+    @Test
+    void getSummary_FoldsCategoryTotals() {
+        when(rollupService.getCategoryTotals(currentUser, 197001, 999912)).thenReturn(List.of(
+                new CategoryTotal("Salary", Transaction.TransactionType.INCOME, new BigDecimal("3000.00"), 1L),
+                new CategoryTotal("Shopping", Transaction.TransactionType.EXPENSE, new BigDecimal("450.50"), 3L),
+                new CategoryTotal("Bills", Transaction.TransactionType.EXPENSE, new BigDecimal("120.00"), 2L)));
+
+        TransactionSummary summary = transactionService.getSummary(currentUser, null, null);
+
+        assertEquals(new BigDecimal("3000.00"), summary.getTotalIncome());
+        assertEquals(new BigDecimal("570.50"), summary.getTotalExpenses());
+        assertEquals(new BigDecimal("2429.50"), summary.getBalance());
+        assertEquals(6, summary.getTransactionCount());
+        assertEquals(3, summary.getCategories().size());
+        test_Passes.put(22, "Find: Summary Folds Category Totals Into Type Totals");
+    }
+
+    @Test
+    void getSummary_DateRange_IsInclusiveOfLastDay() {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+        LocalDate to = LocalDate.of(2025, 6, 30);
+        when(rollupService.getCategoryTotals(currentUser, 202506, 202506)).thenReturn(List.of());
+
+        TransactionSummary summary = transactionService.getSummary(currentUser, from, to);
+
+        assertEquals(BigDecimal.ZERO, summary.getBalance());
+        assertEquals(0, summary.getTransactionCount());
+        verify(transactionRepository, never()).sumByCategoryAndType(any(), any(), any());
+        test_Passes.put(23, "Find: Summary Date Range Includes The Last Day");
+    }
+
+    @Test
+    void getSummary_PartialMonth_ReadsRawRows() {
+        LocalDate from = LocalDate.of(2025, 6, 10);
+        LocalDate to = LocalDate.of(2025, 6, 20);
+        when(transactionRepository.sumByCategoryAndType(currentUser,
+                from.atStartOfDay(), LocalDate.of(2025, 6, 21).atStartOfDay())).thenReturn(List.of(
+                new CategoryTotal("Salary", Transaction.TransactionType.INCOME, new BigDecimal("100.00"), 1L)));
+
+        TransactionSummary summary = transactionService.getSummary(currentUser, from, to);
+
+        assertEquals(new BigDecimal("100.00"), summary.getBalance());
+        verifyNoInteractions(rollupService);
+        test_Passes.put(25, "Find: Summary For Part Of A Month Reads Raw Rows");
+    }
+
+    @Test
+    void getSummary_FromAfterTo_ThrowsException() {
+        assertThrows(ValidationException.class, () -> transactionService.getSummary(currentUser,
+                LocalDate.of(2025, 7, 1), LocalDate.of(2025, 6, 1)));
+        verifyNoInteractions(transactionRepository);
+        test_Passes.put(24, "Find: Summary With Start After End Throws Exception");
+    }
+
     /*
      * ******************** Finding Transaction based on ID and USER
      * ********************
@@ -229,6 +413,8 @@ public class TransactionServicesTest {
         assertEquals("Transaction updated with ID: 1", res);
         verify(transactionRepository, times(1)).findByIdAndUser(1L, currentUser);
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(rollupService, times(1)).remove(ValidTransaction);
+        verify(rollupService, times(1)).add(ValidTransaction);
         test_Passes.put(13, "Update: Existing ID With Valid Transaction");
     }
 
@@ -273,6 +459,7 @@ public class TransactionServicesTest {
         assertEquals("Transaction deleted with ID: 1", res);
         verify(transactionRepository, times(1)).findByIdAndUser(1L, currentUser);
         verify(transactionRepository, times(1)).delete(any(Transaction.class));
+        verify(rollupService, times(1)).remove(ValidTransaction);
         test_Passes.put(16, "Delete: Transaction With Existing ID");
     }
 
@@ -286,13 +473,14 @@ public class TransactionServicesTest {
 
         verify(transactionRepository, times(1)).findByIdAndUser(4L, currentUser);
         verify(transactionRepository, never()).delete(any(Transaction.class));
+        verifyNoInteractions(rollupService);
         test_Passes.put(17, "Delete: Transaction With Non-Existing ID Throws Exception");
     }
 
     @AfterAll
     static void afterAll() {
         int maxLength = 0;
-        int totalTests = 17;
+        int totalTests = 27;
         int passedTests = test_Passes.size();
 
         // Separate tests by operation type
@@ -368,4 +556,10 @@ public class TransactionServicesTest {
             System.out.println("SUMMARY: " + passedTests + "/" + totalTests + " tests passed.");
         System.out.println("---------------------------------");
     }
-}
\ No newline at end of file
+
+    // the read only row the repository selects for a transaction
+    private static TransactionView view(Transaction transaction) {
+        return new TransactionView(transaction.getId(), transaction.getDescription(), transaction.getAmount(),
+                transaction.getTransactionType(), transaction.getCategory(), transaction.getDate());
+    }
+}
@@ -64,7 +64,7 @@ public class UserDetailServiceTest {
   @Test
   void test_LoadByUsername_Existing_Username_Success() {
     // Arrange
-    when(userRepository.findByUsername(EXISTING_USERNAME))
+    when(userRepository.findByLogin(EXISTING_USERNAME))
         .thenReturn(Optional.of(testUser));
 
     // Act
@@ -73,7 +73,7 @@ public class UserDetailServiceTest {
     // verify
     assertNotNull(userDetails);
     assertEquals(EXISTING_USERNAME, userDetails.getUsername());
-    verify(userRepository, times(1)).findByUsername(EXISTING_USERNAME);
+    verify(userRepository, times(1)).findByLogin(EXISTING_USERNAME);
 
     // record the test as passed
     test_Passes.put(1, "LoadByUsername: Existing Username Success");
@@ -82,15 +82,15 @@ public class UserDetailServiceTest {
   @Test
   void test_LoadByUsername_Non_Existing_Username_ThrowsException() {
     // Arrange
-    when(userRepository.findByUsername(NON_EXISTING_USERNAME))
-        .thenThrow(new UsernameNotFoundException("Username Not Found: " + NON_EXISTING_USERNAME));
+    when(userRepository.findByLogin(NON_EXISTING_USERNAME))
+        .thenReturn(Optional.empty());
 
     // Act & Assert
     assertThrows(UsernameNotFoundException.class, () -> {
       userDetailService.loadUserByUsername(NON_EXISTING_USERNAME);
     }, "Expected UsernameNotFoundException to be thrown");
 
-    verify(userRepository, times(1)).findByUsername(NON_EXISTING_USERNAME);
+    verify(userRepository, times(1)).findByLogin(NON_EXISTING_USERNAME);
 
     // record the test as passed
     test_Passes.put(2, "LoadByUsername: Non-Existing Username Throws Exception");
@@ -100,7 +100,7 @@ public class UserDetailServiceTest {
   @Test
   void test_GetByUsername_Existing_Username_Success() {
     // Arrange
-    when(userRepository.findByUsername(EXISTING_USERNAME))
+    when(userRepository.findByLogin(EXISTING_USERNAME))
         .thenReturn(Optional.of(testUser));
 
     // Act
@@ -109,7 +109,7 @@ public class UserDetailServiceTest {
     // Verify
     assertNotNull(resultUser);
     assertEquals(EXISTING_USERNAME, resultUser.getUsername());
-    verify(userRepository, times(1)).findByUsername(EXISTING_USERNAME);
+    verify(userRepository, times(1)).findByLogin(EXISTING_USERNAME);
 
     // record the test as passed
     test_Passes.put(3, "GetUserByUsername: Existing Username Success");
@@ -118,15 +118,15 @@ public class UserDetailServiceTest {
   @Test
   void test_GetUserByUsername_Non_Existing_Username_ThrowsError() {
     // Arrange
-    when(userRepository.findByUsername(NON_EXISTING_USERNAME))
-        .thenThrow(new UsernameNotFoundException("Username Not Found: " + NON_EXISTING_USERNAME));
+    when(userRepository.findByLogin(NON_EXISTING_USERNAME))
+        .thenReturn(Optional.empty());
 
     // Act & Assert
     assertThrows(UsernameNotFoundException.class, () -> {
       userDetailService.getUserByUsername(NON_EXISTING_USERNAME);
     }, "Expected UsernameNotFoundException to be thrown");
 
-    verify(userRepository, times(1)).findByUsername(NON_EXISTING_USERNAME);
+    verify(userRepository, times(1)).findByLogin(NON_EXISTING_USERNAME);
 
     // record the test as passed
     test_Passes.put(4, "GetUserByUsername: Non-Existing Username Throws Exception");
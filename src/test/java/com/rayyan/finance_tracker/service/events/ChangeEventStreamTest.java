@@ -0,0 +1,114 @@
+package com.rayyan.finance_tracker.service.events;
+
+import com.rayyan.finance_tracker.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * The first stalledClients emitters stand in for clients that stopped reading: their sends block until
+ * the test ends. The later ones record what they were sent.
+ */
+@DisplayName("Change Event Stream Tests")
+public class ChangeEventStreamTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private ChangeEventStream eventStream;
+    private int stalledClients;
+
+    @BeforeEach
+    void setUp() {
+        AtomicInteger created = new AtomicInteger();
+        eventStream = new ChangeEventStream(new SimpleMeterRegistry(), Duration.ofMinutes(30), Duration.ofMillis(100),
+                10, 100, 16) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return created.incrementAndGet() <= stalledClients ? new StalledEmitter() : new RecordingEmitter();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        eventStream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Stalled Clients - Other Users' Events Still Arrive")
+    void stalledClients_DoNotHoldUpOthers() throws Exception {
+        // more than the two senders the pool used to have
+        stalledClients = 3;
+        for (long id = 1; id <= stalledClients; id++)
+            eventStream.subscribe(user(id));
+
+        // only queues the heartbeats, the scheduler thread never waits on a client
+        assertTimeoutPreemptively(Duration.ofSeconds(1), eventStream::heartbeat);
+
+        eventStream.subscribe(user(10L));
+        assertTrue(next().contains("event:connected"));
+
+        eventStream.publish(new ChangeEvent(10L, ChangeEvent.Resource.TRANSACTION, ChangeEvent.Action.DELETED, 5L, null));
+        assertTrue(next().contains("event:transaction"));
+    }
+
+    @Test
+    @DisplayName("Send Past the Write Timeout - Stream Dropped")
+    void stalledSend_StreamDropped() throws Exception {
+        stalledClients = 1;
+        eventStream.subscribe(user(1L));
+        eventStream.subscribe(user(10L));
+        assertTrue(next().contains("event:connected"));
+        assertEquals(2, eventStream.openStreams());
+
+        Thread.sleep(200);
+        eventStream.heartbeat();
+
+        assertEquals(1, eventStream.openStreams());
+        assertTrue(next().contains(":heartbeat"));
+    }
+
+    private String next() throws InterruptedException {
+        String event = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "Nothing was sent to the client that is reading");
+        return event;
+    }
+
+    private User user(Long id) {
+        return User.builder().id(id).username("user" + id).build();
+    }
+
+    private class StalledEmitter extends SseEmitter {
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
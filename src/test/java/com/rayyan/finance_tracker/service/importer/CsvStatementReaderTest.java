@@ -0,0 +1,45 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CSV Statement Reader Tests")
+public class CsvStatementReaderTest {
+
+    @Test
+    @DisplayName("Plain Records - Split on Commas and Trimmed")
+    void plainRecords_AreSplit() throws IOException {
+        CsvStatementReader reader = new CsvStatementReader(new StringReader("a, b ,c\r\n1,2,3\n"));
+
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(List.of("1", "2", "3"), reader.next());
+        assertEquals(2, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Quoted Fields - Keep Commas, Escaped Quotes and Line Breaks")
+    void quotedFields_AreUnescaped() throws IOException {
+        CsvStatementReader reader = new CsvStatementReader(new StringReader(
+                "\"Rent, June\",\"say \"\"hi\"\"\",\"two\nlines\"\n\nnext,row,here\n"));
+
+        assertEquals(List.of("Rent, June", "say \"hi\"", "two\nlines"), reader.next());
+        // blank line skipped, line numbers still count the quoted line break
+        assertEquals(List.of("next", "row", "here"), reader.next());
+        assertEquals(4, reader.getRecordLine());
+    }
+
+    @Test
+    @DisplayName("Unterminated Quote - Throws IOException")
+    void unterminatedQuote_Throws() {
+        CsvStatementReader reader = new CsvStatementReader(new StringReader("\"never closed,1\n"));
+
+        assertThrows(IOException.class, reader::next);
+    }
+}
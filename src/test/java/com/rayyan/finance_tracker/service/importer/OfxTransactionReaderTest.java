@@ -0,0 +1,73 @@
+package com.rayyan.finance_tracker.service.importer;
+
+import com.rayyan.finance_tracker.entity.Transaction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OFX Transaction Reader Tests")
+public class OfxTransactionReaderTest {
+
+    @Test
+    @DisplayName("SGML Statement - Unclosed Elements Are Mapped, Sign Gives the Type")
+    void sgmlStatement_IsMapped() throws IOException {
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20250602123000.000[-5:EST]<TRNAMT>-12.40<NAME>Coffee &amp; Co</STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20250601<TRNAMT>2500,00<MEMO>June salary</STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+        OfxTransactionReader reader = new OfxTransactionReader(new StringReader(ofx));
+
+        StatementRow expense = reader.next();
+        assertEquals(1, expense.position());
+        assertEquals("Coffee & Co", expense.transaction().getDescription());
+        assertEquals(new BigDecimal("12.40"), expense.transaction().getAmount());
+        assertEquals(Transaction.TransactionType.EXPENSE, expense.transaction().getTransactionType());
+        assertEquals(LocalDateTime.of(2025, 6, 2, 12, 30), expense.transaction().getDate());
+        assertEquals(OfxTransactionReader.DEFAULT_CATEGORY, expense.transaction().getCategory());
+
+        StatementRow income = reader.next();
+        assertEquals(2, income.position());
+        assertEquals("June salary", income.transaction().getDescription());
+        assertEquals(new BigDecimal("2500.00"), income.transaction().getAmount());
+        assertEquals(Transaction.TransactionType.INCOME, income.transaction().getTransactionType());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("XML Statement - Closed Elements and Bad Values Are Rejected by Position")
+    void xmlStatement_RejectsBadValues() throws IOException {
+        String ofx = """
+                <?xml version="1.0"?>
+                <OFX><BANKTRANLIST>
+                  <STMTTRN><DTPOSTED>2025-06-01</DTPOSTED><TRNAMT>5.00</TRNAMT><NAME>Bad date</NAME></STMTTRN>
+                  <STMTTRN><DTPOSTED>20250601</DTPOSTED><TRNAMT>abc</TRNAMT><NAME>Bad amount</NAME></STMTTRN>
+                  <STMTTRN><DTPOSTED>20250601</DTPOSTED><TRNAMT>5.00</TRNAMT><NAME>Fine</NAME></STMTTRN>
+                </BANKTRANLIST></OFX>
+                """;
+        OfxTransactionReader reader = new OfxTransactionReader(new StringReader(ofx));
+
+        assertEquals(StatementRow.rejected(1, "Invalid date: 2025-06-01"), reader.next());
+        assertEquals(StatementRow.rejected(2, "Invalid amount: abc"), reader.next());
+        assertEquals("Fine", reader.next().transaction().getDescription());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Truncated Statement - Throws IOException")
+    void truncatedStatement_Throws() {
+        OfxTransactionReader reader = new OfxTransactionReader(new StringReader("<STMTTRN><TRNAMT>1.00"));
+
+        assertThrows(IOException.class, reader::next);
+    }
+}
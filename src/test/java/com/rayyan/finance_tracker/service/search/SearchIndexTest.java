@@ -0,0 +1,115 @@
+package com.rayyan.finance_tracker.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Search Index Tests")
+public class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.load(1, "AMAZON Marketplace order", "Shopping");
+        index.load(2, "Coffee at Starbucks", "Food");
+        index.load(3, "Amazon Prime membership", "Subscriptions");
+        index.load(4, "Rent June", "Bills");
+        index.loaded();
+    }
+
+    @Test
+    @DisplayName("Words - Lower Case Letters and Digits Only")
+    void words_SplitOnPunctuation() {
+        assertEquals(List.of("café", "no", "42", "n", "s"), SearchIndex.words("  Café-no.42 (N&S) "));
+        assertEquals(List.of(), SearchIndex.words(null));
+    }
+
+    @Test
+    @DisplayName("Every Word Must Match - Case Ignored")
+    void everyWord_MustMatch() {
+        assertEquals(List.of(3L), index.search("prime AMAZON", 0, 10).ids());
+        assertEquals(0, index.search("amazon coffee", 0, 10).total());
+        assertEquals(List.of(2L), index.search("food", 0, 10).ids());
+    }
+
+    @Test
+    @DisplayName("Prefix Match - Ranked Below an Exact Match")
+    void prefixMatch_RankedBelowExact() {
+        index.put(5, "Amazonas river tour", "Travel");
+
+        SearchIndex.Hits hits = index.search("amazon", 0, 10);
+
+        assertEquals(3, hits.total());
+        assertEquals(5L, hits.ids().get(2));
+        assertEquals(List.of(5L), index.search("amazo river", 0, 10).ids());
+    }
+
+    @Test
+    @DisplayName("Equal Scores - Newest Transaction First, Paged")
+    void equalScores_NewestFirst() {
+        SearchIndex paged = new SearchIndex();
+        for (long id = 1; id <= 25; id++)
+            paged.load(id, "Lunch", "Food");
+        paged.loaded();
+
+        SearchIndex.Hits first = paged.search("lunch", 0, 10);
+        SearchIndex.Hits last = paged.search("lunch", 20, 10);
+
+        assertEquals(25, first.total());
+        assertEquals(List.of(25L, 24L, 23L, 22L, 21L, 20L, 19L, 18L, 17L, 16L), first.ids());
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), last.ids());
+        assertEquals(List.of(), paged.search("lunch", 30, 10).ids());
+    }
+
+    @Test
+    @DisplayName("Update and Delete - Old Words No Longer Match")
+    void updateAndDelete_AreApplied() {
+        index.put(2, "Tea at Starbucks", "Food");
+        index.remove(4);
+
+        assertEquals(0, index.search("coffee", 0, 10).total());
+        assertEquals(List.of(2L), index.search("tea", 0, 10).ids());
+        assertEquals(0, index.search("rent", 0, 10).total());
+        assertEquals(3, index.documents());
+    }
+
+    @Test
+    @DisplayName("Changes During the Load - Applied After the Loaded Rows")
+    void changesDuringLoad_WinOverLoadedRows() {
+        SearchIndex loading = new SearchIndex();
+        loading.put(1, "Gym membership", "Health");
+        loading.remove(2);
+        loading.load(1, "Old description", "Health");
+        loading.load(2, "Deleted meanwhile", "Other");
+        loading.loaded();
+
+        assertEquals(List.of(1L), loading.search("gym", 0, 10).ids());
+        assertEquals(0, loading.search("old", 0, 10).total());
+        assertEquals(0, loading.search("deleted", 0, 10).total());
+        assertEquals(1, loading.documents());
+    }
+
+    @Test
+    @DisplayName("Many Updates - Compacted Without Losing Rows")
+    void manyUpdates_Compacted() {
+        SearchIndex churned = new SearchIndex();
+        for (long id = 1; id <= 100; id++)
+            churned.load(id, "payment " + id, "Bills");
+        churned.loaded();
+        for (int round = 0; round < 30; round++) {
+            for (long id = 1; id <= 100; id++)
+                churned.put(id, "payment " + id + " round r" + round, "Bills");
+        }
+
+        assertEquals(100, churned.documents());
+        assertEquals(100, churned.search("payment", 0, 500).total());
+        assertEquals(List.of(42L), churned.search("42 r29", 0, 10).ids());
+        assertEquals(0, churned.search("r28", 0, 10).total());
+    }
+}
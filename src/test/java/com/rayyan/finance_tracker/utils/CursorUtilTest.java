@@ -0,0 +1,46 @@
+package com.rayyan.finance_tracker.utils;
+
+import com.rayyan.finance_tracker.exceptions.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static com.rayyan.finance_tracker.TestConstants.TEST_DATE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CursorUtil Tests")
+public class CursorUtilTest {
+
+    @Test
+    @DisplayName("Encode then Decode - Returns the same Date and Id")
+    void encodeDecode_RoundTrip() {
+        LocalDateTime date = TEST_DATE.plusNanos(123_000_000);
+
+        String cursor = CursorUtil.encode(date, 42L);
+
+        assertEquals(date, CursorUtil.decodeDate(cursor));
+        assertEquals(42L, CursorUtil.decodeId(cursor));
+    }
+
+    @Test
+    @DisplayName("Encode - Cursor is URL safe")
+    void encode_IsUrlSafe() {
+        String cursor = CursorUtil.encode(TEST_DATE, Long.MAX_VALUE);
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    @DisplayName("Decode - Garbage Cursor Throws ValidationException")
+    void decode_Garbage_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> CursorUtil.decodeDate("not a cursor!"));
+        assertThrows(ValidationException.class, () -> CursorUtil.decodeId("bm9zZXBhcmF0b3I"));
+    }
+
+    @Test
+    @DisplayName("Decode - Empty Cursor Throws ValidationException")
+    void decode_Empty_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> CursorUtil.decodeDate(" "));
+    }
+}
@@ -2,14 +2,16 @@ package com.rayyan.finance_tracker.utils;
 
 import org.junit.jupiter.api.*;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.regex.Pattern;
 
 import static com.rayyan.finance_tracker.TestConstants.*;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class UtilsTest {
@@ -112,14 +114,69 @@ public class UtilsTest {
         test_Passes.put(8, "Password: Max Length Displays Error");
     }
 
+    /* *********************** Email Checks *********************** */
+    @Test
+    void checkEmail_Scanner_Matches_Regex() {
+        Pattern regex = Pattern.compile(ValidatingUtil.EMAIL_REGEX);
+        List<String> emails = List.of(VALID_EMAIL, "a.b+c%d-e@sub.example.co.uk", "x@y.io", "a@b.c", "@b.com",
+                "a@.com", "a@b.", "a@b.c0m", "a@@b.com", "a b@c.com", "a@b_c.com", "a@b.com\n", "a@b..com",
+                "a@-.co", "ä@b.com", "a@b.cöm", SHORT_EMAIL, "plainaddress", "a@b@c.com");
+
+        for (String email : emails)
+            assertEquals(regex.matcher(email).matches(), ValidatingUtil.isValidEmail(email), email);
+
+        test_Passes.put(9, "Email: Scanner Matches the Regex");
+    }
+
+    @Test
+    void checkEmail_Invalid_Displays_Error() {
+        List<String> result = ValidatingUtil.checkEmailFormat("user@example", "Email", null);
+
+        assertEquals(List.of("Email is not in a valid format"), result);
+        // blank emails are reported by checkIsEmpty only
+        assertNull(ValidatingUtil.checkEmailFormat(NULL_OR_EMPTY_EMAIL, "Email", null));
+
+        test_Passes.put(10, "Email: Invalid Displays Error");
+    }
+
+    @Test
+    void checkEmail_Valid_Allocates_Nothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+
+        validateRegistration(10_000); // warm up and load every class first
+        long before = threads.getCurrentThreadAllocatedBytes();
+        List<String> errors = validateRegistration(10_000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertNull(errors);
+        assertEquals(0, allocated, "valid input should not allocate");
+
+        test_Passes.put(11, "Email: Valid Input Allocates Nothing");
+    }
+
+    // the checks AuthenticationService runs on a registration, repeated
+    private static List<String> validateRegistration(int times) {
+        List<String> errors = null;
+        for (int i = 0; i < times; i++) {
+            errors = ValidatingUtil.checkIsEmpty(VALID_USERNAME, USERNAME, errors);
+            errors = ValidatingUtil.checkIsEmpty(VALID_EMAIL, "Email", errors);
+            errors = ValidatingUtil.checkMinLength(VALID_USERNAME, USERNAME, MIN_USERNAME_LENGTH, errors);
+            errors = ValidatingUtil.checkMaxLength(VALID_PASSWORD, PASSWORD, MAX_PASSWORD_LENGTH, errors);
+            errors = ValidatingUtil.checkEmailFormat(VALID_EMAIL, "Email", errors);
+        }
+        return errors;
+    }
+
     @AfterAll
     static void afterAll() {
         int maxLength = 0;
-        final int totalTests = 8;
+        final int totalTests = 11;
         int passedTests = test_Passes.size();
 
         Map<Integer, String> usernameTests = new TreeMap<>();
         Map<Integer, String> passwordTests = new TreeMap<>();
+        Map<Integer, String> emailTests = new TreeMap<>();
 
         for (Map.Entry<Integer, String> entry : test_Passes.entrySet()) {
             String testName = entry.getValue();
@@ -127,6 +184,8 @@ public class UtilsTest {
                 usernameTests.put(entry.getKey(), testName);
             } else if (testName.startsWith("Password:")) {
                 passwordTests.put(entry.getKey(), testName);
+            } else if (testName.startsWith("Email:")) {
+                emailTests.put(entry.getKey(), testName);
             }
 
             if (testName.length() > maxLength) {
@@ -148,6 +207,11 @@ public class UtilsTest {
             System.out.printf(format, entry.getKey(), entry.getValue(), "PASS");
         }
 
+        System.out.println("\n=== EMAIL TESTS ===");
+        for (Map.Entry<Integer, String> entry : emailTests.entrySet()) {
+            System.out.printf(format, entry.getKey(), entry.getValue(), "PASS");
+        }
+
         System.out.println("\n---------------------------------");
 
         if (passedTests == totalTests)